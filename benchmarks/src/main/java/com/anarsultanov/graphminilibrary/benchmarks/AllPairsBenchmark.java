@@ -0,0 +1,67 @@
+package com.anarsultanov.graphminilibrary.benchmarks;
+
+import com.anarsultanov.graphminilibrary.algorithms.CommunitySeparation;
+import com.anarsultanov.graphminilibrary.algorithms.DistanceMatrix;
+import com.anarsultanov.graphminilibrary.algorithms.EdgeBetweenness;
+import com.anarsultanov.graphminilibrary.algorithms.ShortestPaths;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The algorithms which run a traversal from every node, on smaller graphs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AllPairsBenchmark {
+
+    @Param({"200", "1000", "2000"})
+    private int nodes;
+
+    @Param({"4"})
+    private int degree;
+
+    private Graph<Integer> graph;
+
+    @Setup
+    public void setUp() {
+        graph = SyntheticGraphs.copy(SyntheticGraphs.random(nodes, degree, 42), "csr");
+    }
+
+    @Benchmark
+    public int shortestPaths() throws Exception {
+        return ShortestPaths.compute(graph).get().size();
+    }
+
+    @Benchmark
+    public int shortestPathsDistances() throws Exception {
+        try (DistanceMatrix<Integer> matrix = ShortestPaths.computeDistances(graph).get()) {
+            return matrix.getCellBytes();
+        }
+    }
+
+    @Benchmark
+    public int edgeBetweenness() throws Exception {
+        return EdgeBetweenness.compute(graph).get().size();
+    }
+
+    @Benchmark
+    public int communitySeparation() throws Exception {
+        return CommunitySeparation.compute(graph, 10).get().getRemovedEdges().size();
+    }
+}
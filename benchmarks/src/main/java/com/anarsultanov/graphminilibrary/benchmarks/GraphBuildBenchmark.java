@@ -0,0 +1,95 @@
+package com.anarsultanov.graphminilibrary.benchmarks;
+
+import com.anarsultanov.graphminilibrary.graph.BasicGraph;
+import com.anarsultanov.graphminilibrary.graph.ConcurrentGraph;
+import com.anarsultanov.graphminilibrary.graph.CsrGraph;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Building graphs, each operation builds the whole graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphBuildBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int nodes;
+
+    @Param({"8"})
+    private int degree;
+
+    @Param({"false", "true"})
+    private boolean indexInEdges;
+
+    private int[] edges;
+    private Integer[] sources;
+    private Integer[] targets;
+    private Graph<Integer> built;
+
+    @Setup
+    public void setUp() {
+        edges = SyntheticGraphs.pairs(nodes, nodes * degree, 42);
+        sources = new Integer[edges.length / 2];
+        targets = new Integer[edges.length / 2];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = edges[2 * i];
+            targets[i] = edges[2 * i + 1];
+        }
+        built = addEdge();
+    }
+
+    @Benchmark
+    public Graph<Integer> addEdge() {
+        Graph<Integer> graph = new BasicGraph<>(indexInEdges);
+        for (int i = 0; i < edges.length; i += 2) {
+            graph.addEdge(edges[i], edges[i + 1]);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<Integer> addEdges() {
+        Graph<Integer> graph = new BasicGraph<>(nodes, edges.length / 2, indexInEdges);
+        graph.addEdges(sources, targets);
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<Integer> addAndRemoveEdge() {
+        Graph<Integer> graph = addEdge();
+        for (int i = 0; i < edges.length; i += 4) {
+            graph.removeEdge(edges[i], edges[i + 1]);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<Integer> concurrentAddEdge() {
+        Graph<Integer> graph = new ConcurrentGraph<>();
+        IntStream.range(0, edges.length / 2).parallel().forEach(i -> graph.addEdge(edges[2 * i], edges[2 * i + 1]));
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<Integer> csrSnapshot() {
+        return new CsrGraph<>(built);
+    }
+}
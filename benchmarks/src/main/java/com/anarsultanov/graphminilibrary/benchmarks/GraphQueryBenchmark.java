@@ -0,0 +1,93 @@
+package com.anarsultanov.graphminilibrary.benchmarks;
+
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups on the graph implementations, each operation is a single query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphQueryBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final int IN_EDGES_QUERIES = 16;
+
+    @Param({"10000", "100000", "1000000"})
+    private int nodes;
+
+    @Param({"8"})
+    private int degree;
+
+    @Param({"basic", "indexed", "persistent", "csr"})
+    private String implementation;
+
+    private Graph<Integer> graph;
+    private int[] pairs;
+
+    @Setup
+    public void setUp() {
+        graph = SyntheticGraphs.copy(SyntheticGraphs.random(nodes, degree, 42), implementation);
+        pairs = SyntheticGraphs.pairs(nodes, QUERIES, 7);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int hasEdge() {
+        int found = 0;
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (graph.hasEdge(pairs[i], pairs[i + 1]))
+                found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void outEdges(Blackhole blackhole) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            for (Integer neighbor : graph.outEdges(pairs[i])) {
+                blackhole.consume(neighbor);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void forEachOutNeighbor(Blackhole blackhole) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            graph.forEachOutNeighbor(pairs[i], blackhole::consume);
+        }
+    }
+
+    /**
+     * Without the index every query scans all nodes, so fewer queries are made.
+     */
+    @Benchmark
+    @OperationsPerInvocation(IN_EDGES_QUERIES)
+    public void inEdges(Blackhole blackhole) {
+        for (int i = 0; i < IN_EDGES_QUERIES * 2; i += 2) {
+            for (Integer neighbor : graph.inEdges(pairs[i])) {
+                blackhole.consume(neighbor);
+            }
+        }
+    }
+}
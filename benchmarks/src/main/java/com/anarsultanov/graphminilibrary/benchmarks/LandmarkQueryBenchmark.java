@@ -0,0 +1,89 @@
+package com.anarsultanov.graphminilibrary.benchmarks;
+
+import com.anarsultanov.graphminilibrary.algorithms.LandmarkIndex;
+import com.anarsultanov.graphminilibrary.algorithms.ShortestPathFromTo;
+import com.anarsultanov.graphminilibrary.graph.CsrGraph;
+import com.anarsultanov.graphminilibrary.graph.FrozenIntGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Point-to-point queries between random nodes: a fresh search against the landmark index
+ * with the specified number of landmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LandmarkQueryBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    @Param({"100000"})
+    private int nodes;
+
+    @Param({"8"})
+    private int degree;
+
+    @Param({"16"})
+    private int landmarks;
+
+    private CsrGraph<Integer> graph;
+    private LandmarkIndex<Integer> index;
+    private int[] pairs;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        FrozenIntGraph intGraph = SyntheticGraphs.random(nodes, degree, 42);
+        List<Integer> ids = IntStream.range(0, nodes).boxed().collect(Collectors.toList());
+        graph = new CsrGraph<>(ids, intGraph);
+        index = LandmarkIndex.build(graph, landmarks).get();
+        pairs = SyntheticGraphs.pairs(nodes, PAIRS, 42);
+    }
+
+    private int nextPair() {
+        next = (next + 2) % pairs.length;
+        return next;
+    }
+
+    @Benchmark
+    public int search() throws Exception {
+        int i = nextPair();
+        return ShortestPathFromTo.compute(graph, pairs[i], pairs[i + 1]).get().size();
+    }
+
+    @Benchmark
+    public int indexedPath() {
+        int i = nextPair();
+        return index.getPath(pairs[i], pairs[i + 1]).size();
+    }
+
+    @Benchmark
+    public int indexedDistance() {
+        int i = nextPair();
+        return index.getDistance(pairs[i], pairs[i + 1]);
+    }
+
+    @Benchmark
+    public int bounds() {
+        int i = nextPair();
+        return index.getUpperBound(pairs[i], pairs[i + 1]) - index.getLowerBound(pairs[i], pairs[i + 1]);
+    }
+}
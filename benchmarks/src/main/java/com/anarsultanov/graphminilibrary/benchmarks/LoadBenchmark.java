@@ -0,0 +1,101 @@
+package com.anarsultanov.graphminilibrary.benchmarks;
+
+import com.anarsultanov.graphminilibrary.graph.BasicGraph;
+import com.anarsultanov.graphminilibrary.graph.FrozenIntGraph;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.MappedGraph;
+import com.anarsultanov.graphminilibrary.utilities.EdgeListLoader;
+import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a saved graph in each supported format, each operation loads the whole file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoadBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int nodes;
+
+    @Param({"8"})
+    private int degree;
+
+    @Param({"object", "binary", "edgelist", "mapped"})
+    private String format;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        FrozenIntGraph graph = SyntheticGraphs.random(nodes, degree, 42);
+        file = Files.createTempFile("graph", "." + format);
+        switch (format) {
+            case "object":
+                GraphLoader.saveGraph(SyntheticGraphs.copy(graph, "basic"), file.toString());
+                break;
+            case "binary":
+                GraphLoader.saveBinaryGraph(SyntheticGraphs.copy(graph, "csr"), file.toString());
+                break;
+            case "edgelist":
+                try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                    for (int v = 0; v < graph.getNodeIdBound(); v++) {
+                        for (int i = 0; i < graph.outDegree(v); i++) {
+                            writer.write(v + "\t" + graph.outNeighbor(v, i) + "\n");
+                        }
+                    }
+                }
+                break;
+            case "mapped":
+                MappedGraph.save(SyntheticGraphs.copy(graph, "basic"), file);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown format " + format);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Graph<Integer> load() {
+        switch (format) {
+            case "object": {
+                Graph<Integer> graph = new BasicGraph<>();
+                GraphLoader.loadGraph(graph, file.toString());
+                return graph;
+            }
+            case "binary":
+                return GraphLoader.loadBinaryGraph(file.toString());
+            case "edgelist":
+                return EdgeListLoader.loadIntegers(file.toString()).getGraph();
+            case "mapped":
+                return MappedGraph.open(file);
+            default:
+                throw new IllegalArgumentException("Unknown format " + format);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.anarsultanov.graphminilibrary.benchmarks;
+
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.MappedGraph;
+import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving a graph in each supported format, each operation writes the whole file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SaveBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int nodes;
+
+    @Param({"8"})
+    private int degree;
+
+    @Param({"object", "binary", "mapped"})
+    private String format;
+
+    private Graph<Integer> graph;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        graph = SyntheticGraphs.copy(SyntheticGraphs.random(nodes, degree, 42), "basic");
+        file = Files.createTempFile("graph", "." + format);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long save() throws IOException {
+        switch (format) {
+            case "object":
+                GraphLoader.saveGraph(graph, file.toString());
+                break;
+            case "binary":
+                GraphLoader.saveBinaryGraph(graph, file.toString());
+                break;
+            case "mapped":
+                MappedGraph.save(graph, file);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown format " + format);
+        }
+        return Files.size(file);
+    }
+}
@@ -0,0 +1,52 @@
+package com.anarsultanov.graphminilibrary.benchmarks;
+
+import com.anarsultanov.graphminilibrary.algorithms.StronglyConnectedComponents;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.IntGraphAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of the strongly connected components decomposition with the number of threads.
+ * Parallelism 1 is the sequential Tarjan's algorithm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StronglyConnectedComponentsBenchmark {
+
+    @Param({"1000000"})
+    private int nodes;
+
+    @Param({"4"})
+    private int degree;
+
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    private int parallelism;
+
+    private Graph<Integer> graph;
+
+    @Setup
+    public void setUp() {
+        graph = new IntGraphAdapter(SyntheticGraphs.random(nodes, degree, 42));
+    }
+
+    @Benchmark
+    public int computeComponents() throws Exception {
+        return StronglyConnectedComponents.computeComponents(graph, parallelism).get().getComponentsNumber();
+    }
+}
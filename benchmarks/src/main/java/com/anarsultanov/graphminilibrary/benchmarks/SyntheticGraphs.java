@@ -0,0 +1,103 @@
+package com.anarsultanov.graphminilibrary.benchmarks;
+
+import com.anarsultanov.graphminilibrary.generators.ErdosRenyiGenerator;
+import com.anarsultanov.graphminilibrary.graph.BasicGraph;
+import com.anarsultanov.graphminilibrary.graph.CsrGraph;
+import com.anarsultanov.graphminilibrary.graph.FrozenIntGraph;
+import com.anarsultanov.graphminilibrary.graph.FrozenWeightedIntGraph;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.IntGraph;
+import com.anarsultanov.graphminilibrary.graph.PersistentGraph;
+import com.anarsultanov.graphminilibrary.graph.WeightedCsrGraph;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Synthetic graphs for the benchmarks.
+ */
+final class SyntheticGraphs {
+
+    private SyntheticGraphs() {
+    }
+
+    /**
+     * Random directed graph with the specified average out degree.
+     *
+     * @param nodes the nodes number
+     * @param degree the average out degree
+     * @param seed the random seed
+     * @return the graph
+     */
+    static FrozenIntGraph random(int nodes, int degree, long seed) {
+        return new ErdosRenyiGenerator(nodes, (long) nodes * degree, seed).toIntGraph();
+    }
+
+    /**
+     * The graph with uniformly random integer weights from 1 to the maximum on its edges.
+     *
+     * @param graph the int graph
+     * @param maxWeight the maximum weight
+     * @param seed the random seed
+     * @return the weighted graph with node {@code i} at id {@code i}
+     */
+    static WeightedCsrGraph<Integer> weighted(FrozenIntGraph graph, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        double[] weights = new double[graph.getEdgesNumber()];
+        for (int e = 0; e < weights.length; e++) {
+            weights[e] = 1 + random.nextInt(maxWeight);
+        }
+        List<Integer> nodes = IntStream.range(0, graph.getNodeIdBound()).boxed().collect(Collectors.toList());
+        return new WeightedCsrGraph<>(nodes, new FrozenWeightedIntGraph(graph.getOffsets(), graph.getTargets(), weights));
+    }
+
+    /**
+     * Copies the int graph into the graph implementation named by the benchmark parameter:
+     * {@code basic}, {@code indexed} (BasicGraph indexing in edges), {@code persistent} or {@code csr}.
+     *
+     * @param graph the int graph
+     * @param implementation the implementation name
+     * @return the graph
+     */
+    static Graph<Integer> copy(IntGraph graph, String implementation) {
+        switch (implementation) {
+            case "basic":
+            case "indexed":
+            case "persistent": {
+                Graph<Integer> copy = "persistent".equals(implementation)
+                        ? new PersistentGraph<>() : new BasicGraph<>("indexed".equals(implementation));
+                for (int v = 0; v < graph.getNodeIdBound(); v++) {
+                    copy.addNode(v);
+                    int degree = graph.outDegree(v);
+                    for (int i = 0; i < degree; i++) {
+                        copy.addEdge(v, graph.outNeighbor(v, i));
+                    }
+                }
+                return copy;
+            }
+            case "csr":
+                return new CsrGraph<>(copy(graph, "basic"));
+            default:
+                throw new IllegalArgumentException("Unknown graph implementation " + implementation);
+        }
+    }
+
+    /**
+     * Random node pairs for lookups.
+     *
+     * @param nodes the nodes number
+     * @param count the number of pairs
+     * @param seed the random seed
+     * @return the pairs as consecutive from and to nodes
+     */
+    static int[] pairs(int nodes, int count, long seed) {
+        Random random = new Random(seed);
+        int[] pairs = new int[count * 2];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = random.nextInt(nodes);
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,80 @@
+package com.anarsultanov.graphminilibrary.benchmarks;
+
+import com.anarsultanov.graphminilibrary.algorithms.DominatingSet;
+import com.anarsultanov.graphminilibrary.algorithms.Egonet;
+import com.anarsultanov.graphminilibrary.algorithms.ShortestPathFromTo;
+import com.anarsultanov.graphminilibrary.algorithms.ShortestPathsFrom;
+import com.anarsultanov.graphminilibrary.algorithms.StronglyConnectedComponents;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The algorithms which run in linear time, on graphs converted by the algorithms ({@code basic})
+ * or already indexed ({@code csr}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TraversalBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int nodes;
+
+    @Param({"8"})
+    private int degree;
+
+    @Param({"basic", "csr"})
+    private String implementation;
+
+    private Graph<Integer> graph;
+
+    @Setup
+    public void setUp() {
+        graph = SyntheticGraphs.copy(SyntheticGraphs.random(nodes, degree, 42), implementation);
+    }
+
+    @Benchmark
+    public int egonet() throws Exception {
+        return Egonet.compute(graph, 0).get().getEdgesNumber();
+    }
+
+    @Benchmark
+    public int dominatingSet() throws Exception {
+        return DominatingSet.compute(graph, false).get().size();
+    }
+
+    @Benchmark
+    public int dominatingSetParallel() throws Exception {
+        return DominatingSet.compute(graph, true).get().size();
+    }
+
+    @Benchmark
+    public int shortestPathFromTo() throws Exception {
+        return ShortestPathFromTo.compute(graph, 0, nodes - 1).get().size();
+    }
+
+    @Benchmark
+    public int shortestPathsFrom() throws Exception {
+        return ShortestPathsFrom.computeTree(graph, 0).get().getReachableNodesNumber();
+    }
+
+    @Benchmark
+    public int stronglyConnectedComponents() throws Exception {
+        return StronglyConnectedComponents.computeComponents(graph).get().getComponentsNumber();
+    }
+}
@@ -0,0 +1,68 @@
+package com.anarsultanov.graphminilibrary.benchmarks;
+
+import com.anarsultanov.graphminilibrary.algorithms.WeightedShortestPathsFrom;
+import com.anarsultanov.graphminilibrary.graph.WeightedCsrGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-source weighted shortest paths: Dijkstra's algorithm against delta-stepping
+ * with the specified number of threads and bucket width, 0 for the average edge weight.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WeightedPathsBenchmark {
+
+    @Param({"1000000"})
+    private int nodes;
+
+    @Param({"8"})
+    private int degree;
+
+    @Param({"1", "4", "16"})
+    private int parallelism;
+
+    @Param({"0"})
+    private double delta;
+
+    private WeightedCsrGraph<Integer> graph;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        graph = SyntheticGraphs.weighted(SyntheticGraphs.random(nodes, degree, 42), 100, 42);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int dijkstra() throws Exception {
+        return WeightedShortestPathsFrom.compute(graph, 0, pool, null).get().getReachableNodesNumber();
+    }
+
+    @Benchmark
+    public int deltaStepping() throws Exception {
+        return WeightedShortestPathsFrom.computeParallel(graph, 0, delta, pool, null).get().getReachableNodesNumber();
+    }
+}
@@ -0,0 +1,107 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.PersistentGraph;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Handle of a running algorithm, whose loops call {@link #checkpoint()} to stop cooperatively
+ * once the returned future is cancelled or its deadline has passed.
+ */
+final class AlgorithmTask {
+
+    /**
+     * The executor used when none is specified, the same CompletableFuture.supplyAsync uses.
+     */
+    static final Executor DEFAULT_EXECUTOR = ForkJoinPool.getCommonPoolParallelism() > 1
+            ? ForkJoinPool.commonPool()
+            : runnable -> new Thread(runnable).start();
+
+    /**
+     * The task which is never cancelled, for work which is not behind a returned future.
+     */
+    static final AlgorithmTask UNCANCELLABLE = new AlgorithmTask(new CompletableFuture<>(), ForkJoinPool.commonPool());
+
+    private final CompletableFuture<?> future;
+    private final ForkJoinPool pool;
+
+    private AlgorithmTask(CompletableFuture<?> future, ForkJoinPool pool) {
+        this.future = future;
+        this.pool = pool;
+    }
+
+    /**
+     * Runs the algorithm on the executor.
+     *
+     * @param executor the executor
+     * @param timeout the time after which the result is completed with TimeoutException
+     *                and the algorithm stops, or null for no deadline
+     * @param body the algorithm
+     * @param <R> the result type
+     * @return CompletableFuture with the result, cancelling it stops the algorithm
+     */
+    static <R> CompletableFuture<R> submit(Executor executor, Duration timeout, Function<AlgorithmTask, R> body) {
+        Objects.requireNonNull(executor, "executor");
+        CompletableFuture<R> future = new CompletableFuture<>();
+        AlgorithmTask task = new AlgorithmTask(future,
+                executor instanceof ForkJoinPool ? (ForkJoinPool) executor : ForkJoinPool.commonPool());
+        if (timeout != null) {
+            future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        try {
+            executor.execute(() -> {
+                if (future.isDone())
+                    return;
+                try {
+                    future.complete(body.apply(task));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Gets the version of the graph to run the algorithm against, taken on the calling thread:
+     * the O(1) snapshot of a persistent graph, other graphs are read as they are.
+     *
+     * @param graph the graph
+     * @param <T> the graph nodes type
+     * @return the graph to pass to the algorithm
+     */
+    static <T> Graph<T> isolate(Graph<T> graph) {
+        return graph instanceof PersistentGraph ? ((PersistentGraph<T>) graph).snapshot() : graph;
+    }
+
+    /**
+     * Stops the algorithm if its result is no longer awaited.
+     *
+     * @throws CancellationException if the future is cancelled, timed out or otherwise completed
+     */
+    void checkpoint() {
+        if (future.isDone()) {
+            throw new CancellationException("The computation was cancelled or timed out");
+        }
+    }
+
+    /**
+     * Gets the pool for nested parallel work, the executor itself if it is a ForkJoinPool.
+     *
+     * @return the pool
+     */
+    ForkJoinPool getPool() {
+        return pool;
+    }
+}
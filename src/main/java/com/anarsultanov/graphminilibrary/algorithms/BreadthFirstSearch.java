@@ -0,0 +1,341 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.graph.IntGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level-synchronous breadth-first search over int ids, shared by the path algorithms.
+ * <p>
+ * Each level is expanded either top-down, claiming the unvisited out neighbors of the frontier,
+ * or bottom-up, letting every unvisited node look for a parent among its in neighbors in the frontier.
+ * The search switches to bottom-up once the frontier has more edges than a fraction of the unexplored ones
+ * and back when the frontier shrinks below a fraction of the nodes (Beamer's direction optimization),
+ * bottom-up is only used if the transpose is cheap to get. Visited and frontier state are atomic bitsets,
+ * so large levels are expanded by chunks on the pool, the thread which sets the visited bit of a node
+ * writes its parent. Only the parents take memory proportional to the graph up front.
+ * Nodes of each level are appended to the visit order, the frontier is the last level of it.
+ */
+final class BreadthFirstSearch {
+
+    private static final int PARALLEL_THRESHOLD = 4096;
+    private static final int CHUNK = 1024;
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+
+    private final IntGraph graph;
+    private final boolean bottomUpAllowed;
+    private final ForkJoinPool pool;
+    private final AlgorithmTask task;
+    private final int[] parents;
+    private int[] order;
+    private final AtomicBitSet visited;
+    private AtomicBitSet inFrontier;
+    private IntGraph transposed;
+    private int frontierStart;
+    private int frontierEnd;
+    private int previousFrontierSize;
+    private boolean bottomUp;
+    private long frontierEdges;
+    private long unexploredEdges;
+
+    /**
+     * Instantiates a new search.
+     *
+     * @param graph the graph
+     * @param bottomUpAllowed whether the transpose of the graph is cheap to get, otherwise levels are only expanded top-down
+     * @param pool the pool to expand large levels on, or null to expand them on the calling thread
+     * @param task the task to check for cancellation
+     */
+    BreadthFirstSearch(IntGraph graph, boolean bottomUpAllowed, ForkJoinPool pool, AlgorithmTask task) {
+        this.graph = graph;
+        this.bottomUpAllowed = bottomUpAllowed;
+        this.pool = pool;
+        this.task = task;
+        int bound = graph.getNodeIdBound();
+        this.parents = new int[bound];
+        this.order = new int[Math.min(16, graph.getNodesNumber())];
+        this.visited = new AtomicBitSet(bound);
+    }
+
+    /**
+     * Runs the whole search from the node.
+     *
+     * @param source the starting node id
+     * @return the visit order, level by level
+     */
+    int[] search(int source) {
+        start(source);
+        int frontierSize = 1;
+        while (frontierSize > 0) {
+            frontierSize = step();
+        }
+        return Arrays.copyOf(order, frontierEnd);
+    }
+
+    /**
+     * Makes the node the only visited one and the frontier.
+     *
+     * @param source the starting node id
+     */
+    void start(int source) {
+        visited.set(source);
+        parents[source] = -1;
+        order[0] = source;
+        frontierStart = 0;
+        frontierEnd = 1;
+        frontierEdges = graph.outDegree(source);
+        unexploredEdges = graph.getEdgesCount() - frontierEdges;
+    }
+
+    /**
+     * Expands the frontier by one level.
+     *
+     * @return the size of the new frontier, 0 once the search is complete
+     */
+    int step() {
+        if (frontierStart == frontierEnd)
+            return 0;
+        task.checkpoint();
+        int frontierSize = frontierEnd - frontierStart;
+        if (bottomUpAllowed) {
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < previousFrontierSize
+                    && frontierSize < graph.getNodeIdBound() / BETA) {
+                bottomUp = false;
+            }
+        }
+        previousFrontierSize = frontierSize;
+        int[][] parts = bottomUp ? bottomUpStep() : topDownStep();
+        int size = frontierEnd;
+        for (int[] part : parts) {
+            size += part.length;
+        }
+        if (size > order.length)
+            order = Arrays.copyOf(order, Math.max(size, Math.min(2 * order.length, graph.getNodesNumber())));
+        frontierStart = frontierEnd;
+        frontierEdges = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, order, frontierEnd, part.length);
+            frontierEnd += part.length;
+            for (int v : part) {
+                frontierEdges += graph.outDegree(v);
+            }
+        }
+        unexploredEdges -= frontierEdges;
+        return frontierEnd - frontierStart;
+    }
+
+    private int[][] topDownStep() {
+        return forEachChunk(frontierStart, frontierEnd, (from, to) -> {
+            int[] part = new int[Math.max(16, to - from)];
+            int size = 0;
+            for (int j = from; j < to; j++) {
+                int v = order[j];
+                int degree = graph.outDegree(v);
+                for (int i = 0; i < degree; i++) {
+                    int w = graph.outNeighbor(v, i);
+                    if (!visited.get(w) && visited.set(w)) {
+                        parents[w] = v;
+                        if (size == part.length)
+                            part = Arrays.copyOf(part, size * 2);
+                        part[size++] = w;
+                    }
+                }
+            }
+            return Arrays.copyOf(part, size);
+        });
+    }
+
+    /**
+     * Every unvisited node is checked by exactly one chunk, which stops at the first parent found.
+     */
+    private int[][] bottomUpStep() {
+        if (transposed == null) {
+            transposed = graph.transpose();
+            inFrontier = new AtomicBitSet(graph.getNodeIdBound());
+        }
+        markFrontier(true);
+        int[][] parts = forEachChunk(0, graph.getNodeIdBound(), (from, to) -> {
+            int[] part = new int[16];
+            int size = 0;
+            for (int v = from; v < to; v++) {
+                if (visited.get(v) || !graph.hasNode(v))
+                    continue;
+                int degree = transposed.outDegree(v);
+                for (int i = 0; i < degree; i++) {
+                    int u = transposed.outNeighbor(v, i);
+                    if (inFrontier.get(u)) {
+                        visited.set(v);
+                        parents[v] = u;
+                        if (size == part.length)
+                            part = Arrays.copyOf(part, size * 2);
+                        part[size++] = v;
+                        break;
+                    }
+                }
+            }
+            return Arrays.copyOf(part, size);
+        });
+        markFrontier(false);
+        return parts;
+    }
+
+    private void markFrontier(boolean value) {
+        forEachChunk(frontierStart, frontierEnd, (from, to) -> {
+            for (int j = from; j < to; j++) {
+                if (value) {
+                    inFrontier.set(order[j]);
+                } else {
+                    inFrontier.clear(order[j]);
+                }
+            }
+            return null;
+        });
+    }
+
+    private int[][] forEachChunk(int from, int to, Chunk chunk) {
+        if (pool == null || to - from < PARALLEL_THRESHOLD) {
+            return new int[][]{chunk.apply(from, to)};
+        }
+        int[][] parts = new int[(to - from + CHUNK - 1) / CHUNK][];
+        pool.invoke(new Chunks(chunk, parts, from, to, 0, parts.length));
+        return parts;
+    }
+
+    /**
+     * Checks whether the node has been reached.
+     *
+     * @param node the node id
+     * @return true, if visited
+     */
+    boolean isVisited(int node) {
+        return visited.get(node);
+    }
+
+    /**
+     * Gets the parents of visited nodes, -1 for the starting node, other entries are undefined.
+     *
+     * @return the parent ids by node id
+     */
+    int[] getParents() {
+        return parents;
+    }
+
+    /**
+     * Gets the distances of the visited nodes from the starting node.
+     *
+     * @return the distances by node id, -1 for nodes not visited
+     */
+    int[] getDistances() {
+        int[] distances = new int[parents.length];
+        Arrays.fill(distances, -1);
+        distances[order[0]] = 0;
+        for (int i = 1; i < frontierEnd; i++) {
+            distances[order[i]] = distances[parents[order[i]]] + 1;
+        }
+        return distances;
+    }
+
+    /**
+     * Gets the visit order, the frontier is its range from {@link #getFrontierStart()} to {@link #getFrontierEnd()}.
+     *
+     * @return the visit order
+     */
+    int[] getOrder() {
+        return order;
+    }
+
+    int getFrontierStart() {
+        return frontierStart;
+    }
+
+    int getFrontierEnd() {
+        return frontierEnd;
+    }
+
+    /**
+     * Work on a range of positions, returning the nodes it visited.
+     */
+    @FunctionalInterface
+    private interface Chunk {
+        int[] apply(int from, int to);
+    }
+
+    private static final class Chunks extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Chunk chunk;
+        private final int[][] parts;
+        private final int from;
+        private final int to;
+        private final int first;
+        private final int last;
+
+        Chunks(Chunk chunk, int[][] parts, int from, int to, int first, int last) {
+            this.chunk = chunk;
+            this.parts = parts;
+            this.from = from;
+            this.to = to;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first == 1) {
+                int start = from + first * CHUNK;
+                parts[first] = chunk.apply(start, Math.min(to, start + CHUNK));
+                return;
+            }
+            int middle = (first + last) >>> 1;
+            invokeAll(new Chunks(chunk, parts, from, to, first, middle),
+                    new Chunks(chunk, parts, from, to, middle, last));
+        }
+    }
+
+    /**
+     * Fixed size bitset whose bits are set and cleared atomically.
+     */
+    private static final class AtomicBitSet {
+        private final AtomicLongArray words;
+
+        AtomicBitSet(int size) {
+            this.words = new AtomicLongArray((size + 63) >>> 6);
+        }
+
+        boolean get(int index) {
+            return (words.get(index >>> 6) & (1L << index)) != 0;
+        }
+
+        /**
+         * Sets the bit.
+         *
+         * @return true, if the bit was not set before
+         */
+        boolean set(int index) {
+            int word = index >>> 6;
+            long bit = 1L << index;
+            long old;
+            do {
+                old = words.get(word);
+                if ((old & bit) != 0)
+                    return false;
+            } while (!words.compareAndSet(word, old, old | bit));
+            return true;
+        }
+
+        void clear(int index) {
+            int word = index >>> 6;
+            long bit = 1L << index;
+            long old;
+            do {
+                old = words.get(word);
+            } while (!words.compareAndSet(word, old, old & ~bit));
+        }
+    }
+}
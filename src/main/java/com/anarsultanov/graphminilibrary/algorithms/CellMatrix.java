@@ -0,0 +1,168 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Dense matrix of non-negative ints stored in 1, 2 or 4 byte cells, on heap or in a memory-mapped file.
+ * The largest unsigned value of the cell width marks an absent value, which is read back as -1.
+ */
+final class CellMatrix implements AutoCloseable {
+
+    private final int rows;
+    private final int columns;
+    private final int width;
+    private final int rowsPerChunk;
+    private final ByteBuffer[] chunks;
+    private final Path file;
+
+    private CellMatrix(int rows, int columns, int width, Path directory) {
+        this.rows = rows;
+        this.columns = columns;
+        this.width = width;
+        long rowBytes = Math.max(1L, (long) columns * width);
+        if (rowBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Row of " + columns + " cells does not fit into a buffer");
+        }
+        this.rowsPerChunk = (int) Math.max(1, Integer.MAX_VALUE / rowBytes);
+        this.chunks = new ByteBuffer[Math.max(1, (rows + rowsPerChunk - 1) / rowsPerChunk)];
+        try {
+            this.file = directory == null ? null : Files.createTempFile(directory, "matrix", ".bin");
+            if (file == null) {
+                for (int i = 0; i < chunks.length; i++) {
+                    chunks[i] = ByteBuffer.allocate((int) (chunkRows(i) * rowBytes));
+                }
+            } else {
+                file.toFile().deleteOnExit();
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    for (int i = 0; i < chunks.length; i++) {
+                        chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                                (long) i * rowsPerChunk * rowBytes, chunkRows(i) * rowBytes);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map the matrix in " + directory, e);
+        }
+    }
+
+    /**
+     * Allocates the matrix.
+     *
+     * @param rows the rows number
+     * @param columns the columns number
+     * @param width the cell width in bytes, 1, 2 or 4
+     * @param directory the directory for the mapped file, or null to allocate on heap
+     * @return the matrix
+     */
+    static CellMatrix allocate(int rows, int columns, int width, Path directory) {
+        return new CellMatrix(rows, columns, width, directory);
+    }
+
+    /**
+     * Gets the narrowest cell width which can hold the value.
+     *
+     * @param maxValue the largest value to store
+     * @return the width in bytes
+     */
+    static int widthFor(int maxValue) {
+        if (maxValue < 0xFF)
+            return 1;
+        if (maxValue < 0xFFFF)
+            return 2;
+        return 4;
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getMaxValue() {
+        return width == 1 ? 0xFE : width == 2 ? 0xFFFE : Integer.MAX_VALUE;
+    }
+
+    long getBytes() {
+        return (long) rows * columns * width;
+    }
+
+    boolean isMapped() {
+        return file != null;
+    }
+
+    int get(int row, int column) {
+        ByteBuffer chunk = chunks[row / rowsPerChunk];
+        int index = ((row % rowsPerChunk) * columns + column) * width;
+        switch (width) {
+            case 1:
+                int b = chunk.get(index) & 0xFF;
+                return b == 0xFF ? -1 : b;
+            case 2:
+                int s = chunk.getShort(index) & 0xFFFF;
+                return s == 0xFFFF ? -1 : s;
+            default:
+                return chunk.getInt(index);
+        }
+    }
+
+    void setRow(int row, int[] values) {
+        ByteBuffer chunk = chunks[row / rowsPerChunk];
+        int index = (row % rowsPerChunk) * columns * width;
+        for (int column = 0; column < columns; column++, index += width) {
+            int value = values[column];
+            switch (width) {
+                case 1:
+                    chunk.put(index, (byte) value);
+                    break;
+                case 2:
+                    chunk.putShort(index, (short) value);
+                    break;
+                default:
+                    chunk.putInt(index, value);
+            }
+        }
+    }
+
+    /**
+     * Copies the first rows into a new matrix with wider cells and releases this one.
+     *
+     * @param newWidth the new cell width
+     * @param filledRows the number of rows written so far
+     * @param directory the directory for the mapped file, or null to allocate on heap
+     * @return the new matrix
+     */
+    CellMatrix widen(int newWidth, int filledRows, Path directory) {
+        CellMatrix result = allocate(rows, columns, newWidth, directory);
+        int[] row = new int[columns];
+        for (int i = 0; i < filledRows; i++) {
+            for (int column = 0; column < columns; column++) {
+                row[column] = get(i, column);
+            }
+            result.setRow(i, row);
+        }
+        close();
+        return result;
+    }
+
+    private long chunkRows(int chunk) {
+        return Math.min(rowsPerChunk, rows - (long) chunk * rowsPerChunk);
+    }
+
+    /**
+     * Deletes the mapped file, the matrix must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
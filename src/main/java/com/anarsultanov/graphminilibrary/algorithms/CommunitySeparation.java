@@ -1,26 +1,28 @@
 package com.anarsultanov.graphminilibrary.algorithms;
 
 import com.anarsultanov.graphminilibrary.graph.BasicGraph;
+import com.anarsultanov.graphminilibrary.graph.FrozenIntGraph;
 import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.IndexedGraph;
 
-import java.util.AbstractMap;
-import java.util.Comparator;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.NavigableSet;
-import java.util.Queue;
-import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * An algorithm for detecting communities by removing connections with the largest betweenness.
+ * <p>
+ * In the incremental mode betweenness is recomputed after each removal only from the sources
+ * of the weakly connected component that contained the removed connection, since no other
+ * source can reach its edges; scores of all other edges are kept from previous iterations.
  */
 public class CommunitySeparation {
 
+    private static final double TIE_TOLERANCE = 1e-9;
+
     /**
      * Apply the algorithm to the graph and get the result
      * @param graph the graph to which to apply the algorithm
@@ -29,83 +31,158 @@ public class CommunitySeparation {
      * @return CompletableFuture with the result
      */
     public static <T> CompletableFuture<Result<T>> compute(Graph<T> graph, int connectionsToRemove) {
-        if (connectionsToRemove > graph.getEdgesNumber()) {
+        return compute(graph, connectionsToRemove, true);
+    }
+
+    /**
+     * Apply the algorithm to the graph and get the result
+     * @param graph the graph to which to apply the algorithm
+     * @param connectionsToRemove number of connections to remove
+     * @param incremental whether to recompute betweenness only within the affected component
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<Result<T>> compute(Graph<T> graph, int connectionsToRemove,
+                                                          boolean incremental) {
+        return compute(graph, connectionsToRemove, incremental, AlgorithmTask.DEFAULT_EXECUTOR, null);
+    }
+
+    /**
+     * Apply the algorithm to the graph on the executor and get the result,
+     * cancelling the returned future stops the computation.
+     * Betweenness is computed on the executor if it is a ForkJoinPool, otherwise on the common pool
+     * @param graph the graph to which to apply the algorithm
+     * @param connectionsToRemove number of connections to remove
+     * @param incremental whether to recompute betweenness only within the affected component
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<Result<T>> compute(Graph<T> graph, int connectionsToRemove,
+                                                          boolean incremental, Executor executor, Duration timeout) {
+        Graph<T> snapshot = AlgorithmTask.isolate(graph);
+        if (connectionsToRemove > snapshot.getEdgesNumber()) {
             throw new IllegalArgumentException("The number of edges to remove exceeds the total the total number of edges!");
         }
-        return CompletableFuture.supplyAsync(() -> doCompute(graph, connectionsToRemove));
+        return AlgorithmTask.submit(executor, timeout, task -> doCompute(snapshot, connectionsToRemove, incremental, task));
     }
 
-    private static <T> Result<T> doCompute(Graph<T> graph, int connectionsToRemove) {
-        Graph<T> resultingGraph = new BasicGraph<>();
+    private static <T> Result<T> doCompute(Graph<T> graph, int connectionsToRemove, boolean incremental,
+                                           AlgorithmTask task) {
+        IndexedGraph<T> indexedGraph = IndexedGraph.of(graph);
+        FrozenIntGraph intGraph = FrozenIntGraph.copyOf(indexedGraph.getIntGraph());
+        int[] offsets = intGraph.getOffsets();
+        int[] targets = intGraph.getTargets();
+        int[] edgeSources = edgeSources(intGraph);
+        int[] sources = EdgeBetweenness.allNodes(intGraph);
+        boolean[] removed = new boolean[targets.length];
         Map<T, T> removedEdges = new HashMap<>();
-        copyAdjacencyListMap(graph, resultingGraph);
-        NavigableSet<Entry<Entry<T, T>, Integer>> queue = new TreeSet<>(Comparator.comparing(Entry::getValue));
+        double[] betweenness = null;
+
         for (int i = 0; i < connectionsToRemove; i++) {
-            queue.clear();
-            queue.addAll(getBetweennes(resultingGraph).entrySet());
-
-            Entry<Entry<T, T>, Integer> last = queue.pollLast();
-            assert last != null;
-            T v1 = last.getKey().getKey();
-            T v2 = last.getKey().getValue();
-
-            resultingGraph.removeEdge(v1, v2);
-            removedEdges.put(v1, v2);
-            if (resultingGraph.hasEdge(v2, v1)) {
-                resultingGraph.removeEdge(v2, v1);
-                removedEdges.put(v2, v1);
+            task.checkpoint();
+            if (betweenness == null || !incremental) {
+                betweenness = EdgeBetweenness.accumulate(intGraph, removed, sources, task);
+            }
+            int edge = maxEdge(betweenness, removed);
+            if (edge < 0)
+                break;
+            int v1 = edgeSources[edge];
+            int v2 = targets[edge];
+            removed[edge] = true;
+            removedEdges.put(indexedGraph.nodeAt(v1), indexedGraph.nodeAt(v2));
+            int reverse = Arrays.binarySearch(targets, offsets[v2], offsets[v2 + 1], v1);
+            if (reverse >= 0 && !removed[reverse]) {
+                removed[reverse] = true;
+                removedEdges.put(indexedGraph.nodeAt(v2), indexedGraph.nodeAt(v1));
+            }
+            if (incremental) {
+                int[] affected = weakComponents(intGraph, removed, v1, v2);
+                double[] update = EdgeBetweenness.accumulate(intGraph, removed, affected, task);
+                for (int v : affected) {
+                    System.arraycopy(update, offsets[v], betweenness, offsets[v], offsets[v + 1] - offsets[v]);
+                }
             }
         }
-        return new Result<>(resultingGraph, removedEdges);
+        return new Result<>(resultingGraph(indexedGraph, intGraph, edgeSources, removed), removedEdges);
     }
 
-    private static <T> void copyAdjacencyListMap(Graph<T> source, Graph<T> goal) {
-        for (T from : source.getAdjacencyListMap().keySet()) {
-            for (T to : source.getAdjacencyListMap().get(from)) {
-                goal.addEdge(from, to);
-            }
+    private static int[] edgeSources(FrozenIntGraph graph) {
+        int[] offsets = graph.getOffsets();
+        int[] edgeSources = new int[graph.getEdgesNumber()];
+        for (int v = 0; v < graph.getNodeIdBound(); v++) {
+            Arrays.fill(edgeSources, offsets[v], offsets[v + 1], v);
         }
+        return edgeSources;
     }
 
-    private static <T> Map<Entry<T, T>, Integer> getBetweennes(Graph<T> graph) {
-
-        Map<Entry<T, T>, Integer> betweennesMap = new HashMap<>();
-
-        for (T start : graph.getAdjacencyListMap().keySet()) {
-            HashMap<T, T> parentMap = new HashMap<>();
-            Queue<T> toExplore = new LinkedList<>();
-            HashSet<T> visited = new HashSet<>();
-
-            toExplore.add(start);
-            T next;
-
-            while (!toExplore.isEmpty()) {
-                next = toExplore.remove();
-                Set<T> neighbors = graph.getAdjacencyListMap().get(next);
-                for (T n : neighbors) {
-                    if (!visited.contains(n)) {
-                        visited.add(n);
-                        parentMap.put(n, next);
-                        toExplore.add(n);
+    /**
+     * Collects the nodes weakly connected to either of the two nodes over the remaining edges.
+     * After removing the connection between them this is exactly the component that contained it.
+     */
+    private static int[] weakComponents(FrozenIntGraph graph, boolean[] removed, int v1, int v2) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        FrozenIntGraph transposed = graph.transpose();
+        int[] inOffsets = transposed.getOffsets();
+        int[] inTargets = transposed.getTargets();
+        boolean[] visited = new boolean[graph.getNodeIdBound()];
+        int[] queue = new int[graph.getNodeIdBound()];
+        int tail = 0;
+        for (int start : new int[]{v1, v2}) {
+            if (visited[start])
+                continue;
+            visited[start] = true;
+            int head = tail;
+            queue[tail++] = start;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int w = targets[e];
+                    if (!removed[e] && !visited[w]) {
+                        visited[w] = true;
+                        queue[tail++] = w;
                     }
                 }
-            }
-
-            for (T s : parentMap.keySet()) {
-                T current = s;
-                while (!current.equals(start)) {
-                    Entry<T, T> edge = new AbstractMap.SimpleEntry<>(parentMap.get(current), current);
-                    if (betweennesMap.containsKey(edge)) {
-                        int betweennes = betweennesMap.get(edge) + 1;
-                        betweennesMap.replace(edge, betweennes);
-                    } else {
-                        betweennesMap.put(edge, 1);
+                for (int e = inOffsets[v]; e < inOffsets[v + 1]; e++) {
+                    int w = inTargets[e];
+                    if (!visited[w] && !removed[Arrays.binarySearch(targets, offsets[w], offsets[w + 1], v)]) {
+                        visited[w] = true;
+                        queue[tail++] = w;
                     }
-                    current = parentMap.get(current);
                 }
             }
         }
-        return betweennesMap;
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Finds the remaining edge with the largest betweenness, the first one wins a tie.
+     */
+    private static int maxEdge(double[] betweenness, boolean[] removed) {
+        int maxEdge = -1;
+        for (int e = 0; e < betweenness.length; e++) {
+            if (!removed[e] && (maxEdge < 0 || betweenness[e] > betweenness[maxEdge] + TIE_TOLERANCE)) {
+                maxEdge = e;
+            }
+        }
+        return maxEdge;
+    }
+
+    private static <T> Graph<T> resultingGraph(IndexedGraph<T> indexedGraph, FrozenIntGraph intGraph,
+                                               int[] edgeSources, boolean[] removed) {
+        Graph<T> resultingGraph = new BasicGraph<>();
+        for (int v = 0; v < intGraph.getNodeIdBound(); v++) {
+            if (intGraph.hasNode(v))
+                resultingGraph.addNode(indexedGraph.nodeAt(v));
+        }
+        int[] targets = intGraph.getTargets();
+        for (int e = 0; e < targets.length; e++) {
+            if (!removed[e])
+                resultingGraph.addEdge(indexedGraph.nodeAt(edgeSources[e]), indexedGraph.nodeAt(targets[e]));
+        }
+        return resultingGraph;
     }
 
     /**
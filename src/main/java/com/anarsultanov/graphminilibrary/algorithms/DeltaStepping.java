@@ -0,0 +1,218 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.graph.WeightedIntGraph;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Delta-stepping single-source shortest paths (Meyer and Sanders).
+ * <p>
+ * Nodes are kept in buckets of tentative distances {@code delta} wide. The smallest bucket is emptied by
+ * relaxing the light edges (not heavier than delta) of its nodes until no node falls back into it,
+ * then the heavy edges of all nodes removed from it are relaxed once. Large sets of nodes are relaxed
+ * in parallel in two phases: chunks of nodes scan their edges and emit requests grouped by the partition
+ * of the target, then each partition applies its requests, so every distance and parent is written by
+ * one thread without locks. A parent is only replaced by a strictly shorter path, which keeps the parents a tree.
+ */
+final class DeltaStepping {
+
+    private static final int PARALLEL_THRESHOLD = 4096;
+    private static final int CHUNK = 1024;
+    private static final int MAX_PARTITIONS = 256;
+
+    private final WeightedIntGraph graph;
+    private final double delta;
+    private final boolean parallel;
+    private final int partitions;
+    private final AlgorithmTask task;
+    private final double[] distances;
+    private final int[] parents;
+    private final int[] roundMarks;
+    private final int[] settledMarks;
+    private final TreeMap<Long, NodeList> buckets = new TreeMap<>();
+    private int mark;
+    private long cachedIndex;
+    private NodeList cachedBucket;
+
+    private DeltaStepping(WeightedIntGraph graph, double delta, double[] distances, int[] parents, AlgorithmTask task) {
+        this.graph = graph;
+        this.delta = delta;
+        this.task = task;
+        this.distances = distances;
+        this.parents = parents;
+        this.roundMarks = new int[graph.getNodeIdBound()];
+        this.settledMarks = new int[graph.getNodeIdBound()];
+        this.parallel = task.getPool().getParallelism() > 1;
+        this.partitions = Math.min(MAX_PARTITIONS, 4 * task.getPool().getParallelism());
+    }
+
+    /**
+     * Computes the distances and parents of the nodes reachable from the source.
+     *
+     * @param graph the graph with non-negative weights
+     * @param source the starting node id
+     * @param delta the width of buckets, positive
+     * @param distances the array to fill, positive infinity is left for unreachable ids
+     * @param parents the array to fill, -1 is left for the source and unreachable ids
+     * @param task the task to check for cancellation
+     */
+    static void compute(WeightedIntGraph graph, int source, double delta, double[] distances, int[] parents,
+                        AlgorithmTask task) {
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, -1);
+        DeltaStepping search = new DeltaStepping(graph, delta, distances, parents, task);
+        distances[source] = 0;
+        search.bucket(0).add(source);
+        search.run();
+    }
+
+    private void run() {
+        while (!buckets.isEmpty()) {
+            task.checkpoint();
+            long index = buckets.firstKey();
+            int bucketMark = ++mark;
+            NodeList settled = new NodeList();
+            NodeList list;
+            while ((list = buckets.remove(index)) != null) {
+                cachedBucket = null;
+                int roundMark = ++mark;
+                NodeList round = new NodeList();
+                for (int i = 0; i < list.size; i++) {
+                    int v = list.nodes[i];
+                    if (roundMarks[v] != roundMark && bucketOf(distances[v]) == index) {
+                        roundMarks[v] = roundMark;
+                        round.add(v);
+                        if (settledMarks[v] != bucketMark) {
+                            settledMarks[v] = bucketMark;
+                            settled.add(v);
+                        }
+                    }
+                }
+                relax(round, true);
+            }
+            relax(settled, false);
+        }
+    }
+
+    private long bucketOf(double distance) {
+        return (long) Math.floor(distance / delta);
+    }
+
+    /**
+     * Gets the bucket for the distance, consecutive relaxations mostly hit the same one.
+     */
+    private NodeList bucket(double distance) {
+        long index = bucketOf(distance);
+        if (cachedBucket == null || cachedIndex != index) {
+            cachedBucket = buckets.computeIfAbsent(index, i -> new NodeList());
+            cachedIndex = index;
+        }
+        return cachedBucket;
+    }
+
+    private void relax(NodeList nodes, boolean light) {
+        if (!parallel || nodes.size < PARALLEL_THRESHOLD) {
+            for (int j = 0; j < nodes.size; j++) {
+                int u = nodes.nodes[j];
+                double distance = distances[u];
+                int degree = graph.outDegree(u);
+                for (int i = 0; i < degree; i++) {
+                    double weight = graph.outWeight(u, i);
+                    if (weight <= delta != light)
+                        continue;
+                    int v = graph.outNeighbor(u, i);
+                    double candidate = distance + weight;
+                    if (candidate < distances[v]) {
+                        distances[v] = candidate;
+                        parents[v] = u;
+                        bucket(candidate).add(v);
+                    }
+                }
+            }
+            return;
+        }
+
+        Requests[][] requests = new Requests[(nodes.size + CHUNK - 1) / CHUNK][partitions];
+        IntStream.range(0, requests.length).parallel().forEach(c -> {
+            Requests[] chunk = requests[c];
+            for (int j = c * CHUNK; j < Math.min(nodes.size, (c + 1) * CHUNK); j++) {
+                int u = nodes.nodes[j];
+                double distance = distances[u];
+                int degree = graph.outDegree(u);
+                for (int i = 0; i < degree; i++) {
+                    double weight = graph.outWeight(u, i);
+                    if (weight <= delta != light)
+                        continue;
+                    int v = graph.outNeighbor(u, i);
+                    double candidate = distance + weight;
+                    if (candidate < distances[v]) {
+                        int p = v % partitions;
+                        if (chunk[p] == null)
+                            chunk[p] = new Requests();
+                        chunk[p].add(v, candidate, u);
+                    }
+                }
+            }
+        });
+        NodeList[] improved = new NodeList[partitions];
+        IntStream.range(0, partitions).parallel().forEach(p -> {
+            NodeList list = new NodeList();
+            for (Requests[] chunk : requests) {
+                Requests r = chunk[p];
+                if (r == null)
+                    continue;
+                for (int i = 0; i < r.size; i++) {
+                    int v = r.targets[i];
+                    if (r.distances[i] < distances[v]) {
+                        distances[v] = r.distances[i];
+                        parents[v] = r.sources[i];
+                        list.add(v);
+                    }
+                }
+            }
+            improved[p] = list;
+        });
+        for (NodeList list : improved) {
+            for (int i = 0; i < list.size; i++) {
+                bucket(distances[list.nodes[i]]).add(list.nodes[i]);
+            }
+        }
+    }
+
+    /**
+     * Growable list of node ids, a node may occur more than once.
+     */
+    private static final class NodeList {
+        private int[] nodes = new int[16];
+        private int size;
+
+        void add(int node) {
+            if (size == nodes.length)
+                nodes = Arrays.copyOf(nodes, size * 2);
+            nodes[size++] = node;
+        }
+    }
+
+    /**
+     * Relaxation requests of one chunk for the targets of one partition.
+     */
+    private static final class Requests {
+        private int[] targets = new int[16];
+        private double[] distances = new double[16];
+        private int[] sources = new int[16];
+        private int size;
+
+        void add(int target, double distance, int source) {
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+                sources = Arrays.copyOf(sources, size * 2);
+            }
+            targets[size] = target;
+            distances[size] = distance;
+            sources[size++] = source;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.graph.IndexedGraph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Distances between all pairs of nodes, stored in the narrowest cells that fit the graph's diameter.
+ * <p>
+ * Rows and columns are node ids of the indexed graph. If the matrix was spilled to a memory-mapped
+ * file, {@link #close()} deletes it.
+ */
+public class DistanceMatrix<T> implements AutoCloseable {
+
+    private final IndexedGraph<T> graph;
+    private final CellMatrix distances;
+    private final CellMatrix nextHops;
+
+    DistanceMatrix(IndexedGraph<T> graph, CellMatrix distances, CellMatrix nextHops) {
+        this.graph = graph;
+        this.distances = distances;
+        this.nextHops = nextHops;
+    }
+
+    /**
+     * Get the indexed graph whose node ids address the matrix
+     * @return the indexed graph
+     */
+    public IndexedGraph<T> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Get the number of bytes in a distance cell
+     * @return 1, 2 or 4
+     */
+    public int getCellBytes() {
+        return distances.getWidth();
+    }
+
+    /**
+     * Check whether the matrix is stored in a memory-mapped file
+     * @return true, if spilled to disk
+     */
+    public boolean isMapped() {
+        return distances.isMapped();
+    }
+
+    /**
+     * Check whether the next hops are available for path reconstruction
+     * @return true, if next hops were computed
+     */
+    public boolean hasNextHops() {
+        return nextHops != null;
+    }
+
+    /**
+     * Get the distance between the nodes
+     * @param from the starting node
+     * @param to the end point
+     * @return the number of edges on the shortest path, or -1 if there is no path
+     */
+    public int getDistance(T from, T to) {
+        int fromId = graph.indexOf(from);
+        int toId = graph.indexOf(to);
+        if (fromId < 0 || toId < 0) {
+            throw new IllegalArgumentException("There is no specified node in the graph");
+        }
+        return distance(fromId, toId);
+    }
+
+    /**
+     * Get the distance between the nodes by their ids
+     * @param from the starting node id
+     * @param to the end point id
+     * @return the number of edges on the shortest path, or -1 if there is no path
+     */
+    public int distance(int from, int to) {
+        return distances.get(from, to);
+    }
+
+    /**
+     * Get the node following the starting one on the shortest path
+     * @param from the starting node id
+     * @param to the end point id
+     * @return the next node id, or -1 if there is no path or the nodes are the same
+     */
+    public int nextHop(int from, int to) {
+        if (nextHops == null) {
+            throw new IllegalStateException("Next hops were not computed");
+        }
+        return nextHops.get(from, to);
+    }
+
+    /**
+     * Get the shortest path between the nodes
+     * @param from the starting node
+     * @param to the end point
+     * @return the path, or empty list if there is no path
+     */
+    public List<T> getPath(T from, T to) {
+        int current = graph.indexOf(from);
+        int toId = graph.indexOf(to);
+        int distance = getDistance(from, to);
+        if (distance < 0) {
+            return Collections.emptyList();
+        }
+        List<T> path = new ArrayList<>(distance + 1);
+        path.add(from);
+        while (current != toId) {
+            current = nextHop(current, toId);
+            path.add(graph.nodeAt(current));
+        }
+        return path;
+    }
+
+    /**
+     * Release the matrix and delete the mapped files, if any.
+     */
+    @Override
+    public void close() {
+        distances.close();
+        if (nextHops != null) {
+            nextHops.close();
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package com.anarsultanov.graphminilibrary.algorithms;
 
 import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.IndexedGraph;
+import com.anarsultanov.graphminilibrary.graph.IntGraph;
 
-import java.util.AbstractMap;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map.Entry;
-import java.util.NavigableSet;
+import java.util.List;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
 
 /**
  * An algorithm which computes the dominating set.
+ * <p>
+ * A node dominates itself and its out neighbors. The greedy algorithm repeatedly takes the node
+ * which dominates the most nodes not dominated yet, keeping these counts up to date in a bucket
+ * queue, which gives a logarithmic approximation in O(V + E) time. The parallel algorithm works in
+ * rounds: nodes whose count, rounded down to a power of two, is the largest around them become
+ * candidates, and each node not dominated yet elects one candidate to join the set.
  */
 public class DominatingSet {
 
@@ -22,28 +32,207 @@ public class DominatingSet {
      * @return CompletableFuture with the result
      */
     public static <T> CompletableFuture<Set<T>> compute(Graph<T> graph) {
-        return CompletableFuture.supplyAsync(() -> doCompute(graph));
+        return compute(graph, false);
     }
 
-    @SuppressWarnings("ComparatorMethodParameterNotUsed")
-    private static <T> Set<T> doCompute(Graph<T> graph) {
-        Set<T> dominatingSet = new HashSet<>();
-        Set<T> marked = new HashSet<>();
-        NavigableSet<Entry<T, Integer>> queue = new TreeSet<>((arg0, arg1) -> {
-            int res = arg0.getValue().compareTo(arg1.getValue());
-            return res != 0 ? res : 1;
+    /**
+     * Apply the algorithm to the graph and get the result
+     * @param graph the graph to which to apply the algorithm
+     * @param parallel whether to use the parallel algorithm
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<Set<T>> compute(Graph<T> graph, boolean parallel) {
+        return compute(graph, parallel, AlgorithmTask.DEFAULT_EXECUTOR, null);
+    }
+
+    /**
+     * Apply the algorithm to the graph on the executor and get the result,
+     * cancelling the returned future stops the computation
+     * @param graph the graph to which to apply the algorithm
+     * @param parallel whether to use the parallel algorithm
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<Set<T>> compute(Graph<T> graph, boolean parallel,
+                                                        Executor executor, Duration timeout) {
+        Graph<T> snapshot = AlgorithmTask.isolate(graph);
+        return AlgorithmTask.submit(executor, timeout, task -> {
+            IndexedGraph<T> indexedGraph = IndexedGraph.of(snapshot);
+            IntGraph intGraph = indexedGraph.getIntGraph();
+            boolean[] dominating = parallel ? parallelGreedy(intGraph, task) : greedy(intGraph, task);
+            Set<T> dominatingSet = new HashSet<>();
+            for (int v = 0; v < dominating.length; v++) {
+                if (dominating[v])
+                    dominatingSet.add(indexedGraph.nodeAt(v));
+            }
+            return dominatingSet;
         });
-        graph.getAdjacencyListMap().forEach((k, v) -> queue.add(new AbstractMap.SimpleEntry<>(k, v.size())));
-
-        while (!queue.isEmpty()) {
-            Entry<T, Integer> e = queue.pollLast();
-            assert e != null;
-            T v = e.getKey();
-            if (!dominatingSet.contains(v) && !marked.contains(v)) {
-                dominatingSet.add(v);
-                marked.addAll(graph.getAdjacencyListMap().get(v));
+    }
+
+    /**
+     * Apply the algorithm to the graph and get the result, which is computed again only if the graph has changed
+     * @param graph the graph to which to apply the algorithm
+     * @param parallel whether to use the parallel algorithm
+     * @param cache the cache of results
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result, which cannot be modified
+     */
+    public static <T> CompletableFuture<Set<T>> compute(Graph<T> graph, boolean parallel, ResultCache cache) {
+        return compute(graph, parallel, AlgorithmTask.DEFAULT_EXECUTOR, null, cache);
+    }
+
+    /**
+     * Apply the algorithm to the graph on the executor and get the result, which is computed again
+     * only if the graph has changed
+     * @param graph the graph to which to apply the algorithm
+     * @param parallel whether to use the parallel algorithm
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the returned future times out, or null for no deadline
+     * @param cache the cache of results
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result, which cannot be modified
+     */
+    public static <T> CompletableFuture<Set<T>> compute(Graph<T> graph, boolean parallel,
+                                                        Executor executor, Duration timeout, ResultCache cache) {
+        return cache.get(graph, "DominatingSet", List.of(parallel), timeout,
+                deadline -> compute(graph, parallel, executor, deadline).thenApply(Collections::unmodifiableSet));
+    }
+
+    static boolean[] greedy(IntGraph graph, AlgorithmTask task) {
+        IntGraph transposed = graph.transpose();
+        int bound = graph.getNodeIdBound();
+        int[] gain = new int[bound];
+        int[] next = new int[bound];
+        int[] previous = new int[bound];
+        boolean[] covered = new boolean[bound];
+        boolean[] dominating = new boolean[bound];
+        int maxGain = 0;
+        for (int v = 0; v < bound; v++) {
+            if (graph.hasNode(v)) {
+                gain[v] = graph.outDegree(v) + (graph.hasEdge(v, v) ? 0 : 1);
+                maxGain = Math.max(maxGain, gain[v]);
+            } else {
+                covered[v] = true;
+            }
+        }
+        int[] heads = new int[maxGain + 1];
+        Arrays.fill(heads, -1);
+        for (int v = bound - 1; v >= 0; v--) {
+            if (gain[v] > 0)
+                push(heads, next, previous, v, gain[v]);
+        }
+
+        while (maxGain > 0) {
+            int v = heads[maxGain];
+            if (v < 0) {
+                maxGain--;
+                continue;
+            }
+            task.checkpoint();
+            unlink(heads, next, previous, v, gain[v]);
+            gain[v] = 0;
+            dominating[v] = true;
+            for (int i = -1; i < graph.outDegree(v); i++) {
+                int u = i < 0 ? v : graph.outNeighbor(v, i);
+                if (covered[u])
+                    continue;
+                covered[u] = true;
+                // every node dominating u now dominates one uncovered node less
+                for (int j = -1; j < transposed.outDegree(u); j++) {
+                    int w = j < 0 ? u : transposed.outNeighbor(u, j);
+                    if (gain[w] == 0 || (j >= 0 && w == u))
+                        continue;
+                    unlink(heads, next, previous, w, gain[w]);
+                    if (--gain[w] > 0)
+                        push(heads, next, previous, w, gain[w]);
+                }
             }
         }
-        return dominatingSet;
+        return dominating;
+    }
+
+    private static void push(int[] heads, int[] next, int[] previous, int v, int bucket) {
+        next[v] = heads[bucket];
+        previous[v] = -1;
+        if (heads[bucket] >= 0)
+            previous[heads[bucket]] = v;
+        heads[bucket] = v;
+    }
+
+    private static void unlink(int[] heads, int[] next, int[] previous, int v, int bucket) {
+        if (previous[v] >= 0)
+            next[previous[v]] = next[v];
+        else
+            heads[bucket] = next[v];
+        if (next[v] >= 0)
+            previous[next[v]] = previous[v];
+    }
+
+    static boolean[] parallelGreedy(IntGraph graph, AlgorithmTask task) {
+        IntGraph transposed = graph.transpose();
+        int bound = graph.getNodeIdBound();
+        int[] rank = new int[bound];
+        int[] maxRank = new int[bound];
+        boolean[] candidate = new boolean[bound];
+        boolean[] elected = new boolean[bound];
+        boolean[] covered = new boolean[bound];
+        boolean[] dominating = new boolean[bound];
+        IntStream.range(0, bound).parallel().forEach(v -> covered[v] = !graph.hasNode(v));
+
+        for (int round = 0; IntStream.range(0, bound).parallel().anyMatch(v -> !covered[v]); round++) {
+            task.checkpoint();
+            IntStream.range(0, bound).parallel().forEach(v -> {
+                int gain = 0;
+                for (int i = -1; i < graph.outDegree(v); i++) {
+                    int u = i < 0 ? v : graph.outNeighbor(v, i);
+                    if (!covered[u] && (i < 0 || u != v))
+                        gain++;
+                }
+                rank[v] = dominating[v] || gain == 0 ? -1 : 31 - Integer.numberOfLeadingZeros(gain);
+            });
+            IntStream.range(0, bound).parallel().filter(u -> !covered[u]).forEach(u -> {
+                int max = rank[u];
+                for (int j = 0; j < transposed.outDegree(u); j++) {
+                    max = Math.max(max, rank[transposed.outNeighbor(u, j)]);
+                }
+                maxRank[u] = max;
+            });
+            IntStream.range(0, bound).parallel().forEach(v -> {
+                boolean isCandidate = rank[v] >= 0;
+                for (int i = -1; isCandidate && i < graph.outDegree(v); i++) {
+                    int u = i < 0 ? v : graph.outNeighbor(v, i);
+                    isCandidate = covered[u] || rank[v] >= maxRank[u];
+                }
+                candidate[v] = isCandidate;
+                elected[v] = false;
+            });
+            int seed = round;
+            IntStream.range(0, bound).parallel().filter(u -> !covered[u]).forEach(u -> {
+                int best = candidate[u] ? u : -1;
+                for (int j = 0; j < transposed.outDegree(u); j++) {
+                    int w = transposed.outNeighbor(u, j);
+                    if (candidate[w] && (best < 0 || priority(w, seed) > priority(best, seed)))
+                        best = w;
+                }
+                if (best >= 0)
+                    elected[best] = true;
+            });
+            IntStream.range(0, bound).parallel().filter(v -> elected[v]).forEach(v -> {
+                dominating[v] = true;
+                covered[v] = true;
+                for (int i = 0; i < graph.outDegree(v); i++) {
+                    covered[graph.outNeighbor(v, i)] = true;
+                }
+            });
+        }
+        return dominating;
+    }
+
+    private static int priority(int v, int seed) {
+        int h = (v ^ (seed * 0x27D4EB2D)) * 0x9E3779B9;
+        return h ^ (h >>> 15);
     }
 }
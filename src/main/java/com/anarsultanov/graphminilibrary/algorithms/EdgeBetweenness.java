@@ -0,0 +1,206 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.graph.FrozenIntGraph;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.IndexedGraph;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An algorithm which computes the exact betweenness of every edge using Brandes' algorithm.
+ * <p>
+ * Sources are processed in parallel on a ForkJoinPool, each worker thread accumulates
+ * into its own array which are summed at the end, so the total work is O(V * E).
+ */
+public class EdgeBetweenness {
+
+    private static final int SOURCES_PER_TASK = 16;
+
+    /**
+     * Apply the algorithm to the graph and get the result
+     * @param graph the graph to which to apply the algorithm
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the betweenness of each edge
+     */
+    public static <T> CompletableFuture<Map<Entry<T, T>, Double>> compute(Graph<T> graph) {
+        return compute(graph, AlgorithmTask.DEFAULT_EXECUTOR, null);
+    }
+
+    /**
+     * Apply the algorithm to the graph on the executor and get the result,
+     * cancelling the returned future stops the computation.
+     * Sources are processed on the executor if it is a ForkJoinPool, otherwise on the common pool
+     * @param graph the graph to which to apply the algorithm
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the betweenness of each edge
+     */
+    public static <T> CompletableFuture<Map<Entry<T, T>, Double>> compute(Graph<T> graph, Executor executor,
+                                                                          Duration timeout) {
+        Graph<T> snapshot = AlgorithmTask.isolate(graph);
+        return AlgorithmTask.submit(executor, timeout, task -> doCompute(snapshot, task));
+    }
+
+    private static <T> Map<Entry<T, T>, Double> doCompute(Graph<T> graph, AlgorithmTask task) {
+        IndexedGraph<T> indexedGraph = IndexedGraph.of(graph);
+        FrozenIntGraph intGraph = FrozenIntGraph.copyOf(indexedGraph.getIntGraph());
+        double[] scores = accumulate(intGraph, new boolean[intGraph.getEdgesNumber()], allNodes(intGraph), task);
+        int[] offsets = intGraph.getOffsets();
+        int[] targets = intGraph.getTargets();
+        Map<Entry<T, T>, Double> betweennessMap = new HashMap<>();
+        for (int from = 0; from < intGraph.getNodeIdBound(); from++) {
+            for (int e = offsets[from]; e < offsets[from + 1]; e++) {
+                betweennessMap.put(new AbstractMap.SimpleImmutableEntry<>(
+                        indexedGraph.nodeAt(from), indexedGraph.nodeAt(targets[e])), scores[e]);
+            }
+        }
+        return betweennessMap;
+    }
+
+    static int[] allNodes(FrozenIntGraph graph) {
+        int[] nodes = new int[graph.getNodesNumber()];
+        int count = 0;
+        for (int i = 0; i < graph.getNodeIdBound(); i++) {
+            if (graph.hasNode(i))
+                nodes[count++] = i;
+        }
+        return nodes;
+    }
+
+    /**
+     * Sums the dependencies of the specified sources on every edge.
+     *
+     * @param graph the graph
+     * @param removedEdges the edges to ignore, indexed by position in the targets array
+     * @param sources the sources
+     * @param task the task to check for cancellation, whose pool runs the sources
+     * @return the betweenness of each edge, indexed by position in the targets array
+     */
+    static double[] accumulate(FrozenIntGraph graph, boolean[] removedEdges, int[] sources, AlgorithmTask task) {
+        Queue<Workspace> workspaces = new ConcurrentLinkedQueue<>();
+        task.getPool().invoke(new SourcesTask(graph, removedEdges, sources, 0, sources.length, workspaces, task));
+        double[] scores = new double[graph.getEdgesNumber()];
+        for (Workspace workspace : workspaces) {
+            for (int e = 0; e < scores.length; e++) {
+                scores[e] += workspace.scores[e];
+            }
+        }
+        return scores;
+    }
+
+    private static class SourcesTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FrozenIntGraph graph;
+        private final boolean[] removedEdges;
+        private final int[] sources;
+        private final int from;
+        private final int to;
+        private final Queue<Workspace> workspaces;
+        private final AlgorithmTask task;
+
+        SourcesTask(FrozenIntGraph graph, boolean[] removedEdges, int[] sources, int from, int to,
+                    Queue<Workspace> workspaces, AlgorithmTask task) {
+            this.graph = graph;
+            this.removedEdges = removedEdges;
+            this.sources = sources;
+            this.from = from;
+            this.to = to;
+            this.workspaces = workspaces;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SOURCES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SourcesTask(graph, removedEdges, sources, from, middle, workspaces, task),
+                        new SourcesTask(graph, removedEdges, sources, middle, to, workspaces, task));
+                return;
+            }
+            Workspace workspace = workspaces.poll();
+            if (workspace == null) {
+                workspace = new Workspace(graph);
+            }
+            for (int i = from; i < to; i++) {
+                task.checkpoint();
+                workspace.accumulate(graph, removedEdges, sources[i]);
+            }
+            workspaces.add(workspace);
+        }
+    }
+
+    /**
+     * Scratch arrays and the accumulator of one worker, reused for all sources it processes.
+     */
+    private static class Workspace {
+        private final int[] distance;
+        private final double[] sigma;
+        private final double[] delta;
+        private final int[] order;
+        private final double[] scores;
+
+        Workspace(FrozenIntGraph graph) {
+            int bound = graph.getNodeIdBound();
+            this.distance = new int[bound];
+            this.sigma = new double[bound];
+            this.delta = new double[bound];
+            this.order = new int[bound];
+            this.scores = new double[graph.getEdgesNumber()];
+            Arrays.fill(distance, -1);
+        }
+
+        void accumulate(FrozenIntGraph graph, boolean[] removedEdges, int source) {
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+            int head = 0;
+            int tail = 0;
+            order[tail++] = source;
+            distance[source] = 0;
+            sigma[source] = 1;
+            while (head < tail) {
+                int v = order[head++];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    if (removedEdges[e])
+                        continue;
+                    int w = targets[e];
+                    if (distance[w] < 0) {
+                        distance[w] = distance[v] + 1;
+                        order[tail++] = w;
+                    }
+                    if (distance[w] == distance[v] + 1) {
+                        sigma[w] += sigma[v];
+                    }
+                }
+            }
+            for (int i = tail - 1; i >= 0; i--) {
+                int v = order[i];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int w = targets[e];
+                    if (!removedEdges[e] && distance[w] == distance[v] + 1) {
+                        double dependency = sigma[v] / sigma[w] * (1 + delta[w]);
+                        scores[e] += dependency;
+                        delta[v] += dependency;
+                    }
+                }
+            }
+            for (int i = 0; i < tail; i++) {
+                int v = order[i];
+                distance[v] = -1;
+                sigma[v] = 0;
+                delta[v] = 0;
+            }
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.anarsultanov.graphminilibrary.algorithms;
 
 import com.anarsultanov.graphminilibrary.graph.BasicGraph;
+import com.anarsultanov.graphminilibrary.graph.CsrGraph;
 import com.anarsultanov.graphminilibrary.graph.Graph;
 
-import java.util.Set;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * An algorithm which computes the EgoNet of the specified node.
@@ -19,23 +22,68 @@ public class Egonet {
      * @return CompletableFuture with the result
      */
     public static <T> CompletableFuture<Graph<T>> compute(Graph<T> graph, T center) {
-        if (!graph.hasNode(center)) {
+        return compute(graph, center, AlgorithmTask.DEFAULT_EXECUTOR, null);
+    }
+
+    /**
+     * Apply the algorithm to the graph on the executor and get the result,
+     * cancelling the returned future stops the computation
+     * @param graph the graph to which to apply the algorithm
+     * @param center the node
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<Graph<T>> compute(Graph<T> graph, T center, Executor executor, Duration timeout) {
+        Graph<T> snapshot = AlgorithmTask.isolate(graph);
+        if (!snapshot.hasNode(center)) {
             throw new IllegalArgumentException("There is no specified node in the graph");
         }
-        return CompletableFuture.supplyAsync(() -> doCompute(graph, center));
+        return AlgorithmTask.submit(executor, timeout, task -> doCompute(snapshot, center, task));
     }
 
-    private static <T> Graph<T> doCompute(Graph<T> graph, T center) {
+    /**
+     * Apply the algorithm to the graph and get the result, which is computed again only if the graph has changed
+     * @param graph the graph to which to apply the algorithm
+     * @param center the node
+     * @param cache the cache of results
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result, an immutable graph
+     */
+    public static <T> CompletableFuture<Graph<T>> compute(Graph<T> graph, T center, ResultCache cache) {
+        return compute(graph, center, AlgorithmTask.DEFAULT_EXECUTOR, null, cache);
+    }
+
+    /**
+     * Apply the algorithm to the graph on the executor and get the result, which is computed again
+     * only if the graph has changed
+     * @param graph the graph to which to apply the algorithm
+     * @param center the node
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the returned future times out, or null for no deadline
+     * @param cache the cache of results
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result, an immutable graph
+     */
+    public static <T> CompletableFuture<Graph<T>> compute(Graph<T> graph, T center, Executor executor,
+                                                          Duration timeout, ResultCache cache) {
+        return cache.get(graph, "Egonet", Collections.singletonList(center), timeout,
+                deadline -> compute(graph, center, executor, deadline).thenApply(CsrGraph::new));
+    }
+
+    private static <T> Graph<T> doCompute(Graph<T> graph, T center, AlgorithmTask task) {
         Graph<T> egonet = new BasicGraph<>();
         egonet.addNode(center);
-        Set<T> neighbors = graph.outEdges(center);
-        neighbors.forEach(egonet::addNode);
-
-        egonet.getAdjacencyListMap().keySet()
-                .forEach(k -> graph.getAdjacencyListMap().get(k).forEach(v -> {
-                    if (egonet.hasNode(v))
-                        egonet.addEdge(k, v);
-                }));
+        graph.forEachOutNeighbor(center, egonet::addNode);
+
+        egonet.forEachNode(k -> {
+            task.checkpoint();
+            graph.forEachOutNeighbor(k, v -> {
+                if (egonet.hasNode(v))
+                    egonet.addEdge(k, v);
+            });
+        });
         return egonet;
     }
 }
@@ -0,0 +1,102 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int ids keyed by doubles, which knows the position of every id,
+ * so the key of a queued id is decreased in place instead of queueing a duplicate.
+ */
+final class IndexedDoubleHeap {
+
+    private final int[] heap;
+    private final int[] positions;
+    private final double[] keys;
+    private int size;
+
+    /**
+     * Instantiates a new heap.
+     *
+     * @param idBound the upper bound of ids, all ids are less than it
+     */
+    IndexedDoubleHeap(int idBound) {
+        this.heap = new int[idBound];
+        this.positions = new int[idBound];
+        this.keys = new double[idBound];
+        Arrays.fill(positions, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Queues the id or decreases its key, a larger key than the queued one is ignored.
+     *
+     * @param id the id
+     * @param key the key
+     */
+    void offer(int id, double key) {
+        int position = positions[id];
+        if (position < 0) {
+            position = size++;
+            heap[position] = id;
+            positions[id] = position;
+        } else if (key >= keys[id]) {
+            return;
+        }
+        keys[id] = key;
+        siftUp(position);
+    }
+
+    /**
+     * Removes the id with the smallest key.
+     *
+     * @return the id
+     */
+    int poll() {
+        int id = heap[0];
+        positions[id] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return id;
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        double key = keys[id];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key)
+                break;
+            heap[position] = parentId;
+            positions[parentId] = position;
+            position = parent;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        double key = keys[id];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]])
+                child++;
+            int childId = heap[child];
+            if (key <= keys[childId])
+                break;
+            heap[position] = childId;
+            positions[childId] = position;
+            position = child;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+}
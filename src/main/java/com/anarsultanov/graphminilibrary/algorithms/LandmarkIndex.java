@@ -0,0 +1,556 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.IndexedGraph;
+import com.anarsultanov.graphminilibrary.graph.IntGraph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed index of hop distances from and to a few landmark nodes (ALT), which answers
+ * repeated point-to-point queries on a graph that does not change.
+ * <p>
+ * By the triangle inequality {@code d(s, t) >= d(L, t) - d(L, s)} and {@code d(s, t) >= d(s, L) - d(t, L)}
+ * for every landmark {@code L}, and {@code d(s, t) <= d(s, L) + d(L, t)}. The bounds take O(landmarks) time,
+ * when they meet the distance is known without a search, and a negative lower bound proves there is no path.
+ * Otherwise a bidirectional BFS looks for a path shorter than the upper bound only, so it stops when its levels
+ * add up to the upper bound and the largest last level is rarely expanded. If it finds nothing, the path
+ * through the best landmark is followed along the landmark distances. Checking the lower bound of every
+ * reached node, or A* with it as the heuristic, was several times slower, since the bounds are loose
+ * on small-world graphs while the bidirectional search touches few nodes there. Landmarks are picked one by one
+ * as the node farthest from those already picked, each is searched forward and backward by
+ * {@link BreadthFirstSearch} with large levels expanded in parallel.
+ * <p>
+ * The index takes {@code 8 * landmarks} bytes per node and refers to nodes by the ids of the indexed graph,
+ * so a saved index must be loaded with a graph which has the same ids, such as a CSR graph saved with
+ * {@code GraphLoader.saveBinaryGraph} or a mapped graph. Queries are thread-safe, each thread keeps
+ * its own search state proportional to the graph.
+ */
+public class LandmarkIndex<T> {
+
+    static final int MAGIC = 0x474D4C4C;
+    static final short VERSION = 1;
+
+    private final IndexedGraph<T> graph;
+    private final IntGraph transposed;
+    private final int[] landmarks;
+    private final int[] distancesFrom;
+    private final int[] distancesTo;
+    private final ThreadLocal<Search> searches;
+
+    private LandmarkIndex(IndexedGraph<T> graph, IntGraph transposed, int[] landmarks,
+                          int[] distancesFrom, int[] distancesTo) {
+        this.graph = graph;
+        this.transposed = transposed;
+        this.landmarks = landmarks;
+        this.distancesFrom = distancesFrom;
+        this.distancesTo = distancesTo;
+        int bound = graph.getIntGraph().getNodeIdBound();
+        this.searches = ThreadLocal.withInitial(() -> new Search(bound));
+    }
+
+    /**
+     * Build the index of the graph
+     * @param graph the graph to index
+     * @param landmarks the number of landmarks, more give tighter bounds at the cost of memory and build time
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the index
+     */
+    public static <T> CompletableFuture<LandmarkIndex<T>> build(Graph<T> graph, int landmarks) {
+        return build(graph, landmarks, AlgorithmTask.DEFAULT_EXECUTOR, null);
+    }
+
+    /**
+     * Build the index of the graph on the executor, cancelling the returned future stops the computation.
+     * Large levels of the searches are expanded on the executor if it is a ForkJoinPool, otherwise on the common pool
+     * @param graph the graph to index
+     * @param landmarks the number of landmarks
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the index
+     */
+    public static <T> CompletableFuture<LandmarkIndex<T>> build(Graph<T> graph, int landmarks,
+                                                                Executor executor, Duration timeout) {
+        if (landmarks < 1) {
+            throw new IllegalArgumentException("The number of landmarks must be positive");
+        }
+        Graph<T> snapshot = AlgorithmTask.isolate(graph);
+        return AlgorithmTask.submit(executor, timeout, task -> doBuild(IndexedGraph.of(snapshot), landmarks, task));
+    }
+
+    private static <T> LandmarkIndex<T> doBuild(IndexedGraph<T> graph, int count, AlgorithmTask task) {
+        IntGraph intGraph = graph.getIntGraph();
+        IntGraph transposed = intGraph.transpose();
+        int bound = intGraph.getNodeIdBound();
+        int k = Math.min(count, intGraph.getNodesNumber());
+        if ((long) bound * k > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many landmarks for a graph of " + bound + " nodes");
+        }
+        int[] landmarks = new int[k];
+        int[] distancesFrom = new int[bound * k];
+        int[] distancesTo = new int[bound * k];
+        int[] nearest = new int[bound];
+        boolean bottomUp = graph.isInEdgesIndexed();
+        Arrays.fill(nearest, Integer.MAX_VALUE);
+        int next = maxDegreeNode(intGraph, transposed);
+        for (int i = 0; i < k; i++) {
+            landmarks[i] = next;
+            int[] from = distances(intGraph, next, bottomUp, task);
+            int[] to = distances(transposed, next, bottomUp, task);
+            int landmark = i;
+            IntStream.range(0, bound).parallel().forEach(v -> {
+                distancesFrom[v * k + landmark] = from[v];
+                distancesTo[v * k + landmark] = to[v];
+                if (from[v] >= 0)
+                    nearest[v] = Math.min(nearest[v], from[v]);
+                if (to[v] >= 0)
+                    nearest[v] = Math.min(nearest[v], to[v]);
+            });
+            next = farthestNode(intGraph, nearest);
+        }
+        return new LandmarkIndex<>(graph, transposed, landmarks, distancesFrom, distancesTo);
+    }
+
+    private static int[] distances(IntGraph graph, int source, boolean bottomUp, AlgorithmTask task) {
+        BreadthFirstSearch search = new BreadthFirstSearch(graph, bottomUp, task.getPool(), task);
+        search.search(source);
+        return search.getDistances();
+    }
+
+    private static int maxDegreeNode(IntGraph graph, IntGraph transposed) {
+        int best = -1;
+        for (int v = 0; v < graph.getNodeIdBound(); v++) {
+            if (graph.hasNode(v) && (best < 0
+                    || graph.outDegree(v) + transposed.outDegree(v) > graph.outDegree(best) + transposed.outDegree(best)))
+                best = v;
+        }
+        return best;
+    }
+
+    /**
+     * Picks the node farthest from all landmarks in either direction, nodes not connected to any come first.
+     */
+    private static int farthestNode(IntGraph graph, int[] nearest) {
+        int best = -1;
+        for (int v = 0; v < graph.getNodeIdBound(); v++) {
+            if (graph.hasNode(v) && (best < 0 || nearest[v] > nearest[best]))
+                best = v;
+        }
+        return best;
+    }
+
+    /**
+     * Get the indexed graph
+     * @return the graph the index refers to
+     */
+    public IndexedGraph<T> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Get the landmarks
+     * @return the landmark nodes in the order they were picked
+     */
+    public List<T> getLandmarks() {
+        Object[] nodes = new Object[landmarks.length];
+        for (int i = 0; i < landmarks.length; i++) {
+            nodes[i] = graph.nodeAt(landmarks[i]);
+        }
+        @SuppressWarnings("unchecked")
+        List<T> result = (List<T>) Collections.unmodifiableList(Arrays.asList(nodes));
+        return result;
+    }
+
+    /**
+     * Get the lower bound of the distance, in O(landmarks) time
+     * @param from the starting node
+     * @param to the end point
+     * @return the lower bound, or -1 if the landmarks prove that the end point is not reachable
+     */
+    public int getLowerBound(T from, T to) {
+        return lowerBound(idOf(from), idOf(to));
+    }
+
+    /**
+     * Get the upper bound of the distance, the length of the shortest path through a landmark, in O(landmarks) time
+     * @param from the starting node
+     * @param to the end point
+     * @return the upper bound, or Integer.MAX_VALUE if no landmark lies on a path between the nodes
+     */
+    public int getUpperBound(T from, T to) {
+        return upperBound(idOf(from), idOf(to));
+    }
+
+    /**
+     * Get the number of edges on the shortest path, without a search if the bounds meet
+     * @param from the starting node
+     * @param to the end point
+     * @return the distance, or -1 if the end point is not reachable
+     */
+    public int getDistance(T from, T to) {
+        int source = idOf(from);
+        int target = idOf(to);
+        int lower = lowerBound(source, target);
+        int upper = upperBound(source, target);
+        if (lower < 0 || lower == upper)
+            return lower;
+        Search search = searches.get();
+        int meeting = search.run(source, target, upper, AlgorithmTask.UNCANCELLABLE);
+        if (meeting >= 0)
+            return search.path(meeting).length - 1;
+        return upper == Integer.MAX_VALUE ? -1 : upper;
+    }
+
+    /**
+     * Get the shortest path
+     * @param from the starting node
+     * @param to the end point
+     * @return the path from the starting node to the end point, or empty list if it is not reachable
+     */
+    public List<T> getPath(T from, T to) {
+        return path(idOf(from), idOf(to), AlgorithmTask.UNCANCELLABLE);
+    }
+
+    List<T> path(int source, int target, AlgorithmTask task) {
+        int lower = lowerBound(source, target);
+        int upper = upperBound(source, target);
+        int[] path;
+        if (lower < 0) {
+            return Collections.emptyList();
+        } else if (source == target) {
+            path = new int[]{source};
+        } else if (lower == upper) {
+            path = landmarkPath(source, target, upper);
+        } else {
+            Search search = searches.get();
+            int meeting = search.run(source, target, upper, task);
+            if (meeting >= 0) {
+                path = search.path(meeting);
+            } else if (upper < Integer.MAX_VALUE) {
+                path = landmarkPath(source, target, upper);
+            } else {
+                return Collections.emptyList();
+            }
+        }
+        List<T> nodes = new ArrayList<>(path.length);
+        for (int id : path) {
+            nodes.add(graph.nodeAt(id));
+        }
+        return nodes;
+    }
+
+    int idOf(T node) {
+        int id = graph.indexOf(node);
+        if (id < 0) {
+            throw new IllegalArgumentException("Node " + node + " does not exist");
+        }
+        return id;
+    }
+
+    private int lowerBound(int source, int target) {
+        int k = landmarks.length;
+        int s = source * k;
+        int t = target * k;
+        int bound = 0;
+        for (int i = 0; i < k; i++) {
+            int fromLandmarkToSource = distancesFrom[s + i];
+            if (fromLandmarkToSource >= 0) {
+                int fromLandmarkToTarget = distancesFrom[t + i];
+                if (fromLandmarkToTarget < 0)
+                    return -1;
+                bound = Math.max(bound, fromLandmarkToTarget - fromLandmarkToSource);
+            }
+            int fromTargetToLandmark = distancesTo[t + i];
+            if (fromTargetToLandmark >= 0) {
+                int fromSourceToLandmark = distancesTo[s + i];
+                if (fromSourceToLandmark < 0)
+                    return -1;
+                bound = Math.max(bound, fromSourceToLandmark - fromTargetToLandmark);
+            }
+        }
+        return bound;
+    }
+
+    private int upperBound(int source, int target) {
+        int k = landmarks.length;
+        int bound = source == target ? 0 : Integer.MAX_VALUE;
+        for (int i = 0; i < k; i++) {
+            int toLandmark = distancesTo[source * k + i];
+            int fromLandmark = distancesFrom[target * k + i];
+            if (toLandmark >= 0 && fromLandmark >= 0)
+                bound = Math.min(bound, toLandmark + fromLandmark);
+        }
+        return bound;
+    }
+
+    /**
+     * Follows the landmark whose distances add up to the length: out edges which get closer to the landmark
+     * from the source, then in edges which get closer to it from the target.
+     */
+    private int[] landmarkPath(int source, int target, int length) {
+        IntGraph intGraph = graph.getIntGraph();
+        int k = landmarks.length;
+        int i = 0;
+        while (distancesTo[source * k + i] < 0 || distancesFrom[target * k + i] < 0
+                || distancesTo[source * k + i] + distancesFrom[target * k + i] != length) {
+            i++;
+        }
+        int[] path = new int[length + 1];
+        int position = 0;
+        path[position] = source;
+        for (int current = source; distancesTo[current * k + i] > 0; path[++position] = current) {
+            current = closerNeighbor(intGraph, distancesTo, current, i);
+        }
+        position = length;
+        path[position] = target;
+        for (int current = target; distancesFrom[current * k + i] > 0; path[--position] = current) {
+            current = closerNeighbor(transposed, distancesFrom, current, i);
+        }
+        return path;
+    }
+
+    private int closerNeighbor(IntGraph graph, int[] distances, int node, int landmark) {
+        int k = landmarks.length;
+        int closer = distances[node * k + landmark] - 1;
+        int degree = graph.outDegree(node);
+        for (int j = 0; j < degree; j++) {
+            int neighbor = graph.outNeighbor(node, j);
+            if (distances[neighbor * k + landmark] == closer)
+                return neighbor;
+        }
+        throw new IllegalStateException("The landmark distances do not match the graph");
+    }
+
+    /**
+     * Bidirectional BFS state of one thread, entries are valid for the current stamp only
+     * so nothing is cleared between queries.
+     */
+    private final class Search {
+        private final int[] forwardMarks;
+        private final int[] backwardMarks;
+        private final int[] forwardParents;
+        private final int[] backwardParents;
+        private int[] forwardFrontier = new int[16];
+        private int[] backwardFrontier = new int[16];
+        private int[] next = new int[16];
+        private int stamp;
+
+        Search(int bound) {
+            this.forwardMarks = new int[bound];
+            this.backwardMarks = new int[bound];
+            this.forwardParents = new int[bound];
+            this.backwardParents = new int[bound];
+        }
+
+        /**
+         * Searches for a path shorter than the upper bound. Since no node was reached from both sides
+         * before a level, any node reached from both sides during it lies on a shortest path.
+         *
+         * @return the node where the searches met, or -1 if there is no path shorter than the upper bound
+         */
+        int run(int source, int target, int upper, AlgorithmTask task) {
+            if (++stamp == 0) {
+                Arrays.fill(forwardMarks, 0);
+                Arrays.fill(backwardMarks, 0);
+                stamp = 1;
+            }
+            forwardMarks[source] = stamp;
+            forwardParents[source] = -1;
+            backwardMarks[target] = stamp;
+            backwardParents[target] = -1;
+            forwardFrontier[0] = source;
+            backwardFrontier[0] = target;
+            int forwardSize = 1;
+            int backwardSize = 1;
+            int forwardDepth = 0;
+            int backwardDepth = 0;
+            while (forwardSize > 0 && backwardSize > 0 && forwardDepth + backwardDepth + 1 < upper) {
+                task.checkpoint();
+                boolean forward = forwardSize <= backwardSize;
+                IntGraph expanded = forward ? graph.getIntGraph() : transposed;
+                int[] frontier = forward ? forwardFrontier : backwardFrontier;
+                int[] marks = forward ? forwardMarks : backwardMarks;
+                int[] opposite = forward ? backwardMarks : forwardMarks;
+                int[] parents = forward ? forwardParents : backwardParents;
+                if (forward) {
+                    forwardDepth++;
+                } else {
+                    backwardDepth++;
+                }
+                int size = 0;
+                for (int f = 0, frontierSize = forward ? forwardSize : backwardSize; f < frontierSize; f++) {
+                    int v = frontier[f];
+                    int degree = expanded.outDegree(v);
+                    for (int i = 0; i < degree; i++) {
+                        int n = expanded.outNeighbor(v, i);
+                        if (marks[n] == stamp)
+                            continue;
+                        marks[n] = stamp;
+                        parents[n] = v;
+                        if (opposite[n] == stamp)
+                            return n;
+                        if (size == next.length)
+                            next = Arrays.copyOf(next, size * 2);
+                        next[size++] = n;
+                    }
+                }
+                int[] expandedFrontier = next;
+                next = frontier;
+                if (forward) {
+                    forwardFrontier = expandedFrontier;
+                    forwardSize = size;
+                } else {
+                    backwardFrontier = expandedFrontier;
+                    backwardSize = size;
+                }
+            }
+            return -1;
+        }
+
+        int[] path(int meeting) {
+            int forwardLength = 0;
+            for (int v = forwardParents[meeting]; v >= 0; v = forwardParents[v]) {
+                forwardLength++;
+            }
+            int length = forwardLength;
+            for (int v = backwardParents[meeting]; v >= 0; v = backwardParents[v]) {
+                length++;
+            }
+            int[] path = new int[length + 1];
+            int position = forwardLength;
+            for (int v = meeting; v >= 0; v = forwardParents[v]) {
+                path[position--] = v;
+            }
+            position = forwardLength;
+            for (int v = backwardParents[meeting]; v >= 0; v = backwardParents[v]) {
+                path[++position] = v;
+            }
+            return path;
+        }
+    }
+
+    /**
+     * Saves the index, together with a fingerprint of the graph to check it is loaded with the same graph.
+     * <p>
+     * The file is big-endian: magic {@code GMLL}, version (short), reserved short, node id bound (int),
+     * number of landmarks (int), fingerprint (long), the landmark ids, then for each node the distances
+     * from each landmark and the distances to each landmark as ints, -1 for unreachable.
+     *
+     * @param file the file
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public void save(Path file) {
+        IntGraph intGraph = graph.getIntGraph();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeShort(0);
+            out.writeInt(intGraph.getNodeIdBound());
+            out.writeInt(landmarks.length);
+            out.writeLong(fingerprint(intGraph));
+            for (int landmark : landmarks) {
+                out.writeInt(landmark);
+            }
+            for (int distance : distancesFrom) {
+                out.writeInt(distance);
+            }
+            for (int distance : distancesTo) {
+                out.writeInt(distance);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save the landmark index to " + file, e);
+        }
+    }
+
+    /**
+     * Loads the index saved by {@link #save(Path)}.
+     *
+     * @param file the file
+     * @param graph the graph the index was built for, with the same node ids
+     * @param <T> the graph nodes type
+     * @return the index
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalStateException if the file is not a landmark index or was built for another graph
+     */
+    public static <T> LandmarkIndex<T> load(Path file, Graph<T> graph) {
+        IndexedGraph<T> indexedGraph = IndexedGraph.of(graph);
+        IntGraph intGraph = indexedGraph.getIntGraph();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalStateException("Not a landmark index file: " + file);
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported landmark index file version " + version);
+            }
+            in.readShort();
+            int bound = in.readInt();
+            int k = in.readInt();
+            long fingerprint = in.readLong();
+            if (bound != intGraph.getNodeIdBound() || fingerprint != fingerprint(intGraph)) {
+                throw new IllegalStateException("The landmark index in " + file + " was built for another graph");
+            }
+            if (k < 0 || (long) bound * k > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Corrupted landmark index file: " + file);
+            }
+            int[] landmarks = readInts(in, k);
+            int[] distancesFrom = readInts(in, bound * k);
+            int[] distancesTo = readInts(in, bound * k);
+            if (in.read() >= 0) {
+                throw new IllegalStateException("Corrupted landmark index file: " + file);
+            }
+            return new LandmarkIndex<>(indexedGraph, intGraph.transpose(), landmarks, distancesFrom, distancesTo);
+        } catch (EOFException e) {
+            throw new IllegalStateException("Corrupted landmark index file: " + file, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load the landmark index from " + file, e);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in, int count) throws IOException {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    /**
+     * Order-independent hash of the nodes and edges.
+     */
+    private static long fingerprint(IntGraph graph) {
+        int bound = graph.getNodeIdBound();
+        return IntStream.range(0, bound).parallel().filter(graph::hasNode).mapToLong(v -> {
+            long hash = mix(v);
+            int degree = graph.outDegree(v);
+            for (int i = 0; i < degree; i++) {
+                hash += mix((long) v * bound + graph.outNeighbor(v, i) + 1);
+            }
+            return hash;
+        }).sum();
+    }
+
+    private static long mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        return h ^ (h >>> 32);
+    }
+}
@@ -0,0 +1,259 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.graph.IntGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Forward-Backward-Trim decomposition into strongly connected components.
+ * <p>
+ * Every node carries the label of the subproblem it belongs to. A subproblem first peels nodes
+ * without in or out edges inside it, then claims the nodes reachable from a pivot forward and
+ * backward by compare-and-set on their labels. The intersection is a component and the three
+ * remainders are forked as independent tasks without waiting for them, so the stack does not grow
+ * with the number of components peeled off one after another. Large frontiers are expanded in parallel.
+ */
+final class ParallelStronglyConnectedComponents {
+
+    private static final int PARALLEL_THRESHOLD = 4096;
+    private static final int CHUNK = 1024;
+    private static final int ASSIGNED = -1;
+
+    private final IntGraph graph;
+    private final IntGraph transposed;
+    private final int[] componentIds;
+    private final AtomicIntegerArray partition;
+    private final int[] inDegrees;
+    private final int[] outDegrees;
+    private final AtomicInteger labels = new AtomicInteger();
+    private final AtomicInteger components = new AtomicInteger();
+    private final AlgorithmTask task;
+
+    private ParallelStronglyConnectedComponents(IntGraph graph, int[] componentIds, AlgorithmTask task) {
+        this.graph = graph;
+        this.task = task;
+        this.transposed = graph.transpose();
+        this.componentIds = componentIds;
+        int bound = graph.getNodeIdBound();
+        this.partition = new AtomicIntegerArray(bound);
+        this.inDegrees = new int[bound];
+        this.outDegrees = new int[bound];
+    }
+
+    /**
+     * Labels each node with its component.
+     *
+     * @param graph the graph
+     * @param componentIds the array to fill, -1 is left for ids which are not nodes
+     * @param parallelism the number of worker threads
+     * @param task the task to check for cancellation
+     * @return the number of components
+     */
+    static int compute(IntGraph graph, int[] componentIds, int parallelism, AlgorithmTask task) {
+        ParallelStronglyConnectedComponents decomposition = new ParallelStronglyConnectedComponents(graph, componentIds, task);
+        Arrays.fill(componentIds, -1);
+        int label = decomposition.labels.getAndIncrement();
+        int[] nodes = IntStream.range(0, graph.getNodeIdBound()).filter(graph::hasNode).toArray();
+        for (int v = 0; v < graph.getNodeIdBound(); v++) {
+            decomposition.partition.set(v, graph.hasNode(v) ? label : ASSIGNED);
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(decomposition.new Subproblem(null, label, nodes));
+        } finally {
+            pool.shutdown();
+        }
+        return decomposition.components.get();
+    }
+
+    /**
+     * Completes once its remainders have completed, so waiting for the root waits for the whole decomposition.
+     */
+    private class Subproblem extends CountedCompleter<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final int label;
+        private int[] members;
+
+        Subproblem(Subproblem parent, int label, int[] members) {
+            super(parent);
+            this.label = label;
+            this.members = members;
+        }
+
+        @Override
+        public void compute() {
+            task.checkpoint();
+            // the remainders keep this task as their completer, the members are dropped to not keep them all
+            int[] remaining = trim(label, members);
+            members = null;
+            if (remaining.length == 0) {
+                tryComplete();
+                return;
+            }
+            int pivot = pivot(remaining);
+            int forwardLabel = labels.getAndIncrement();
+            int backwardLabel = labels.getAndIncrement();
+            int componentLabel = labels.getAndIncrement();
+            reach(graph, pivot, w -> partition.compareAndSet(w, label, forwardLabel));
+            reach(transposed, pivot, w -> partition.compareAndSet(w, forwardLabel, componentLabel)
+                    || partition.compareAndSet(w, label, backwardLabel));
+
+            int component = components.getAndIncrement();
+            int[] forward = new int[remaining.length];
+            int[] backward = new int[remaining.length];
+            int[] rest = new int[remaining.length];
+            int forwardSize = 0;
+            int backwardSize = 0;
+            int restSize = 0;
+            for (int v : remaining) {
+                int p = partition.get(v);
+                if (p == componentLabel) {
+                    componentIds[v] = component;
+                    partition.set(v, ASSIGNED);
+                } else if (p == forwardLabel) {
+                    forward[forwardSize++] = v;
+                } else if (p == backwardLabel) {
+                    backward[backwardSize++] = v;
+                } else {
+                    rest[restSize++] = v;
+                }
+            }
+            fork(forwardLabel, forward, forwardSize);
+            fork(backwardLabel, backward, backwardSize);
+            fork(label, rest, restSize);
+            tryComplete();
+        }
+
+        private void fork(int label, int[] nodes, int size) {
+            if (size == 0)
+                return;
+            addToPendingCount(1);
+            new Subproblem(this, label, Arrays.copyOf(nodes, size)).fork();
+        }
+    }
+
+    /**
+     * Peels nodes without in or out edges inside the subproblem, each is a component by itself.
+     *
+     * @return the nodes left in the subproblem
+     */
+    private int[] trim(int label, int[] members) {
+        IntStream stream = IntStream.of(members);
+        if (members.length >= PARALLEL_THRESHOLD) {
+            stream = stream.parallel();
+        }
+        stream.forEach(v -> {
+            inDegrees[v] = degreeWithin(transposed, v, label);
+            outDegrees[v] = degreeWithin(graph, v, label);
+        });
+        int[] queue = new int[members.length];
+        int tail = 0;
+        for (int v : members) {
+            if (inDegrees[v] == 0 || outDegrees[v] == 0)
+                queue[tail++] = v;
+        }
+        for (int head = 0; head < tail; head++) {
+            int v = queue[head];
+            if (partition.get(v) != label)
+                continue;
+            partition.set(v, ASSIGNED);
+            componentIds[v] = components.getAndIncrement();
+            int degree = graph.outDegree(v);
+            for (int i = 0; i < degree; i++) {
+                int w = graph.outNeighbor(v, i);
+                if (partition.get(w) == label && --inDegrees[w] == 0 && outDegrees[w] > 0)
+                    queue[tail++] = w;
+            }
+            degree = transposed.outDegree(v);
+            for (int i = 0; i < degree; i++) {
+                int u = transposed.outNeighbor(v, i);
+                if (partition.get(u) == label && --outDegrees[u] == 0 && inDegrees[u] > 0)
+                    queue[tail++] = u;
+            }
+        }
+        if (tail == 0)
+            return members;
+        return IntStream.of(members).filter(v -> partition.get(v) == label).toArray();
+    }
+
+    private int degreeWithin(IntGraph g, int v, int label) {
+        int degree = g.outDegree(v);
+        int count = 0;
+        for (int i = 0; i < degree; i++) {
+            if (partition.get(g.outNeighbor(v, i)) == label)
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Picks the node with the largest product of degrees, which likely lies in a large component.
+     */
+    private int pivot(int[] nodes) {
+        int pivot = nodes[0];
+        long best = -1;
+        for (int v : nodes) {
+            long score = (long) inDegrees[v] * outDegrees[v];
+            if (score > best) {
+                best = score;
+                pivot = v;
+            }
+        }
+        return pivot;
+    }
+
+    /**
+     * Level-synchronous BFS visiting the nodes for which the claim succeeds.
+     */
+    private void reach(IntGraph g, int start, IntPredicate claim) {
+        if (!claim.test(start))
+            return;
+        int[] frontier = {start};
+        while (frontier.length > 0) {
+            task.checkpoint();
+            if (frontier.length < PARALLEL_THRESHOLD) {
+                frontier = expand(g, frontier, 0, frontier.length, claim);
+                continue;
+            }
+            int[] current = frontier;
+            int[][] parts = new int[(current.length + CHUNK - 1) / CHUNK][];
+            IntStream.range(0, parts.length).parallel().forEach(c -> parts[c] =
+                    expand(g, current, c * CHUNK, Math.min(current.length, (c + 1) * CHUNK), claim));
+            int size = 0;
+            for (int[] part : parts) {
+                size += part.length;
+            }
+            frontier = new int[size];
+            size = 0;
+            for (int[] part : parts) {
+                System.arraycopy(part, 0, frontier, size, part.length);
+                size += part.length;
+            }
+        }
+    }
+
+    private static int[] expand(IntGraph g, int[] frontier, int from, int to, IntPredicate claim) {
+        int[] next = new int[Math.max(16, to - from)];
+        int size = 0;
+        for (int j = from; j < to; j++) {
+            int v = frontier[j];
+            int degree = g.outDegree(v);
+            for (int i = 0; i < degree; i++) {
+                int w = g.outNeighbor(v, i);
+                if (claim.test(w)) {
+                    if (size == next.length)
+                        next = Arrays.copyOf(next, size * 2);
+                    next[size++] = w;
+                }
+            }
+        }
+        return Arrays.copyOf(next, size);
+    }
+}
@@ -0,0 +1,189 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.graph.Graph;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of algorithm results, passed to the algorithms which accept it.
+ * <p>
+ * Entries are keyed by the graph instance, the algorithm and its arguments, and remember the
+ * {@link Graph#getModificationCount() modification count} of the graph they were computed for,
+ * so once the graph changes the entry misses and is replaced. The least recently used entry is
+ * evicted when the cache is full. Results of graphs which do not count modifications are not cached.
+ * <p>
+ * Concurrent requests for the same result share one computation, which runs on the executor of the request
+ * that started it and without a deadline, and failed computations are not kept. Every request gets its own
+ * future with its own timeout, so cancelling it or letting it time out neither stops the shared computation
+ * nor affects the other requests. The algorithms return immutable results through the cache, since the results
+ * are shared by all callers. Entries keep their graphs reachable until they are evicted or the cache is cleared.
+ */
+public class ResultCache {
+
+    private final int maxEntries;
+    private final Map<Key, Entry> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Instantiates a new cache.
+     *
+     * @param maxEntries the maximum number of results to keep
+     */
+    public ResultCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("The maximum number of entries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > ResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Gets the result computed for the same graph, algorithm and arguments if the graph has not changed since,
+     * otherwise starts the computation and caches its result.
+     *
+     * @param graph the graph
+     * @param algorithm the algorithm name
+     * @param arguments the other arguments of the algorithm
+     * @param timeout the time after which the returned future is completed with TimeoutException, or null for no deadline
+     * @param computation starts the computation with the given deadline, it must read the graph after this method is called
+     * @param <R> the result type
+     * @return CompletableFuture with the result, cancelling it stops the computation only if it is not shared
+     */
+    <R> CompletableFuture<R> get(Graph<?> graph, String algorithm, List<?> arguments, Duration timeout,
+                                 Function<Duration, CompletableFuture<R>> computation) {
+        long modificationCount = graph.getModificationCount();
+        if (modificationCount < 0) {
+            return computation.apply(timeout);
+        }
+        Key key = new Key(graph, algorithm, arguments);
+        CompletableFuture<Object> shared;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.modificationCount == modificationCount) {
+                hits++;
+                @SuppressWarnings("unchecked")
+                CompletableFuture<R> result = (CompletableFuture<R>) entry.result;
+                return withTimeout(result, timeout);
+            }
+            misses++;
+            shared = new CompletableFuture<>();
+            entries.put(key, new Entry(modificationCount, shared));
+        }
+        // only the copies are handed out, so the shared future fails only if the computation does
+        shared.whenComplete((result, e) -> {
+            if (e != null)
+                remove(key, shared);
+        });
+        try {
+            computation.apply(null).whenComplete((result, e) -> {
+                if (e != null) {
+                    shared.completeExceptionally(e);
+                } else {
+                    shared.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            shared.completeExceptionally(e);
+            throw e;
+        }
+        @SuppressWarnings("unchecked")
+        CompletableFuture<R> result = (CompletableFuture<R>) shared;
+        return withTimeout(result, timeout);
+    }
+
+    private static <R> CompletableFuture<R> withTimeout(CompletableFuture<R> shared, Duration timeout) {
+        CompletableFuture<R> result = shared.copy();
+        if (timeout != null) {
+            result.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return result;
+    }
+
+    private synchronized void remove(Key key, CompletableFuture<Object> result) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.result == result)
+            entries.remove(key);
+    }
+
+    /**
+     * Gets the number of cached results.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of requests answered from the cache.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of requests which started a computation, not counting graphs which do not count modifications.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Removes all results.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private static final class Key {
+        private final Graph<?> graph;
+        private final String algorithm;
+        private final List<?> arguments;
+
+        Key(Graph<?> graph, String algorithm, List<?> arguments) {
+            this.graph = graph;
+            this.algorithm = algorithm;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return graph == that.graph && algorithm.equals(that.algorithm) && arguments.equals(that.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(graph), algorithm, arguments);
+        }
+    }
+
+    private static final class Entry {
+        private final long modificationCount;
+        private final CompletableFuture<Object> result;
+
+        Entry(long modificationCount, CompletableFuture<Object> result) {
+            this.modificationCount = modificationCount;
+            this.result = result;
+        }
+    }
+}
@@ -1,21 +1,32 @@
 package com.anarsultanov.graphminilibrary.algorithms;
 
 import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.IndexedGraph;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * An algorithm which computes the shortest path from one node to another.
+ * <p>
+ * If the graph indexes its in edges (see {@link Graph#isInEdgesIndexed()}), the search is bidirectional
+ * and always expands the smaller frontier, otherwise it is a BFS from the starting node.
+ * The bidirectional search only touches the nodes it reaches, so it keeps them in hash maps; the BFS
+ * of an indexed graph runs on {@link BreadthFirstSearch}, which expands large levels in parallel.
  */
 public class ShortestPathFromTo {
 
+    private static final int CHECKPOINT_MASK = 0xFFF;
+
     /**
      * Apply the algorithm to the graph and get the result
      * @param graph the graph to which to apply the algorithm
@@ -25,56 +36,180 @@ public class ShortestPathFromTo {
      * @return CompletableFuture with the result
      */
     public static <T> CompletableFuture<List<T>> compute(Graph<T> graph, T from, T to) {
-        if (!graph.hasNode(from)) {
+        return compute(graph, from, to, AlgorithmTask.DEFAULT_EXECUTOR, null);
+    }
+
+    /**
+     * Apply the algorithm to the graph on the executor and get the result,
+     * cancelling the returned future stops the computation
+     * @param graph the graph to which to apply the algorithm
+     * @param from the starting node
+     * @param to the end point
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<List<T>> compute(Graph<T> graph, T from, T to,
+                                                         Executor executor, Duration timeout) {
+        Graph<T> snapshot = AlgorithmTask.isolate(graph);
+        if (!snapshot.hasNode(from)) {
             throw new IllegalArgumentException("Start node " + from + " does not exist");
         }
-        if (!graph.hasNode(to)) {
+        if (!snapshot.hasNode(to)) {
             throw new IllegalArgumentException("End node " + from + " does not exist");
         }
-        return CompletableFuture.supplyAsync(() -> doCompute(graph, from, to));
+        return AlgorithmTask.submit(executor, timeout, task -> doCompute(snapshot, from, to, task));
     }
 
-    private static <T> List<T> doCompute(Graph<T> graph, T from, T to) {
+    /**
+     * Apply the algorithm to the indexed graph and get the result, the search is A* guided
+     * and pruned by the distance bounds of the landmarks (see {@link LandmarkIndex})
+     * @param index the landmark index of the graph
+     * @param from the starting node
+     * @param to the end point
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<List<T>> compute(LandmarkIndex<T> index, T from, T to) {
+        return compute(index, from, to, AlgorithmTask.DEFAULT_EXECUTOR, null);
+    }
+
+    /**
+     * Apply the algorithm to the indexed graph on the executor and get the result,
+     * cancelling the returned future stops the computation
+     * @param index the landmark index of the graph
+     * @param from the starting node
+     * @param to the end point
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<List<T>> compute(LandmarkIndex<T> index, T from, T to,
+                                                         Executor executor, Duration timeout) {
+        int source = index.idOf(from);
+        int target = index.idOf(to);
+        return AlgorithmTask.submit(executor, timeout, task -> index.path(source, target, task));
+    }
+
+    private static <T> List<T> doCompute(Graph<T> graph, T from, T to, AlgorithmTask task) {
+        if (graph.isInEdgesIndexed()) {
+            return bidirectionalSearch(graph, from, to, task);
+        }
+        if (graph instanceof IndexedGraph) {
+            return indexedSearch((IndexedGraph<T>) graph, from, to, task);
+        }
 
         HashMap<T, T> parentMap = new HashMap<>();
         Queue<T> toExplore = new LinkedList<>();
-        HashSet<T> visited = new HashSet<>();
-
+        parentMap.put(from, null);
         toExplore.add(from);
-        T next = null;
-
-        while (!toExplore.isEmpty()) {
-            next = toExplore.remove();
-
-            if (next.equals(to))
-                break;
 
-            Set<T> neighbors = graph.getAdjacencyListMap().get(next);
-            for (T n : neighbors) {
-                if (!visited.contains(n)) {
-                    visited.add(n);
+        for (int explored = 0; !toExplore.isEmpty(); explored++) {
+            if ((explored & CHECKPOINT_MASK) == 0)
+                task.checkpoint();
+            T next = toExplore.remove();
+            if (next.equals(to)) {
+                return reconstructPath(parentMap, to);
+            }
+            graph.forEachOutNeighbor(next, n -> {
+                if (!parentMap.containsKey(n)) {
                     parentMap.put(n, next);
                     toExplore.add(n);
                 }
+            });
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Expands whole levels of the smaller frontier. Since no node was reached from both sides
+     * before the level, any node reached from both sides during it lies on a shortest path.
+     */
+    private static <T> List<T> bidirectionalSearch(Graph<T> graph, T from, T to, AlgorithmTask task) {
+        Map<T, T> forwardParents = new HashMap<>();
+        Map<T, T> backwardParents = new HashMap<>();
+        List<T> forwardFrontier = new ArrayList<>();
+        List<T> backwardFrontier = new ArrayList<>();
+        forwardParents.put(from, null);
+        backwardParents.put(to, null);
+        forwardFrontier.add(from);
+        backwardFrontier.add(to);
+        T meeting = from.equals(to) ? from : null;
+
+        while (meeting == null && !forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+            task.checkpoint();
+            boolean forward = forwardFrontier.size() <= backwardFrontier.size();
+            List<T> frontier = forward ? forwardFrontier : backwardFrontier;
+            Map<T, T> parents = forward ? forwardParents : backwardParents;
+            Map<T, T> opposite = forward ? backwardParents : forwardParents;
+            List<T> next = new ArrayList<>();
+            for (T v : frontier) {
+                Consumer<T> visit = n -> {
+                    if (!parents.containsKey(n)) {
+                        parents.put(n, v);
+                        next.add(n);
+                    }
+                };
+                if (forward) {
+                    graph.forEachOutNeighbor(v, visit);
+                } else {
+                    graph.forEachInNeighbor(v, visit);
+                }
+            }
+            for (T n : next) {
+                if (opposite.containsKey(n)) {
+                    meeting = n;
+                    break;
+                }
+            }
+            if (forward) {
+                forwardFrontier = next;
+            } else {
+                backwardFrontier = next;
             }
         }
 
-        assert next != null;
-        if (!next.equals(to)) {
+        if (meeting == null) {
             return Collections.emptyList();
         }
-        return reconstructPath(parentMap, from, to);
+        LinkedList<T> path = reconstructPath(forwardParents, meeting);
+        for (T current = backwardParents.get(meeting); current != null; current = backwardParents.get(current)) {
+            path.addLast(current);
+        }
+        return path;
     }
 
-    private static <T> List<T> reconstructPath(HashMap<T, T> parentMap, T from, T to) {
+    /**
+     * The forward search over ids, large levels are expanded in parallel.
+     */
+    private static <T> List<T> indexedSearch(IndexedGraph<T> graph, T from, T to, AlgorithmTask task) {
+        int target = graph.indexOf(to);
+        BreadthFirstSearch search = new BreadthFirstSearch(graph.getIntGraph(), false, task.getPool(), task);
+        search.start(graph.indexOf(from));
+        boolean reached = search.isVisited(target);
+        int frontierSize = 1;
+        while (!reached && frontierSize > 0) {
+            frontierSize = search.step();
+            reached = search.isVisited(target);
+        }
+        if (!reached) {
+            return Collections.emptyList();
+        }
         LinkedList<T> path = new LinkedList<>();
-        T current = to;
+        int[] parents = search.getParents();
+        for (int current = target; current >= 0; current = parents[current]) {
+            path.addFirst(graph.nodeAt(current));
+        }
+        return path;
+    }
 
-        while (!current.equals(from)) {
+    private static <T> LinkedList<T> reconstructPath(Map<T, T> parentMap, T to) {
+        LinkedList<T> path = new LinkedList<>();
+        for (T current = to; current != null; current = parentMap.get(current)) {
             path.addFirst(current);
-            current = parentMap.get(current);
         }
-        path.addFirst(from);
         return path;
     }
 }
@@ -0,0 +1,108 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.graph.IndexedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The tree of shortest paths from one node, paths are built on request from the parent array.
+ */
+public class ShortestPathTree<T> {
+
+    private final IndexedGraph<T> graph;
+    private final int source;
+    private final int[] parents;
+    private final int[] distances;
+    private final int[] order;
+
+    ShortestPathTree(IndexedGraph<T> graph, int source, int[] parents, int[] distances, int[] order) {
+        this.graph = graph;
+        this.source = source;
+        this.parents = parents;
+        this.distances = distances;
+        this.order = order;
+    }
+
+    /**
+     * Get the starting node
+     * @return the starting node
+     */
+    public T getSource() {
+        return graph.nodeAt(source);
+    }
+
+    /**
+     * Get the number of nodes reachable from the starting node, including itself
+     * @return the number of reachable nodes
+     */
+    public int getReachableNodesNumber() {
+        return order.length;
+    }
+
+    /**
+     * Check whether the node is reachable from the starting node
+     * @param node the node
+     * @return true, if reachable
+     */
+    public boolean isReachable(T node) {
+        return getDistance(node) >= 0;
+    }
+
+    /**
+     * Get the number of edges on the shortest path to the node
+     * @param node the node
+     * @return the distance, or -1 if the node is not reachable
+     */
+    public int getDistance(T node) {
+        int id = graph.indexOf(node);
+        return id < 0 ? -1 : distances[id];
+    }
+
+    /**
+     * Get the previous node on the shortest path to the node
+     * @param node the node
+     * @return the parent, or null for the starting node and unreachable nodes
+     */
+    public T getParent(T node) {
+        int id = graph.indexOf(node);
+        return id < 0 || distances[id] <= 0 ? null : graph.nodeAt(parents[id]);
+    }
+
+    /**
+     * Get the shortest path to the node
+     * @param node the node
+     * @return the path from the starting node to the node, or empty list if it is not reachable
+     */
+    public List<T> getPath(T node) {
+        int id = graph.indexOf(node);
+        if (id < 0 || distances[id] < 0) {
+            return Collections.emptyList();
+        }
+        return path(id);
+    }
+
+    /**
+     * Get the shortest paths to all reachable nodes except the starting one, nearest first
+     * @return the paths
+     */
+    public List<List<T>> getPaths() {
+        List<List<T>> paths = new ArrayList<>(order.length);
+        for (int i = 1; i < order.length; i++) {
+            paths.add(path(order[i]));
+        }
+        return paths;
+    }
+
+    private List<T> path(int id) {
+        Object[] path = new Object[distances[id] + 1];
+        for (int i = path.length - 1, current = id; i >= 0; i--, current = parents[current]) {
+            path[i] = graph.nodeAt(current);
+        }
+        @SuppressWarnings("unchecked")
+        List<T> result = (List<T>) Arrays.asList(path);
+        return result;
+    }
+}
@@ -1,19 +1,27 @@
 package com.anarsultanov.graphminilibrary.algorithms;
 
 import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.IndexedGraph;
+import com.anarsultanov.graphminilibrary.graph.IntGraph;
 
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * An algorithm which computes the shortest path from all nodes to all other nodes.
  */
 public class ShortestPaths {
 
+    private static final int BLOCK_CELLS = 1 << 22;
+    private static final int MAX_BLOCK_ROWS = 256;
+
     /**
      * Apply the algorithm to the graph and get the result
      * @param graph the graph to which to apply the algorithm
@@ -21,15 +29,167 @@ public class ShortestPaths {
      * @return CompletableFuture with the result
      */
     public static <T> CompletableFuture<List<List<T>>> compute(Graph<T> graph) {
-        List<CompletableFuture<List<List<T>>>> futures = graph.getAdjacencyListMap().keySet().stream()
-                .map(n -> ShortestPathsFrom.compute(graph, n))
-                .collect(Collectors.toList());
-
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                .thenApply(v ->
-                        futures.stream()
-                                .map(CompletableFuture::join)
-                                .flatMap(Collection::stream)
-                                .collect(Collectors.toList()));
+        return compute(graph, AlgorithmTask.DEFAULT_EXECUTOR, null);
+    }
+
+    /**
+     * Apply the algorithm to the graph on the executor and get the result,
+     * cancelling the returned future stops the computation.
+     * Sources are processed by a parallel stream, which runs on the executor if it is a ForkJoinPool
+     * @param graph the graph to which to apply the algorithm
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<List<List<T>>> compute(Graph<T> graph, Executor executor, Duration timeout) {
+        Graph<T> snapshot = AlgorithmTask.isolate(graph);
+        return AlgorithmTask.submit(executor, timeout, task -> {
+            IndexedGraph<T> indexedGraph = IndexedGraph.of(snapshot);
+            IntGraph intGraph = indexedGraph.getIntGraph();
+            return IntStream.range(0, intGraph.getNodeIdBound()).parallel()
+                    .filter(intGraph::hasNode)
+                    .mapToObj(source -> ShortestPathsFrom.doCompute(indexedGraph, source, null, task).getPaths())
+                    .flatMap(Collection::stream)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * Apply the algorithm to the graph and get the distances between all pairs of nodes
+     * @param graph the graph to which to apply the algorithm
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the distance matrix
+     */
+    public static <T> CompletableFuture<DistanceMatrix<T>> computeDistances(Graph<T> graph) {
+        return computeDistances(graph, false, null);
+    }
+
+    /**
+     * Apply the algorithm to the graph and get the distances between all pairs of nodes
+     * @param graph the graph to which to apply the algorithm
+     * @param nextHops whether to store next hops for path reconstruction
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the distance matrix
+     */
+    public static <T> CompletableFuture<DistanceMatrix<T>> computeDistances(Graph<T> graph, boolean nextHops) {
+        return computeDistances(graph, nextHops, null);
+    }
+
+    /**
+     * Apply the algorithm to the graph and get the distances between all pairs of nodes
+     * @param graph the graph to which to apply the algorithm
+     * @param nextHops whether to store next hops for path reconstruction
+     * @param spillDirectory the directory for memory-mapped files used when the matrix does not fit on heap,
+     *                       or null to always keep it on heap
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the distance matrix
+     */
+    public static <T> CompletableFuture<DistanceMatrix<T>> computeDistances(Graph<T> graph, boolean nextHops,
+                                                                           Path spillDirectory) {
+        return computeDistances(graph, nextHops, spillDirectory, AlgorithmTask.DEFAULT_EXECUTOR, null);
+    }
+
+    /**
+     * Apply the algorithm to the graph on the executor and get the distances between all pairs of nodes,
+     * cancelling the returned future stops the computation and releases the partial matrix
+     * @param graph the graph to which to apply the algorithm
+     * @param nextHops whether to store next hops for path reconstruction
+     * @param spillDirectory the directory for memory-mapped files used when the matrix does not fit on heap,
+     *                       or null to always keep it on heap
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the distance matrix
+     */
+    public static <T> CompletableFuture<DistanceMatrix<T>> computeDistances(Graph<T> graph, boolean nextHops,
+                                                                           Path spillDirectory,
+                                                                           Executor executor, Duration timeout) {
+        Graph<T> snapshot = AlgorithmTask.isolate(graph);
+        return AlgorithmTask.submit(executor, timeout,
+                task -> doComputeDistances(IndexedGraph.of(snapshot), nextHops, spillDirectory, heapBudget(), task));
+    }
+
+    private static long heapBudget() {
+        Runtime runtime = Runtime.getRuntime();
+        return (runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory())) / 2;
+    }
+
+    /**
+     * Fills the matrix in blocks of rows computed in parallel, cells are widened between blocks
+     * whenever a longer distance shows up, so their width follows the diameter.
+     */
+    static <T> DistanceMatrix<T> doComputeDistances(IndexedGraph<T> graph, boolean withNextHops,
+                                                   Path spillDirectory, long heapBudget, AlgorithmTask task) {
+        IntGraph intGraph = graph.getIntGraph();
+        int n = intGraph.getNodeIdBound();
+        int hopWidth = CellMatrix.widthFor(n);
+        long bytes = (long) n * n * (1 + (withNextHops ? hopWidth : 0));
+        Path directory = spillDirectory != null && bytes > heapBudget ? spillDirectory : null;
+        CellMatrix distances = CellMatrix.allocate(n, n, 1, directory);
+        CellMatrix nextHops = withNextHops ? CellMatrix.allocate(n, n, hopWidth, directory) : null;
+
+        int blockRows = Math.max(1, Math.min(MAX_BLOCK_ROWS, BLOCK_CELLS / Math.max(1, n)));
+        int[][] rowDistances = new int[blockRows][n];
+        int[][] rowHops = new int[blockRows][withNextHops ? n : 0];
+        int[][] queues = new int[blockRows][n];
+        try {
+            for (int start = 0; start < n; start += blockRows) {
+                task.checkpoint();
+                int first = start;
+                int end = Math.min(n, start + blockRows);
+                int maxDistance = IntStream.range(first, end).parallel()
+                        .map(row -> bfsRow(intGraph, row, rowDistances[row - first],
+                                withNextHops ? rowHops[row - first] : null, queues[row - first]))
+                        .max().orElse(0);
+                if (maxDistance > distances.getMaxValue()) {
+                    distances = distances.widen(CellMatrix.widthFor(maxDistance), first, directory);
+                }
+                for (int row = first; row < end; row++) {
+                    distances.setRow(row, rowDistances[row - first]);
+                    if (withNextHops) {
+                        nextHops.setRow(row, rowHops[row - first]);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            distances.close();
+            if (nextHops != null) {
+                nextHops.close();
+            }
+            throw e;
+        }
+        return new DistanceMatrix<>(graph, distances, nextHops);
+    }
+
+    private static int bfsRow(IntGraph graph, int source, int[] distances, int[] hops, int[] queue) {
+        Arrays.fill(distances, -1);
+        if (hops != null) {
+            Arrays.fill(hops, -1);
+        }
+        if (!graph.hasNode(source)) {
+            return 0;
+        }
+        distances[source] = 0;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        int maxDistance = 0;
+        while (head < tail) {
+            int current = queue[head++];
+            int degree = graph.outDegree(current);
+            for (int i = 0; i < degree; i++) {
+                int next = graph.outNeighbor(current, i);
+                if (distances[next] < 0) {
+                    distances[next] = distances[current] + 1;
+                    maxDistance = distances[next];
+                    if (hops != null) {
+                        hops[next] = current == source ? next : hops[current];
+                    }
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return maxDistance;
     }
 }
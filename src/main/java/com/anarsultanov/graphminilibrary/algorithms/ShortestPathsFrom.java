@@ -1,19 +1,19 @@
 package com.anarsultanov.graphminilibrary.algorithms;
 
 import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.IndexedGraph;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * An algorithm which computes the shortest path from specified node to all other nodes.
+ * <p>
+ * Large levels of the search are expanded in parallel on the executor if it is a ForkJoinPool,
+ * otherwise on the common pool, see {@link BreadthFirstSearch}.
  */
 public class ShortestPathsFrom {
 
@@ -25,60 +25,61 @@ public class ShortestPathsFrom {
      * @return CompletableFuture with the result
      */
     public static <T> CompletableFuture<List<List<T>>> compute(Graph<T> graph, T from) {
-        if (!graph.hasNode(from)) {
-            throw new IllegalArgumentException("Start node " + from + " does not exist");
-        }
-        return CompletableFuture.supplyAsync(() -> doCompute(graph, from));
+        return computeTree(graph, from).thenApply(ShortestPathTree::getPaths);
     }
 
-    private static <T> List<List<T>> doCompute(Graph<T> graph, T from) {
-        List<List<T>> pathsList = new ArrayList<>();
-        Set<T> settledNodes = new HashSet<>();
-        Map<T, List<T>> unsettledNodes = new HashMap<>();
-        unsettledNodes.put(from, new LinkedList<>());
-
-        while (!unsettledNodes.isEmpty()) {
-            Entry<T, List<T>> current = getLowestDistanceNode(unsettledNodes);
-            unsettledNodes.remove(current.getKey());
+    /**
+     * Apply the algorithm to the graph and get the shortest path tree
+     * @param graph the graph to which to apply the algorithm
+     * @param from the starting node
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<ShortestPathTree<T>> computeTree(Graph<T> graph, T from) {
+        return computeTree(graph, from, AlgorithmTask.DEFAULT_EXECUTOR, null);
+    }
 
-            if (from != current.getKey()) {
-                List<T> pathTemp = new ArrayList<>(current.getValue());
-                pathTemp.add(current.getKey());
-                pathsList.add(pathTemp);
-            }
+    /**
+     * Apply the algorithm to the graph on the executor and get the result,
+     * cancelling the returned future stops the computation
+     * @param graph the graph to which to apply the algorithm
+     * @param from the starting node
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<List<List<T>>> compute(Graph<T> graph, T from,
+                                                               Executor executor, Duration timeout) {
+        return computeTree(graph, from, executor, timeout).thenApply(ShortestPathTree::getPaths);
+    }
 
-            for (T next : graph.getAdjacencyListMap().get(current.getKey())) {
-                if (!settledNodes.contains(next)) {
-                    if (unsettledNodes.containsKey(next)) {
-                        List<T> path = new LinkedList<>(current.getValue());
-                        path.add(current.getKey());
-                        int oldDist = unsettledNodes.get(next).size();
-                        int newDist = path.size();
-                        if (oldDist > newDist) {
-                            unsettledNodes.put(next, path);
-                        }
-                    } else {
-                        List<T> path = new LinkedList<>(current.getValue());
-                        path.add(current.getKey());
-                        unsettledNodes.put(next, path);
-                    }
-                }
-            }
-            settledNodes.add(current.getKey());
+    /**
+     * Apply the algorithm to the graph on the executor and get the shortest path tree,
+     * cancelling the returned future stops the computation
+     * @param graph the graph to which to apply the algorithm
+     * @param from the starting node
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<ShortestPathTree<T>> computeTree(Graph<T> graph, T from,
+                                                                         Executor executor, Duration timeout) {
+        Graph<T> snapshot = AlgorithmTask.isolate(graph);
+        if (!snapshot.hasNode(from)) {
+            throw new IllegalArgumentException("Start node " + from + " does not exist");
         }
-        return pathsList;
+        return AlgorithmTask.submit(executor, timeout, task -> {
+            IndexedGraph<T> indexedGraph = IndexedGraph.of(snapshot);
+            return doCompute(indexedGraph, indexedGraph.indexOf(from), task.getPool(), task);
+        });
     }
 
-    private static <T> Entry<T, List<T>> getLowestDistanceNode(Map<T, List<T>> unsettledNodes) {
-        Entry<T, List<T>> lowestDistanceNode = null;
-        int lowestDistance = Integer.MAX_VALUE;
-        for (Entry<T, List<T>> node : unsettledNodes.entrySet()) {
-            int nodeDistance = node.getValue().size();
-            if (nodeDistance < lowestDistance) {
-                lowestDistance = nodeDistance;
-                lowestDistanceNode = node;
-            }
-        }
-        return lowestDistanceNode;
+    static <T> ShortestPathTree<T> doCompute(IndexedGraph<T> graph, int source, ForkJoinPool pool,
+                                             AlgorithmTask task) {
+        BreadthFirstSearch search = new BreadthFirstSearch(graph.getIntGraph(), graph.isInEdgesIndexed(), pool, task);
+        int[] order = search.search(source);
+        return new ShortestPathTree<>(graph, source, search.getParents(), search.getDistances(), order);
     }
 }
@@ -1,20 +1,30 @@
 package com.anarsultanov.graphminilibrary.algorithms;
 
 import com.anarsultanov.graphminilibrary.graph.BasicGraph;
+import com.anarsultanov.graphminilibrary.graph.CsrGraph;
 import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.IndexedGraph;
+import com.anarsultanov.graphminilibrary.graph.IntGraph;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
-import java.util.Stack;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * An algorithm which computes strongly connected components.
+ * <p>
+ * Uses an iterative Tarjan's algorithm over node ids with explicit stacks, so the depth of
+ * the graph is not limited by the thread stack. With parallelism above one the
+ * Forward-Backward-Trim decomposition runs on a dedicated ForkJoinPool instead.
  */
 public class StronglyConnectedComponents {
 
+    private static final int CHECKPOINT_MASK = 0xFFF;
+
     /**
      * Apply the algorithm to the graph and get the result
      * @param graph the graph to which to apply the algorithm
@@ -22,67 +32,309 @@ public class StronglyConnectedComponents {
      * @return CompletableFuture with the result
      */
     public static <T> CompletableFuture<List<Graph<T>>> compute(Graph<T> graph) {
-        return CompletableFuture.supplyAsync(() -> doCompute(graph));
+        return computeComponents(graph).thenApply(Result::getComponentGraphs);
     }
 
-    private static <T> List<Graph<T>> doCompute(Graph<T> graph) {
-        Graph<T> reverseGraph = reverseGraph(graph);
-        List<Graph<T>> sccGraphs = new ArrayList<>();
-        Set<T> visited = new HashSet<>();
-        Stack<T> stack = new Stack<>();
+    /**
+     * Apply the algorithm to the graph and get the component of each node
+     * @param graph the graph to which to apply the algorithm
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<Result<T>> computeComponents(Graph<T> graph) {
+        return computeComponents(graph, 1);
+    }
 
-        graph.getAdjacencyListMap().keySet().forEach(k -> {
-            if (!visited.contains(k))
-                sccFirstMethod(graph, k, visited, stack);
-        });
+    /**
+     * Apply the algorithm to the graph and get the result
+     * @param graph the graph to which to apply the algorithm
+     * @param parallelism the number of threads, 1 for the sequential algorithm
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<List<Graph<T>>> compute(Graph<T> graph, int parallelism) {
+        return computeComponents(graph, parallelism).thenApply(Result::getComponentGraphs);
+    }
 
-        visited.clear();
-
-        while (!stack.isEmpty()) {
-            T v = stack.pop();
-            HashSet<T> sccVertices = new HashSet<>();
-            if (!visited.contains(v)) {
-                sccSecondMethod(reverseGraph, v, visited, sccVertices);
-                BasicGraph<T> sccGraph = new BasicGraph<>();
-                sccVertices.forEach(sccGraph::addNode);
-                sccGraph.getAdjacencyListMap().keySet()
-                        .forEach(key -> graph.getAdjacencyListMap().get(key)
-                                .forEach(k -> {
-                                    if (sccGraph.hasNode(k))
-                                        sccGraph.addEdge(key, k);
-                                }));
-                sccGraphs.add(sccGraph);
-            }
-        }
-        return sccGraphs;
+    /**
+     * Apply the algorithm to the graph and get the component of each node
+     * @param graph the graph to which to apply the algorithm
+     * @param parallelism the number of threads, 1 for the sequential algorithm
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<Result<T>> computeComponents(Graph<T> graph, int parallelism) {
+        return computeComponents(graph, parallelism, AlgorithmTask.DEFAULT_EXECUTOR, null);
     }
 
-    private static <T> void sccFirstMethod(Graph<T> graph, T node, Set<T> visited, Stack<T> stack) {
-        visited.add(node);
-        graph.getAdjacencyListMap().get(node).forEach(n -> {
-            if (!visited.contains(n))
-                sccFirstMethod(graph, n, visited, stack);
+    /**
+     * Apply the algorithm to the graph on the executor and get the result,
+     * cancelling the returned future stops the computation
+     * @param graph the graph to which to apply the algorithm
+     * @param parallelism the number of threads, 1 for the sequential algorithm
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<List<Graph<T>>> compute(Graph<T> graph, int parallelism,
+                                                                Executor executor, Duration timeout) {
+        return computeComponents(graph, parallelism, executor, timeout).thenApply(Result::getComponentGraphs);
+    }
+
+    /**
+     * Apply the algorithm to the graph on the executor and get the component of each node,
+     * cancelling the returned future stops the computation
+     * @param graph the graph to which to apply the algorithm
+     * @param parallelism the number of threads, 1 for the sequential algorithm
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<Result<T>> computeComponents(Graph<T> graph, int parallelism,
+                                                                     Executor executor, Duration timeout) {
+        Graph<T> snapshot = AlgorithmTask.isolate(graph);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        return AlgorithmTask.submit(executor, timeout, task -> {
+            IndexedGraph<T> indexedGraph = IndexedGraph.of(snapshot);
+            IntGraph intGraph = indexedGraph.getIntGraph();
+            int[] componentIds = new int[intGraph.getNodeIdBound()];
+            int componentsNumber = parallelism == 1
+                    ? tarjan(intGraph, componentIds, task)
+                    : ParallelStronglyConnectedComponents.compute(intGraph, componentIds, parallelism, task);
+            return new Result<>(indexedGraph, componentIds, componentsNumber);
         });
-        stack.push(node);
     }
 
-    private static <T> void sccSecondMethod(Graph<T> graph, T node, Set<T> visited, HashSet<T> sccVertices) {
-        visited.add(node);
-        sccVertices.add(node);
-        if (!graph.hasNode(node))
-            return;
-        graph.getAdjacencyListMap().get(node).forEach(neighbor -> {
-            if (!visited.contains(neighbor)) {
-                sccSecondMethod(graph, neighbor, visited, sccVertices);
+    /**
+     * Apply the algorithm to the graph and get the result, which is computed again only if the graph has changed
+     * @param graph the graph to which to apply the algorithm
+     * @param parallelism the number of threads, 1 for the sequential algorithm
+     * @param cache the cache of results
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result, a list of immutable graphs which cannot be modified
+     */
+    public static <T> CompletableFuture<List<Graph<T>>> compute(Graph<T> graph, int parallelism, ResultCache cache) {
+        return cache.get(graph, "StronglyConnectedComponents.graphs", List.of(parallelism), null,
+                deadline -> computeComponents(graph, parallelism, cache).thenApply(result -> {
+                    List<Graph<T>> components = new ArrayList<>(result.getComponentsNumber());
+                    for (Graph<T> component : result.getComponentGraphs()) {
+                        components.add(new CsrGraph<>(component));
+                    }
+                    return Collections.unmodifiableList(components);
+                }));
+    }
+
+    /**
+     * Apply the algorithm to the graph and get the component of each node,
+     * which is computed again only if the graph has changed
+     * @param graph the graph to which to apply the algorithm
+     * @param parallelism the number of threads, 1 for the sequential algorithm
+     * @param cache the cache of results
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<Result<T>> computeComponents(Graph<T> graph, int parallelism,
+                                                                     ResultCache cache) {
+        return computeComponents(graph, parallelism, AlgorithmTask.DEFAULT_EXECUTOR, null, cache);
+    }
+
+    /**
+     * Apply the algorithm to the graph on the executor and get the component of each node,
+     * which is computed again only if the graph has changed
+     * @param graph the graph to which to apply the algorithm
+     * @param parallelism the number of threads, 1 for the sequential algorithm
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the returned future times out, or null for no deadline
+     * @param cache the cache of results
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<Result<T>> computeComponents(Graph<T> graph, int parallelism,
+                                                                     Executor executor, Duration timeout,
+                                                                     ResultCache cache) {
+        return cache.get(graph, "StronglyConnectedComponents", List.of(parallelism), timeout,
+                deadline -> computeComponents(graph, parallelism, executor, deadline));
+    }
+
+    /**
+     * Labels each node with its component, components are numbered in reverse topological order.
+     *
+     * @param graph the graph
+     * @param componentIds the array to fill, -1 is left for ids which are not nodes
+     * @param task the task to check for cancellation
+     * @return the number of components
+     */
+    static int tarjan(IntGraph graph, int[] componentIds, AlgorithmTask task) {
+        int bound = graph.getNodeIdBound();
+        int[] index = new int[bound];
+        int[] low = new int[bound];
+        int[] stack = new int[bound];
+        int[] callNodes = new int[bound];
+        int[] callPositions = new int[bound];
+        Arrays.fill(index, -1);
+        Arrays.fill(componentIds, -1);
+        int counter = 0;
+        int stackSize = 0;
+        int components = 0;
+
+        for (int root = 0; root < bound; root++) {
+            if (!graph.hasNode(root) || index[root] >= 0)
+                continue;
+            task.checkpoint();
+            int depth = 0;
+            index[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            callNodes[depth] = root;
+            callPositions[depth++] = 0;
+            while (depth > 0) {
+                int v = callNodes[depth - 1];
+                int position = callPositions[depth - 1];
+                if (position < graph.outDegree(v)) {
+                    callPositions[depth - 1]++;
+                    int w = graph.outNeighbor(v, position);
+                    if (index[w] < 0) {
+                        if ((counter & CHECKPOINT_MASK) == 0)
+                            task.checkpoint();
+                        index[w] = low[w] = counter++;
+                        stack[stackSize++] = w;
+                        callNodes[depth] = w;
+                        callPositions[depth++] = 0;
+                    } else if (componentIds[w] < 0) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = callNodes[depth - 1];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        componentIds[w] = components;
+                    } while (w != v);
+                    components++;
+                }
             }
-        });
+        }
+        return components;
     }
 
-    private static <T> Graph<T> reverseGraph(Graph<T> graph) {
-        Graph<T> reverseGraph = new BasicGraph<>();
-        graph.getAdjacencyListMap().keySet()
-                .forEach(k -> graph.getAdjacencyListMap().get(k)
-                        .forEach(l -> reverseGraph.addEdge(l, k)));
-        return reverseGraph;
+    /**
+     * The result of the algorithm.
+     */
+    public static class Result<T> {
+        private final IndexedGraph<T> graph;
+        private final int[] componentIds;
+        private final int componentsNumber;
+        private int[] memberOffsets;
+        private int[] members;
+
+        Result(IndexedGraph<T> graph, int[] componentIds, int componentsNumber) {
+            this.graph = graph;
+            this.componentIds = componentIds;
+            this.componentsNumber = componentsNumber;
+        }
+
+        /**
+         * Get the indexed graph whose node ids address the component ids
+         * @return the indexed graph
+         */
+        public IndexedGraph<T> getGraph() {
+            return graph;
+        }
+
+        /**
+         * Get the number of components
+         * @return the number of components
+         */
+        public int getComponentsNumber() {
+            return componentsNumber;
+        }
+
+        /**
+         * Get the component of the node
+         * @param node the node
+         * @return the component id
+         */
+        public int getComponentId(T node) {
+            int id = graph.indexOf(node);
+            if (id < 0) {
+                throw new IllegalArgumentException("There is no specified node in the graph");
+            }
+            return componentIds[id];
+        }
+
+        /**
+         * Get the component ids indexed by node ids, the array must not be modified
+         * @return the component ids
+         */
+        public int[] getComponentIds() {
+            return componentIds;
+        }
+
+        /**
+         * Build the subgraph of the component
+         * @param componentId the component id
+         * @return the component graph
+         */
+        public Graph<T> getComponent(int componentId) {
+            if (componentId < 0 || componentId >= componentsNumber) {
+                throw new IllegalArgumentException("There is no component " + componentId);
+            }
+            groupMembers();
+            IntGraph intGraph = graph.getIntGraph();
+            Graph<T> component = new BasicGraph<>();
+            for (int i = memberOffsets[componentId]; i < memberOffsets[componentId + 1]; i++) {
+                int v = members[i];
+                component.addNode(graph.nodeAt(v));
+                int degree = intGraph.outDegree(v);
+                for (int j = 0; j < degree; j++) {
+                    int w = intGraph.outNeighbor(v, j);
+                    if (componentIds[w] == componentId)
+                        component.addEdge(graph.nodeAt(v), graph.nodeAt(w));
+                }
+            }
+            return component;
+        }
+
+        /**
+         * Build the subgraphs of all components
+         * @return the component graphs
+         */
+        public List<Graph<T>> getComponentGraphs() {
+            List<Graph<T>> components = new ArrayList<>(componentsNumber);
+            for (int i = 0; i < componentsNumber; i++) {
+                components.add(getComponent(i));
+            }
+            return components;
+        }
+
+        private synchronized void groupMembers() {
+            if (members != null)
+                return;
+            int[] offsets = new int[componentsNumber + 1];
+            for (int id : componentIds) {
+                if (id >= 0)
+                    offsets[id + 1]++;
+            }
+            for (int i = 0; i < componentsNumber; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            int[] grouped = new int[offsets[componentsNumber]];
+            int[] position = Arrays.copyOf(offsets, componentsNumber);
+            for (int v = 0; v < componentIds.length; v++) {
+                if (componentIds[v] >= 0)
+                    grouped[position[componentIds[v]]++] = v;
+            }
+            memberOffsets = offsets;
+            members = grouped;
+        }
     }
 }
@@ -0,0 +1,95 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.graph.IndexedGraph;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The tree of shortest weighted paths from one node, paths are built on request from the parent array.
+ */
+public class WeightedShortestPathTree<T> {
+
+    private final IndexedGraph<T> graph;
+    private final int source;
+    private final int[] parents;
+    private final double[] distances;
+    private final int reachable;
+
+    WeightedShortestPathTree(IndexedGraph<T> graph, int source, int[] parents, double[] distances, int reachable) {
+        this.graph = graph;
+        this.source = source;
+        this.parents = parents;
+        this.distances = distances;
+        this.reachable = reachable;
+    }
+
+    /**
+     * Get the starting node
+     * @return the starting node
+     */
+    public T getSource() {
+        return graph.nodeAt(source);
+    }
+
+    /**
+     * Get the number of nodes reachable from the starting node, including itself
+     * @return the number of reachable nodes
+     */
+    public int getReachableNodesNumber() {
+        return reachable;
+    }
+
+    /**
+     * Check whether the node is reachable from the starting node
+     * @param node the node
+     * @return true, if reachable
+     */
+    public boolean isReachable(T node) {
+        return getDistance(node) < Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Get the total weight of the shortest path to the node
+     * @param node the node
+     * @return the distance, or positive infinity if the node is not reachable
+     */
+    public double getDistance(T node) {
+        int id = graph.indexOf(node);
+        return id < 0 ? Double.POSITIVE_INFINITY : distances[id];
+    }
+
+    /**
+     * Get the previous node on the shortest path to the node
+     * @param node the node
+     * @return the parent, or null for the starting node and unreachable nodes
+     */
+    public T getParent(T node) {
+        int id = graph.indexOf(node);
+        return id < 0 || parents[id] < 0 ? null : graph.nodeAt(parents[id]);
+    }
+
+    /**
+     * Get the shortest path to the node
+     * @param node the node
+     * @return the path from the starting node to the node, or empty list if it is not reachable
+     */
+    public List<T> getPath(T node) {
+        int id = graph.indexOf(node);
+        if (id < 0 || distances[id] == Double.POSITIVE_INFINITY) {
+            return Collections.emptyList();
+        }
+        int length = 1;
+        for (int current = id; current != source; current = parents[current]) {
+            length++;
+        }
+        Object[] path = new Object[length];
+        for (int i = length - 1, current = id; i >= 0; i--, current = parents[current]) {
+            path[i] = graph.nodeAt(current);
+        }
+        @SuppressWarnings("unchecked")
+        List<T> result = (List<T>) Arrays.asList(path);
+        return result;
+    }
+}
@@ -0,0 +1,168 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.graph.WeightedGraph;
+import com.anarsultanov.graphminilibrary.graph.WeightedIntGraph;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * An algorithm which computes the shortest weighted paths from specified node to all other nodes.
+ * <p>
+ * {@link #compute(WeightedGraph, Object)} is Dijkstra's algorithm with an indexed binary heap,
+ * O((V + E) log V) on one thread. {@link #computeParallel(WeightedGraph, Object, double)} is delta-stepping,
+ * which relaxes the edges of many nodes at once and scales with the cores on large graphs.
+ * Edge weights must be non-negative.
+ */
+public class WeightedShortestPathsFrom {
+
+    private static final int CHECKPOINT_MASK = 0xFFF;
+
+    /**
+     * Apply the algorithm to the graph and get the shortest path tree
+     * @param graph the graph to which to apply the algorithm
+     * @param from the starting node
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<WeightedShortestPathTree<T>> compute(WeightedGraph<T> graph, T from) {
+        return compute(graph, from, AlgorithmTask.DEFAULT_EXECUTOR, null);
+    }
+
+    /**
+     * Apply the algorithm to the graph on the executor and get the shortest path tree,
+     * cancelling the returned future stops the computation
+     * @param graph the graph to which to apply the algorithm
+     * @param from the starting node
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<WeightedShortestPathTree<T>> compute(WeightedGraph<T> graph, T from,
+                                                                             Executor executor, Duration timeout) {
+        int source = sourceOf(graph, from);
+        return AlgorithmTask.submit(executor, timeout, task -> dijkstra(graph, source, task));
+    }
+
+    /**
+     * Apply the parallel algorithm to the graph and get the shortest path tree,
+     * with buckets as wide as the average edge weight
+     * @param graph the graph to which to apply the algorithm
+     * @param from the starting node
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<WeightedShortestPathTree<T>> computeParallel(WeightedGraph<T> graph, T from) {
+        return computeParallel(graph, from, 0);
+    }
+
+    /**
+     * Apply the parallel algorithm to the graph and get the shortest path tree
+     * @param graph the graph to which to apply the algorithm
+     * @param from the starting node
+     * @param delta the width of distance buckets, smaller values mean less redundant work and less parallelism,
+     *              or 0 for the average edge weight
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<WeightedShortestPathTree<T>> computeParallel(WeightedGraph<T> graph, T from,
+                                                                                     double delta) {
+        return computeParallel(graph, from, delta, AlgorithmTask.DEFAULT_EXECUTOR, null);
+    }
+
+    /**
+     * Apply the parallel algorithm to the graph on the executor and get the shortest path tree,
+     * cancelling the returned future stops the computation.
+     * Edges are relaxed on the executor if it is a ForkJoinPool, otherwise on the common pool
+     * @param graph the graph to which to apply the algorithm
+     * @param from the starting node
+     * @param delta the width of distance buckets, or 0 for the average edge weight
+     * @param executor the executor to run the algorithm on
+     * @param timeout the time after which the computation is stopped, or null for no deadline
+     * @param <T> the graph nodes type
+     * @return CompletableFuture with the result
+     */
+    public static <T> CompletableFuture<WeightedShortestPathTree<T>> computeParallel(WeightedGraph<T> graph, T from,
+                                                                                     double delta, Executor executor,
+                                                                                     Duration timeout) {
+        if (!(delta >= 0) || delta == Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("Delta must be a non-negative finite number, got " + delta);
+        }
+        int source = sourceOf(graph, from);
+        return AlgorithmTask.submit(executor, timeout, task -> {
+            WeightedIntGraph intGraph = graph.getIntGraph();
+            int bound = intGraph.getNodeIdBound();
+            double[] distances = new double[bound];
+            int[] parents = new int[bound];
+            double width = delta > 0 ? delta : averageWeight(intGraph);
+            DeltaStepping.compute(intGraph, source, width, distances, parents, task);
+            return new WeightedShortestPathTree<>(graph, source, parents, distances, reachable(distances));
+        });
+    }
+
+    private static <T> int sourceOf(WeightedGraph<T> graph, T from) {
+        int source = graph.indexOf(from);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start node " + from + " does not exist");
+        }
+        return source;
+    }
+
+    private static <T> WeightedShortestPathTree<T> dijkstra(WeightedGraph<T> graph, int source, AlgorithmTask task) {
+        WeightedIntGraph intGraph = graph.getIntGraph();
+        int bound = intGraph.getNodeIdBound();
+        double[] distances = new double[bound];
+        int[] parents = new int[bound];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, -1);
+        IndexedDoubleHeap heap = new IndexedDoubleHeap(bound);
+        distances[source] = 0;
+        heap.offer(source, 0);
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            if ((settled & CHECKPOINT_MASK) == 0)
+                task.checkpoint();
+            int u = heap.poll();
+            settled++;
+            double distance = distances[u];
+            int degree = intGraph.outDegree(u);
+            for (int i = 0; i < degree; i++) {
+                int v = intGraph.outNeighbor(u, i);
+                double candidate = distance + intGraph.outWeight(u, i);
+                if (candidate < distances[v]) {
+                    distances[v] = candidate;
+                    parents[v] = u;
+                    heap.offer(v, candidate);
+                }
+            }
+        }
+        return new WeightedShortestPathTree<>(graph, source, parents, distances, settled);
+    }
+
+    private static double averageWeight(WeightedIntGraph graph) {
+        double total = 0;
+        long edges = 0;
+        for (int v = 0; v < graph.getNodeIdBound(); v++) {
+            if (!graph.hasNode(v))
+                continue;
+            int degree = graph.outDegree(v);
+            for (int i = 0; i < degree; i++) {
+                total += graph.outWeight(v, i);
+            }
+            edges += degree;
+        }
+        return edges == 0 || total == 0 ? 1 : total / edges;
+    }
+
+    private static int reachable(double[] distances) {
+        int reachable = 0;
+        for (double distance : distances) {
+            if (distance < Double.POSITIVE_INFINITY)
+                reachable++;
+        }
+        return reachable;
+    }
+}
@@ -0,0 +1,64 @@
+package com.anarsultanov.graphminilibrary.generators;
+
+/**
+ * Barabasi-Albert preferential attachment generator: node {@code v} adds edges to earlier nodes
+ * chosen with probability proportional to their degree.
+ * <p>
+ * Edge {@code i} goes from node {@code i / edgesPerNode}. All edge ends so far form a sequence in which
+ * position {@code 2i} holds the source and {@code 2i + 1} the target of edge {@code i}; the target is
+ * the value at a uniformly random earlier position, which is resolved by following random positions
+ * until a source position is hit. Each edge is thus computed independently (Sanders and Schulz, 2016).
+ * The first node links to itself.
+ */
+public class BarabasiAlbertGenerator extends GraphGenerator {
+
+    private final int nodes;
+    private final int edgesPerNode;
+    private final long seed;
+
+    /**
+     * Instantiates a new generator.
+     *
+     * @param nodes the nodes number
+     * @param edgesPerNode the number of edges each node adds
+     * @param seed the seed
+     */
+    public BarabasiAlbertGenerator(int nodes, int edgesPerNode, long seed) {
+        if (nodes < 1 || edgesPerNode < 1) {
+            throw new IllegalArgumentException("Expected positive numbers of nodes and edges per node");
+        }
+        this.nodes = nodes;
+        this.edgesPerNode = edgesPerNode;
+        this.seed = seed;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.generators.GraphGenerator#getNodesNumber()
+     */
+    @Override
+    public int getNodesNumber() {
+        return nodes;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.generators.GraphGenerator#getEdgesNumber()
+     */
+    @Override
+    public long getEdgesNumber() {
+        return (long) nodes * edgesPerNode;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.generators.GraphGenerator#generate(long, long, com.anarsultanov.graphminilibrary.generators.EdgeConsumer)
+     */
+    @Override
+    protected void generate(long from, long to, EdgeConsumer consumer) {
+        for (long i = from; i < to; i++) {
+            long position = 2 * i + 1;
+            while ((position & 1) != 0) {
+                position = Long.remainderUnsigned(hash(seed, position), position);
+            }
+            consumer.accept((int) (i / edgesPerNode), (int) (position / 2 / edgesPerNode));
+        }
+    }
+}
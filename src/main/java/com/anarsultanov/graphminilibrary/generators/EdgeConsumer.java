@@ -0,0 +1,16 @@
+package com.anarsultanov.graphminilibrary.generators;
+
+/**
+ * Receives generated edges.
+ */
+@FunctionalInterface
+public interface EdgeConsumer {
+
+    /**
+     * Accepts the edge.
+     *
+     * @param from the from node id
+     * @param to the to node id
+     */
+    void accept(int from, int to);
+}
@@ -0,0 +1,56 @@
+package com.anarsultanov.graphminilibrary.generators;
+
+/**
+ * Erdos-Renyi G(n, m) generator: each edge connects two distinct nodes chosen uniformly at random.
+ */
+public class ErdosRenyiGenerator extends GraphGenerator {
+
+    private final int nodes;
+    private final long edges;
+    private final long seed;
+
+    /**
+     * Instantiates a new generator.
+     *
+     * @param nodes the nodes number, at least 2
+     * @param edges the number of edges to draw
+     * @param seed the seed
+     */
+    public ErdosRenyiGenerator(int nodes, long edges, long seed) {
+        if (nodes < 2 || edges < 0) {
+            throw new IllegalArgumentException("Expected at least 2 nodes and a non-negative number of edges");
+        }
+        this.nodes = nodes;
+        this.edges = edges;
+        this.seed = seed;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.generators.GraphGenerator#getNodesNumber()
+     */
+    @Override
+    public int getNodesNumber() {
+        return nodes;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.generators.GraphGenerator#getEdgesNumber()
+     */
+    @Override
+    public long getEdgesNumber() {
+        return edges;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.generators.GraphGenerator#generate(long, long, com.anarsultanov.graphminilibrary.generators.EdgeConsumer)
+     */
+    @Override
+    protected void generate(long from, long to, EdgeConsumer consumer) {
+        for (long i = from; i < to; i++) {
+            long bits = hash(seed, i);
+            int source = below(bits, nodes);
+            int target = below(bits << 32, nodes - 1);
+            consumer.accept(source, target < source ? target : target + 1);
+        }
+    }
+}
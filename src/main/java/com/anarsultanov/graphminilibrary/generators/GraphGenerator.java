@@ -0,0 +1,197 @@
+package com.anarsultanov.graphminilibrary.generators;
+
+import com.anarsultanov.graphminilibrary.graph.FrozenIntGraph;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Base class of the synthetic graph generators.
+ * <p>
+ * Every edge is a function of the seed and its index only, so edges can be generated in any order,
+ * by any number of threads, and the graph is always the same for the same seed. Generators may
+ * produce duplicate edges, which the graph builders merge.
+ */
+public abstract class GraphGenerator {
+
+    static final int BLOCK_EDGES = 1 << 16;
+    private static final int MAX_LINE_BYTES = 22;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Gets the number of nodes, ids are from 0 to it exclusive.
+     *
+     * @return the nodes number
+     */
+    public abstract int getNodesNumber();
+
+    /**
+     * Gets the number of edges generated, including duplicates.
+     *
+     * @return the edges number
+     */
+    public abstract long getEdgesNumber();
+
+    /**
+     * Generates the edges with indices in the range.
+     *
+     * @param from the first index
+     * @param to the last index exclusive
+     * @param consumer the consumer
+     */
+    protected abstract void generate(long from, long to, EdgeConsumer consumer);
+
+    /**
+     * Generates all edges in index order on the calling thread.
+     *
+     * @param consumer the consumer
+     */
+    public void forEachEdge(EdgeConsumer consumer) {
+        generate(0, getEdgesNumber(), consumer);
+    }
+
+    /**
+     * Generates all edges in parallel blocks, the consumer must be thread-safe.
+     *
+     * @param consumer the consumer
+     */
+    public void forEachEdgeParallel(EdgeConsumer consumer) {
+        LongStream.range(0, blocks()).parallel().forEach(block -> generateBlock(block, consumer));
+    }
+
+    /**
+     * Adds all edges to the graph on the calling thread, nodes without edges are added as well.
+     *
+     * @param graph the graph
+     */
+    public void addTo(Graph<Integer> graph) {
+        graph.ensureCapacity(getNodesNumber(), (int) Math.min(getEdgesNumber(), Integer.MAX_VALUE));
+        for (int v = 0; v < getNodesNumber(); v++) {
+            graph.addNode(v);
+        }
+        forEachEdge(graph::addEdge);
+    }
+
+    /**
+     * Generates the edges in parallel straight into the arrays of a frozen graph.
+     *
+     * @return the frozen graph
+     * @throws IllegalStateException if there are more edges than an array can hold
+     */
+    public FrozenIntGraph toIntGraph() {
+        long edges = getEdgesNumber();
+        if (edges > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException(edges + " edges do not fit in memory arrays, write them to a file instead");
+        }
+        int[] sources = new int[(int) edges];
+        int[] targets = new int[(int) edges];
+        LongStream.range(0, blocks()).parallel().forEach(block -> {
+            int[] position = {(int) (block * BLOCK_EDGES)};
+            generateBlock(block, (from, to) -> {
+                sources[position[0]] = from;
+                targets[position[0]++] = to;
+            });
+        });
+        return FrozenIntGraph.fromEdges(getNodesNumber(), sources, targets);
+    }
+
+    /**
+     * Writes the edges to a text edge list, one tab-separated edge per line, which
+     * {@link com.anarsultanov.graphminilibrary.utilities.EdgeListLoader} reads.
+     * Blocks of edges are formatted in parallel, twice as many at a time as the common pool has workers,
+     * into buffers reused for the next blocks and written in index order, so memory use only depends on the cores.
+     *
+     * @param file the file
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public void writeEdgeList(Path file) {
+        long blocks = blocks();
+        int batchBlocks = (int) Math.min(blocks, 2L * Math.max(1, ForkJoinPool.getCommonPoolParallelism()));
+        byte[][] buffers = new byte[batchBlocks][BLOCK_EDGES * MAX_LINE_BYTES];
+        int[] sizes = new int[batchBlocks];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (long batch = 0; batch < blocks; batch += batchBlocks) {
+                long first = batch;
+                int parts = (int) Math.min(batchBlocks, blocks - batch);
+                IntStream.range(0, parts).parallel().forEach(i -> sizes[i] = format(first + i, buffers[i]));
+                for (int i = 0; i < parts; i++) {
+                    out.write(buffers[i], 0, sizes[i]);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write the edge list to " + file, e);
+        }
+    }
+
+    private long blocks() {
+        return (getEdgesNumber() + BLOCK_EDGES - 1) / BLOCK_EDGES;
+    }
+
+    private void generateBlock(long block, EdgeConsumer consumer) {
+        long from = block * BLOCK_EDGES;
+        generate(from, Math.min(getEdgesNumber(), from + BLOCK_EDGES), consumer);
+    }
+
+    /**
+     * Formats the block into the buffer, which holds a block of the longest lines: two 10-digit ids, a tab and a newline.
+     *
+     * @return the number of bytes written
+     */
+    private int format(long block, byte[] buffer) {
+        int[] size = {0};
+        generateBlock(block, (from, to) -> {
+            size[0] = writeInt(buffer, size[0], from);
+            buffer[size[0]++] = '\t';
+            size[0] = writeInt(buffer, size[0], to);
+            buffer[size[0]++] = '\n';
+        });
+        return size[0];
+    }
+
+    private static int writeInt(byte[] buffer, int position, int value) {
+        int digits = 1;
+        for (int rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + digits;
+    }
+
+    /**
+     * Random 64 bits for the index, the SplitMix64 output function over the seed and the index.
+     *
+     * @param seed the seed
+     * @param index the index
+     * @return the random bits
+     */
+    static long hash(long seed, long index) {
+        long z = seed + (index + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Maps random bits to an int from 0 to the bound exclusive.
+     */
+    static int below(long bits, int bound) {
+        return (int) (((bits >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Maps random bits to a double from 0 to 1 exclusive.
+     */
+    static double unit(long bits) {
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+}
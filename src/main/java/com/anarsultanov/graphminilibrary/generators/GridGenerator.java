@@ -0,0 +1,67 @@
+package com.anarsultanov.graphminilibrary.generators;
+
+/**
+ * Two-dimensional grid generator: node {@code row * columns + column} is connected in both directions
+ * to its right and lower neighbors.
+ */
+public class GridGenerator extends GraphGenerator {
+
+    private final int rows;
+    private final int columns;
+    private final long horizontalPairs;
+
+    /**
+     * Instantiates a new generator.
+     *
+     * @param rows the number of rows
+     * @param columns the number of columns
+     */
+    public GridGenerator(int rows, int columns) {
+        if (rows < 1 || columns < 1 || (long) rows * columns > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Expected positive dimensions with at most " + Integer.MAX_VALUE + " nodes");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.horizontalPairs = (long) rows * (columns - 1);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.generators.GraphGenerator#getNodesNumber()
+     */
+    @Override
+    public int getNodesNumber() {
+        return rows * columns;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.generators.GraphGenerator#getEdgesNumber()
+     */
+    @Override
+    public long getEdgesNumber() {
+        return 2 * (horizontalPairs + (long) (rows - 1) * columns);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.generators.GraphGenerator#generate(long, long, com.anarsultanov.graphminilibrary.generators.EdgeConsumer)
+     */
+    @Override
+    protected void generate(long from, long to, EdgeConsumer consumer) {
+        for (long i = from; i < to; i++) {
+            long pair = i >>> 1;
+            int a;
+            int b;
+            if (pair < horizontalPairs) {
+                a = (int) (pair / (columns - 1) * columns + pair % (columns - 1));
+                b = a + 1;
+            } else {
+                a = (int) (pair - horizontalPairs);
+                b = a + columns;
+            }
+            if ((i & 1) == 0) {
+                consumer.accept(a, b);
+            } else {
+                consumer.accept(b, a);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.anarsultanov.graphminilibrary.generators;
+
+/**
+ * R-MAT generator: each edge recursively picks one of the four quadrants of the adjacency matrix
+ * with probabilities a, b, c and 1 - a - b - c, which yields a skewed degree distribution.
+ * Node ids are scrambled by a bijection so that high degree nodes are not clustered at low ids.
+ */
+public class RmatGenerator extends GraphGenerator {
+
+    private final int scale;
+    private final long edges;
+    private final double a;
+    private final double ab;
+    private final double abc;
+    private final long seed;
+
+    /**
+     * Instantiates a new generator with the Graph500 probabilities 0.57, 0.19, 0.19.
+     *
+     * @param scale the base 2 logarithm of the nodes number, from 1 to 30
+     * @param edgeFactor the average number of edges per node
+     * @param seed the seed
+     */
+    public RmatGenerator(int scale, int edgeFactor, long seed) {
+        this(scale, edgeFactor, 0.57, 0.19, 0.19, seed);
+    }
+
+    /**
+     * Instantiates a new generator.
+     *
+     * @param scale the base 2 logarithm of the nodes number, from 1 to 30
+     * @param edgeFactor the average number of edges per node
+     * @param a the probability of the upper left quadrant
+     * @param b the probability of the upper right quadrant
+     * @param c the probability of the lower left quadrant
+     * @param seed the seed
+     */
+    public RmatGenerator(int scale, int edgeFactor, double a, double b, double c, long seed) {
+        if (scale < 1 || scale > 30 || edgeFactor < 0) {
+            throw new IllegalArgumentException("Expected scale from 1 to 30 and a non-negative edge factor");
+        }
+        if (a < 0 || b < 0 || c < 0 || a + b + c > 1) {
+            throw new IllegalArgumentException("Quadrant probabilities must be non-negative and sum to at most 1");
+        }
+        this.scale = scale;
+        this.edges = (long) edgeFactor << scale;
+        this.a = a;
+        this.ab = a + b;
+        this.abc = a + b + c;
+        this.seed = seed;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.generators.GraphGenerator#getNodesNumber()
+     */
+    @Override
+    public int getNodesNumber() {
+        return 1 << scale;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.generators.GraphGenerator#getEdgesNumber()
+     */
+    @Override
+    public long getEdgesNumber() {
+        return edges;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.generators.GraphGenerator#generate(long, long, com.anarsultanov.graphminilibrary.generators.EdgeConsumer)
+     */
+    @Override
+    protected void generate(long from, long to, EdgeConsumer consumer) {
+        for (long i = from; i < to; i++) {
+            long edgeSeed = hash(seed, i);
+            int source = 0;
+            int target = 0;
+            for (int level = 0; level < scale; level++) {
+                double p = unit(hash(edgeSeed, level));
+                int row = p < ab ? 0 : 1;
+                int column = p < a || (p >= ab && p < abc) ? 0 : 1;
+                source = source << 1 | row;
+                target = target << 1 | column;
+            }
+            consumer.accept(scramble(source), scramble(target));
+        }
+    }
+
+    /**
+     * Bijection of the ids below 2^scale: multiplication by an odd number and xor-shift modulo 2^scale.
+     */
+    private int scramble(int id) {
+        int mask = (int) ((1L << scale) - 1);
+        long x = (id * 0x9E3779B1L + seed) & mask;
+        x ^= x >>> (scale + 1) / 2;
+        x = (x * 0x85EBCA6BL) & mask;
+        return (int) x;
+    }
+}
@@ -0,0 +1,354 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Read side of the Graph interface implemented on top of the int view of the graph.
+ * Mutating methods throw {@link UnsupportedOperationException} unless overridden.
+ */
+abstract class AbstractIndexedGraph<T> implements IndexedGraph<T> {
+
+    private final Map<T, Set<T>> adjacencyListMap = new AdjacencyListView();
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#getAdjacencyListMap()
+     */
+    @Override
+    public Map<T, Set<T>> getAdjacencyListMap() {
+        return adjacencyListMap;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#forEachNode(java.util.function.Consumer)
+     */
+    @Override
+    public void forEachNode(Consumer<? super T> action) {
+        IntGraph graph = getIntGraph();
+        for (int id = 0; id < graph.getNodeIdBound(); id++) {
+            if (graph.hasNode(id))
+                action.accept(nodeAt(id));
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#forEachOutNeighbor(java.lang.Object, java.util.function.Consumer)
+     */
+    @Override
+    public void forEachOutNeighbor(T node, Consumer<? super T> action) {
+        int id = indexOf(node);
+        if (id >= 0)
+            forEachNeighbor(getIntGraph(), id, action);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#forEachInNeighbor(java.lang.Object, java.util.function.Consumer)
+     */
+    @Override
+    public void forEachInNeighbor(T node, Consumer<? super T> action) {
+        if (!isInEdgesIndexed()) {
+            IndexedGraph.super.forEachInNeighbor(node, action);
+            return;
+        }
+        int id = indexOf(node);
+        if (id >= 0)
+            forEachNeighbor(getIntGraph().transpose(), id, action);
+    }
+
+    private void forEachNeighbor(IntGraph graph, int id, Consumer<? super T> action) {
+        int degree = graph.outDegree(id);
+        for (int i = 0; i < degree; i++) {
+            action.accept(nodeAt(graph.outNeighbor(id, i)));
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#outDegree(java.lang.Object)
+     */
+    @Override
+    public int outDegree(T node) {
+        int id = indexOf(node);
+        return id < 0 ? 0 : getIntGraph().outDegree(id);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#inDegree(java.lang.Object)
+     */
+    @Override
+    public int inDegree(T node) {
+        if (!isInEdgesIndexed())
+            return IndexedGraph.super.inDegree(node);
+        int id = indexOf(node);
+        return id < 0 ? 0 : getIntGraph().transpose().outDegree(id);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#getNodesNumber()
+     */
+    @Override
+    public int getNodesNumber() {
+        return getIntGraph().getNodesNumber();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#getEdgesNumber()
+     */
+    @Override
+    public int getEdgesNumber() {
+        return getIntGraph().getEdgesNumber();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#getModificationCount()
+     */
+    @Override
+    public long getModificationCount() {
+        return getIntGraph().getModificationCount();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#addNode(java.lang.Object)
+     */
+    @Override
+    public void addNode(T node) {
+        throw immutable();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#removeNode(java.lang.Object)
+     */
+    @Override
+    public void removeNode(T node) {
+        throw immutable();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#hasNode(java.lang.Object)
+     */
+    @Override
+    public boolean hasNode(T node) {
+        return indexOf(node) >= 0;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#outEdges(java.lang.Object)
+     */
+    @Override
+    public Set<T> outEdges(T node) {
+        int id = indexOf(node);
+        if (id < 0)
+            return null;
+        return new NodeSet(getIntGraph(), id);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#inEdges(java.lang.Object)
+     */
+    @Override
+    public Set<T> inEdges(T node) {
+        int id = indexOf(node);
+        if (id < 0)
+            return null;
+        return new NodeSet(getIntGraph().transpose(), id);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#isInEdgesIndexed()
+     */
+    @Override
+    public boolean isInEdgesIndexed() {
+        return getIntGraph() instanceof FrozenIntGraph;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#addEdge(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void addEdge(T from, T to) {
+        throw immutable();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#removeEdge(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void removeEdge(T from, T to) {
+        throw immutable();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#hasEdge(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public boolean hasEdge(T from, T to) {
+        int fromId = indexOf(from);
+        int toId = indexOf(to);
+        return fromId >= 0 && toId >= 0 && getIntGraph().hasEdge(fromId, toId);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#clear()
+     */
+    @Override
+    public void clear() {
+        throw immutable();
+    }
+
+    private UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException(getClass().getSimpleName() + " is immutable");
+    }
+
+    @SuppressWarnings("unchecked")
+    private int indexOfObject(Object o) {
+        try {
+            return indexOf((T) o);
+        } catch (ClassCastException e) {
+            return -1;
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#equals()
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AbstractIndexedGraph<?> that = (AbstractIndexedGraph<?>) o;
+        return Objects.equals(adjacencyListMap, that.adjacencyListMap);
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return adjacencyListMap.hashCode();
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "adjacencyListMap=" + adjacencyListMap +
+                ", nodesNumber=" + getNodesNumber() +
+                ", edgesNumber=" + getEdgesNumber() +
+                '}';
+    }
+
+    /**
+     * Read-only view of node's neighbors in the int graph.
+     */
+    private class NodeSet extends AbstractSet<T> {
+        private final IntGraph graph;
+        private final int node;
+
+        NodeSet(IntGraph graph, int node) {
+            this.graph = graph;
+            this.node = node;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private final int degree = graph.outDegree(node);
+                private int position = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return position < degree;
+                }
+
+                @Override
+                public T next() {
+                    if (position >= degree)
+                        throw new NoSuchElementException();
+                    return nodeAt(graph.outNeighbor(node, position++));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return graph.outDegree(node);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            int id = indexOfObject(o);
+            return id >= 0 && graph.hasEdge(node, id);
+        }
+    }
+
+    /**
+     * Read-only adjacency list map backed by the int graph.
+     */
+    private class AdjacencyListView extends AbstractMap<T, Set<T>> {
+
+        @Override
+        public Set<Entry<T, Set<T>>> entrySet() {
+            return new AbstractSet<Entry<T, Set<T>>>() {
+                @Override
+                public Iterator<Entry<T, Set<T>>> iterator() {
+                    return new Iterator<Entry<T, Set<T>>>() {
+                        private final IntGraph graph = getIntGraph();
+                        private int id = advance(0);
+
+                        private int advance(int from) {
+                            int bound = graph.getNodeIdBound();
+                            while (from < bound && !graph.hasNode(from)) {
+                                from++;
+                            }
+                            return from;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return id < graph.getNodeIdBound();
+                        }
+
+                        @Override
+                        public Entry<T, Set<T>> next() {
+                            if (!hasNext())
+                                throw new NoSuchElementException();
+                            int current = id;
+                            id = advance(id + 1);
+                            return new SimpleImmutableEntry<>(nodeAt(current), new NodeSet(graph, current));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return getNodesNumber();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return getNodesNumber();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOfObject(key) >= 0;
+        }
+
+        @Override
+        public Set<T> get(Object key) {
+            int id = indexOfObject(key);
+            if (id < 0)
+                return null;
+            return new NodeSet(getIntGraph(), id);
+        }
+    }
+}
@@ -1,25 +1,104 @@
 package com.anarsultanov.graphminilibrary.graph;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Graph implementation.
+ * <p>
+ * Optionally maintains an index of in edges, so that {@link #inEdges(Object)} costs O(in-degree)
+ * and {@link #removeNode(Object)} costs O(degree) at the price of a second adjacency map.
  */
 public class BasicGraph<T> implements Graph<T> {
 
     private Map<T, Set<T>> adjacencyListMap;
+    private Map<T, Set<T>> inAdjacencyListMap;
     private int nodesNumber;
     private int edgesNumber;
+    private long modificationCount;
+    private int expectedNodes;
+    private int expectedDegree;
 
     /**
      * Instantiates a new basic graph.
      */
     public BasicGraph() {
+        this(false);
+    }
+
+    /**
+     * Instantiates a new basic graph.
+     *
+     * @param indexInEdges whether to maintain the index of in edges
+     */
+    public BasicGraph(boolean indexInEdges) {
         this.adjacencyListMap = new HashMap<>();
+        if (indexInEdges) {
+            this.inAdjacencyListMap = new HashMap<>();
+        }
+    }
+
+    /**
+     * Instantiates a new basic graph sized for the expected number of nodes and edges.
+     *
+     * @param expectedNodes the expected nodes number
+     * @param expectedEdges the expected edges number
+     * @param indexInEdges whether to maintain the index of in edges
+     */
+    public BasicGraph(int expectedNodes, int expectedEdges, boolean indexInEdges) {
+        this(indexInEdges);
+        ensureCapacity(expectedNodes, expectedEdges);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#ensureCapacity(int, int)
+     */
+    @Override
+    public void ensureCapacity(int expectedNodes, int expectedEdges) {
+        if (expectedNodes < 0 || expectedEdges < 0) {
+            throw new IllegalArgumentException("Expected sizes must not be negative");
+        }
+        ensureNodesCapacity(expectedNodes);
+        if (expectedNodes > 0) {
+            this.expectedDegree = Math.min(expectedEdges / expectedNodes, 1 << 16);
+        }
+    }
+
+    /**
+     * Presizes the maps while they are empty, filled maps grow by themselves in amortized constant time
+     * per node, while copying them here on every hint would be quadratic.
+     */
+    private void ensureNodesCapacity(int expectedNodes) {
+        if (expectedNodes > this.expectedNodes && adjacencyListMap.isEmpty()) {
+            this.expectedNodes = expectedNodes;
+            this.adjacencyListMap = new HashMap<>(capacity(expectedNodes));
+            if (isInEdgesIndexed()) {
+                this.inAdjacencyListMap = new HashMap<>(capacity(expectedNodes));
+            }
+        }
+    }
+
+    private static int capacity(int expectedSize) {
+        return (int) Math.min((long) expectedSize * 4 / 3 + 1, 1 << 30);
+    }
+
+    private Set<T> newNeighborSet() {
+        return expectedDegree > 12 ? new HashSet<>(capacity(expectedDegree)) : new HashSet<>();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#isInEdgesIndexed()
+     */
+    @Override
+    public boolean isInEdgesIndexed() {
+        return inAdjacencyListMap != null;
     }
 
     /* (non-Javadoc)
@@ -27,7 +106,65 @@ public class BasicGraph<T> implements Graph<T> {
      */
     @Override
     public Map<T, Set<T>> getAdjacencyListMap() {
-        return adjacencyListMap;
+        return new ReadOnlyAdjacencyMap<>(adjacencyListMap);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#forEachNode(java.util.function.Consumer)
+     */
+    @Override
+    public void forEachNode(Consumer<? super T> action) {
+        this.adjacencyListMap.keySet().forEach(action);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#forEachOutNeighbor(java.lang.Object, java.util.function.Consumer)
+     */
+    @Override
+    public void forEachOutNeighbor(T node, Consumer<? super T> action) {
+        Set<T> targets = this.adjacencyListMap.get(node);
+        if (targets != null)
+            targets.forEach(action);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#forEachInNeighbor(java.lang.Object, java.util.function.Consumer)
+     */
+    @Override
+    public void forEachInNeighbor(T node, Consumer<? super T> action) {
+        if (isInEdgesIndexed()) {
+            Set<T> sources = this.inAdjacencyListMap.get(node);
+            if (sources != null)
+                sources.forEach(action);
+        } else if (hasNode(node)) {
+            this.adjacencyListMap.forEach((n, targets) -> {
+                if (targets.contains(node))
+                    action.accept(n);
+            });
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#outDegree(java.lang.Object)
+     */
+    @Override
+    public int outDegree(T node) {
+        Set<T> targets = this.adjacencyListMap.get(node);
+        return targets == null ? 0 : targets.size();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#inDegree(java.lang.Object)
+     */
+    @Override
+    public int inDegree(T node) {
+        if (isInEdgesIndexed()) {
+            Set<T> sources = this.inAdjacencyListMap.get(node);
+            return sources == null ? 0 : sources.size();
+        }
+        int[] degree = {0};
+        forEachInNeighbor(node, n -> degree[0]++);
+        return degree[0];
     }
 
     /* (non-Javadoc)
@@ -46,14 +183,46 @@ public class BasicGraph<T> implements Graph<T> {
         return edgesNumber;
     }
 
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#getModificationCount()
+     */
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     /* (non-Javadoc)
      * @see com.anarsultanov.graphminilibrary.graph.Graph#addNode(java.lang.String)
      */
     @Override
     public void addNode(T node) {
         if (!this.adjacencyListMap.containsKey(node)) {
-            this.adjacencyListMap.put(node, new HashSet<>());
-            nodesNumber++;
+            putNode(node);
+        }
+    }
+
+    /**
+     * Adds the node which is not in the graph and returns its out edges.
+     */
+    private Set<T> putNode(T node) {
+        Set<T> outEdges = newNeighborSet();
+        this.adjacencyListMap.put(node, outEdges);
+        if (isInEdgesIndexed()) {
+            this.inAdjacencyListMap.put(node, newNeighborSet());
+        }
+        nodesNumber++;
+        modificationCount++;
+        return outEdges;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#addNodes(java.util.Collection)
+     */
+    @Override
+    public void addNodes(Collection<? extends T> nodes) {
+        ensureNodesCapacity(nodesNumber + nodes.size());
+        for (T node : nodes) {
+            addNode(node);
         }
     }
 
@@ -63,11 +232,28 @@ public class BasicGraph<T> implements Graph<T> {
     @Override
     public void removeNode(T node) {
         if (this.hasNode(node)) {
-            this.adjacencyListMap.remove(node);
-            for (T n : this.adjacencyListMap.keySet()) {
-                this.adjacencyListMap.get(n).remove(node);
+            Set<T> outEdges = this.adjacencyListMap.remove(node);
+            edgesNumber -= outEdges.size();
+            if (isInEdgesIndexed()) {
+                Set<T> inEdges = this.inAdjacencyListMap.remove(node);
+                for (T n : outEdges) {
+                    Set<T> sources = this.inAdjacencyListMap.get(n);
+                    if (sources != null)
+                        sources.remove(node);
+                }
+                for (T n : inEdges) {
+                    Set<T> targets = this.adjacencyListMap.get(n);
+                    if (targets != null && targets.remove(node))
+                        edgesNumber--;
+                }
+            } else {
+                for (Set<T> targets : this.adjacencyListMap.values()) {
+                    if (targets.remove(node))
+                        edgesNumber--;
+                }
             }
             nodesNumber--;
+            modificationCount++;
         }
     }
 
@@ -76,9 +262,8 @@ public class BasicGraph<T> implements Graph<T> {
      */
     @Override
     public Set<T> outEdges(T node) {
-        if (this.adjacencyListMap.containsKey(node))
-            return this.adjacencyListMap.get(node);
-        return null;
+        Set<T> outEdges = this.adjacencyListMap.get(node);
+        return outEdges == null ? null : Collections.unmodifiableSet(outEdges);
     }
 
     /* (non-Javadoc)
@@ -86,6 +271,10 @@ public class BasicGraph<T> implements Graph<T> {
      */
     @Override
     public Set<T> inEdges(T node) {
+        if (isInEdgesIndexed()) {
+            Set<T> inEdges = this.inAdjacencyListMap.get(node);
+            return inEdges == null ? null : Collections.unmodifiableSet(inEdges);
+        }
         if (this.adjacencyListMap.containsKey(node)) {
             Set<T> inEdges = new HashSet<>();
             for (T n : this.adjacencyListMap.keySet()) {
@@ -110,7 +299,68 @@ public class BasicGraph<T> implements Graph<T> {
         }
         if (!hasEdge(from, to)) {
             this.adjacencyListMap.get(from).add(to);
+            if (isInEdgesIndexed()) {
+                this.inAdjacencyListMap.get(to).add(from);
+            }
             edgesNumber++;
+            modificationCount++;
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#addEdges(java.lang.Object[], java.lang.Object[])
+     */
+    @Override
+    public void addEdges(T[] from, T[] to) {
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("Expected as many from nodes as to nodes");
+        }
+        EdgeInserter inserter = new EdgeInserter();
+        for (int i = 0; i < from.length; i++) {
+            inserter.add(from[i], to[i]);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#addEdges(java.util.stream.Stream)
+     */
+    @Override
+    public void addEdges(Stream<? extends Map.Entry<? extends T, ? extends T>> edges) {
+        EdgeInserter inserter = new EdgeInserter();
+        edges.forEachOrdered(edge -> inserter.add(edge.getKey(), edge.getValue()));
+    }
+
+    /**
+     * Adds the edges with one lookup of the source, reused while it repeats, one lookup of the target
+     * and the insertion into the neighbor set, which also drops duplicates.
+     */
+    private final class EdgeInserter {
+        private T lastSource;
+        private Set<T> targets;
+
+        void add(T source, T target) {
+            if (targets == null || !Objects.equals(source, lastSource)) {
+                lastSource = source;
+                targets = adjacencyListMap.get(source);
+                if (targets == null)
+                    targets = putNode(source);
+            }
+            Set<T> sources = null;
+            if (isInEdgesIndexed()) {
+                sources = inAdjacencyListMap.get(target);
+                if (sources == null) {
+                    putNode(target);
+                    sources = inAdjacencyListMap.get(target);
+                }
+            } else if (!adjacencyListMap.containsKey(target)) {
+                putNode(target);
+            }
+            if (targets.add(target)) {
+                if (sources != null)
+                    sources.add(source);
+                edgesNumber++;
+                modificationCount++;
+            }
         }
     }
 
@@ -121,7 +371,11 @@ public class BasicGraph<T> implements Graph<T> {
     public void removeEdge(T from, T to) {
         if (hasEdge(from, to)) {
             this.adjacencyListMap.get(from).remove(to);
+            if (isInEdgesIndexed()) {
+                this.inAdjacencyListMap.get(to).remove(from);
+            }
             edgesNumber--;
+            modificationCount++;
         }
     }
 
@@ -150,8 +404,14 @@ public class BasicGraph<T> implements Graph<T> {
     @Override
     public void clear() {
         this.adjacencyListMap = new HashMap<>();
+        if (isInEdgesIndexed()) {
+            this.inAdjacencyListMap = new HashMap<>();
+        }
         this.nodesNumber = 0;
         this.edgesNumber = 0;
+        this.modificationCount++;
+        this.expectedNodes = 0;
+        this.expectedDegree = 0;
     }
 
     /* (non-Javadoc)
@@ -0,0 +1,335 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe graph implementation.
+ * <p>
+ * Nodes map to concurrent sets of out and in neighbors, so reads never block and see the graph
+ * as of some point during the call. Writers lock the stripes of the nodes they touch, an edge
+ * change locks the stripes of both ends, so writers of unrelated nodes proceed in parallel.
+ * In edges are always indexed, which keeps {@link #removeNode(Object)} at O(degree).
+ * Use {@link #snapshot()} to run algorithms on a consistent state of the graph.
+ */
+public class ConcurrentGraph<T> implements Graph<T> {
+
+    private final ConcurrentHashMap<T, Set<T>> adjacencyListMap;
+    private final ConcurrentHashMap<T, Set<T>> inAdjacencyListMap;
+    private final ReentrantLock[] stripes;
+    private final LongAdder nodesNumber = new LongAdder();
+    private final LongAdder edgesNumber = new LongAdder();
+    private final LongAdder modificationCount = new LongAdder();
+
+    /**
+     * Instantiates a new concurrent graph with four lock stripes per processor.
+     */
+    public ConcurrentGraph() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Instantiates a new concurrent graph.
+     *
+     * @param concurrencyLevel the expected number of concurrent writers, rounded up to a power of two lock stripes
+     */
+    public ConcurrentGraph(int concurrencyLevel) {
+        if (concurrencyLevel < 1) {
+            throw new IllegalArgumentException("Concurrency level must be positive");
+        }
+        int size = Integer.highestOneBit(Math.min(concurrencyLevel, 1 << 16) * 2 - 1);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.adjacencyListMap = new ConcurrentHashMap<>(16, 0.75f, size);
+        this.inAdjacencyListMap = new ConcurrentHashMap<>(16, 0.75f, size);
+    }
+
+    private int stripe(T node) {
+        int h = Objects.hashCode(node) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+
+    private void lock(int first, int second) {
+        stripes[Math.min(first, second)].lock();
+        if (first != second)
+            stripes[Math.max(first, second)].lock();
+    }
+
+    private void unlock(int first, int second) {
+        if (first != second)
+            stripes[Math.max(first, second)].unlock();
+        stripes[Math.min(first, second)].unlock();
+    }
+
+    private void lockAll() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    /**
+     * Adds the node, the stripe of the node must be locked.
+     */
+    private void putNode(T node) {
+        if (!adjacencyListMap.containsKey(node)) {
+            inAdjacencyListMap.put(node, ConcurrentHashMap.newKeySet());
+            adjacencyListMap.put(node, ConcurrentHashMap.newKeySet());
+            nodesNumber.increment();
+            modificationCount.increment();
+        }
+    }
+
+    /**
+     * Takes a consistent CSR snapshot of the graph, writers wait while it is copied, readers do not.
+     *
+     * @return the CSR graph
+     */
+    public CsrGraph<T> snapshot() {
+        lockAll();
+        try {
+            return new CsrGraph<>(this);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#isInEdgesIndexed()
+     */
+    @Override
+    public boolean isInEdgesIndexed() {
+        return true;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#getAdjacencyListMap()
+     */
+    @Override
+    public Map<T, Set<T>> getAdjacencyListMap() {
+        return new ReadOnlyAdjacencyMap<>(adjacencyListMap);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#forEachNode(java.util.function.Consumer)
+     */
+    @Override
+    public void forEachNode(Consumer<? super T> action) {
+        adjacencyListMap.keySet().forEach(action);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#forEachOutNeighbor(java.lang.Object, java.util.function.Consumer)
+     */
+    @Override
+    public void forEachOutNeighbor(T node, Consumer<? super T> action) {
+        Set<T> targets = adjacencyListMap.get(node);
+        if (targets != null)
+            targets.forEach(action);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#forEachInNeighbor(java.lang.Object, java.util.function.Consumer)
+     */
+    @Override
+    public void forEachInNeighbor(T node, Consumer<? super T> action) {
+        Set<T> sources = inAdjacencyListMap.get(node);
+        if (sources != null)
+            sources.forEach(action);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#getNodesNumber()
+     */
+    @Override
+    public int getNodesNumber() {
+        return nodesNumber.intValue();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#getEdgesNumber()
+     */
+    @Override
+    public int getEdgesNumber() {
+        return edgesNumber.intValue();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#getModificationCount()
+     */
+    @Override
+    public long getModificationCount() {
+        return modificationCount.sum();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#addNode(java.lang.Object)
+     */
+    @Override
+    public void addNode(T node) {
+        if (hasNode(node))
+            return;
+        int stripe = stripe(node);
+        lock(stripe, stripe);
+        try {
+            putNode(node);
+        } finally {
+            unlock(stripe, stripe);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#removeNode(java.lang.Object)
+     */
+    @Override
+    public void removeNode(T node) {
+        int stripe = stripe(node);
+        lock(stripe, stripe);
+        try {
+            Set<T> outEdges = adjacencyListMap.remove(node);
+            if (outEdges == null)
+                return;
+            Set<T> inEdges = inAdjacencyListMap.remove(node);
+            nodesNumber.decrement();
+            // a neighbor removed concurrently may drop the same edge, whoever removes it from the set counts it
+            for (T n : outEdges) {
+                if (outEdges.remove(n)) {
+                    edgesNumber.decrement();
+                    Set<T> sources = inAdjacencyListMap.get(n);
+                    if (sources != null)
+                        sources.remove(node);
+                }
+            }
+            for (T n : inEdges) {
+                Set<T> targets = adjacencyListMap.get(n);
+                if (targets != null && targets.remove(node))
+                    edgesNumber.decrement();
+            }
+            modificationCount.increment();
+        } finally {
+            unlock(stripe, stripe);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#outEdges(java.lang.Object)
+     */
+    @Override
+    public Set<T> outEdges(T node) {
+        Set<T> outEdges = adjacencyListMap.get(node);
+        return outEdges == null ? null : Collections.unmodifiableSet(outEdges);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#inEdges(java.lang.Object)
+     */
+    @Override
+    public Set<T> inEdges(T node) {
+        Set<T> inEdges = inAdjacencyListMap.get(node);
+        return inEdges == null ? null : Collections.unmodifiableSet(inEdges);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#addEdge(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void addEdge(T from, T to) {
+        if (hasEdge(from, to))
+            return;
+        int fromStripe = stripe(from);
+        int toStripe = stripe(to);
+        lock(fromStripe, toStripe);
+        try {
+            putNode(from);
+            putNode(to);
+            if (adjacencyListMap.get(from).add(to)) {
+                inAdjacencyListMap.get(to).add(from);
+                edgesNumber.increment();
+                modificationCount.increment();
+            }
+        } finally {
+            unlock(fromStripe, toStripe);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#removeEdge(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void removeEdge(T from, T to) {
+        if (!hasEdge(from, to))
+            return;
+        int fromStripe = stripe(from);
+        int toStripe = stripe(to);
+        lock(fromStripe, toStripe);
+        try {
+            Set<T> targets = adjacencyListMap.get(from);
+            if (targets != null && targets.remove(to)) {
+                inAdjacencyListMap.get(to).remove(from);
+                edgesNumber.decrement();
+                modificationCount.increment();
+            }
+        } finally {
+            unlock(fromStripe, toStripe);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#hasNode(java.lang.Object)
+     */
+    @Override
+    public boolean hasNode(T node) {
+        return adjacencyListMap.containsKey(node);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#hasEdge(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public boolean hasEdge(T from, T to) {
+        Set<T> targets = adjacencyListMap.get(from);
+        return targets != null && targets.contains(to);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#clear()
+     */
+    @Override
+    public void clear() {
+        lockAll();
+        try {
+            adjacencyListMap.clear();
+            inAdjacencyListMap.clear();
+            nodesNumber.reset();
+            edgesNumber.reset();
+            modificationCount.increment();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "ConcurrentGraph{" +
+                "adjacencyListMap=" + adjacencyListMap +
+                ", nodesNumber=" + nodesNumber +
+                ", edgesNumber=" + edgesNumber +
+                '}';
+    }
+}
@@ -0,0 +1,130 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable graph implementation in compressed sparse row format.
+ * <p>
+ * Nodes are mapped to dense int ids, out edges of the node with id {@code i} are stored
+ * sorted in {@code targets[offsets[i]]..targets[offsets[i + 1] - 1]} of the {@link FrozenIntGraph}.
+ * All mutating methods throw {@link UnsupportedOperationException}.
+ */
+public class CsrGraph<T> extends AbstractIndexedGraph<T> {
+
+    private final Object[] nodes;
+    private final Map<T, Integer> ids;
+    private final FrozenIntGraph intGraph;
+
+    /**
+     * Instantiates a new CSR graph as a snapshot of the specified graph.
+     *
+     * @param graph the graph to copy
+     */
+    public CsrGraph(Graph<T> graph) {
+        List<T> nodeList = new ArrayList<>(graph.getNodesNumber());
+        Map<T, Integer> ids = new HashMap<>();
+        this.ids = ids;
+        graph.forEachNode(node -> {
+            ids.put(node, nodeList.size());
+            nodeList.add(node);
+        });
+        int sources = nodeList.size();
+        int[] edges = {0};
+        for (int i = 0; i < sources; i++) {
+            graph.forEachOutNeighbor(nodeList.get(i), to -> {
+                if (ids.putIfAbsent(to, nodeList.size()) == null) {
+                    nodeList.add(to);
+                }
+                edges[0]++;
+            });
+        }
+        this.nodes = nodeList.toArray();
+        int[] offsets = new int[nodes.length + 1];
+        int[] targets = new int[edges[0]];
+        int[] position = {0};
+        for (int i = 0; i < nodes.length; i++) {
+            offsets[i] = position[0];
+            if (i < sources) {
+                graph.forEachOutNeighbor(nodeList.get(i), to -> targets[position[0]++] = ids.get(to));
+                Arrays.sort(targets, offsets[i], position[0]);
+            }
+        }
+        offsets[nodes.length] = position[0];
+        this.intGraph = new FrozenIntGraph(offsets, targets);
+    }
+
+    /**
+     * Instantiates a new CSR graph from the node dictionary and the int graph over its positions.
+     *
+     * @param nodes the nodes, the node with id {@code i} is at position {@code i}
+     * @param intGraph the int graph with node ids below {@code nodes.size()}
+     */
+    public CsrGraph(List<T> nodes, FrozenIntGraph intGraph) {
+        if (nodes.size() != intGraph.getNodeIdBound()) {
+            throw new IllegalArgumentException("Expected " + intGraph.getNodeIdBound() + " nodes, got " + nodes.size());
+        }
+        this.nodes = nodes.toArray();
+        this.ids = new HashMap<>(Math.max(16, (int) (nodes.size() / 0.75f) + 1));
+        for (int i = 0; i < this.nodes.length; i++) {
+            if (ids.put(nodeAt(i), i) != null) {
+                throw new IllegalArgumentException("Duplicate node " + nodeAt(i));
+            }
+        }
+        this.intGraph = intGraph;
+    }
+
+    /**
+     * Returns the specified graph if it is already a CSR graph, otherwise its CSR snapshot.
+     *
+     * @param graph the graph
+     * @param <T> the graph nodes type
+     * @return the CSR graph
+     */
+    public static <T> CsrGraph<T> of(Graph<T> graph) {
+        if (graph instanceof CsrGraph) {
+            return (CsrGraph<T>) graph;
+        }
+        if (graph instanceof ConcurrentGraph) {
+            return ((ConcurrentGraph<T>) graph).snapshot();
+        }
+        return new CsrGraph<>(graph);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IndexedGraph#indexOf(java.lang.Object)
+     */
+    @Override
+    public int indexOf(T node) {
+        Integer id = ids.get(node);
+        return id == null ? -1 : id;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IndexedGraph#nodeAt(int)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T nodeAt(int id) {
+        return (T) nodes[id];
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IndexedGraph#getIntGraph()
+     */
+    @Override
+    public FrozenIntGraph getIntGraph() {
+        return intGraph;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#hasNode(java.lang.Object)
+     */
+    @Override
+    public boolean hasNode(T node) {
+        return ids.containsKey(node);
+    }
+}
@@ -0,0 +1,258 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable int graph implementation in compressed sparse row format.
+ * <p>
+ * Out neighbors of the node {@code i} are {@code targets[offsets[i]]..targets[offsets[i + 1] - 1]},
+ * sorted ascending and without duplicates.
+ */
+public class FrozenIntGraph implements IntGraph {
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final BitSet nodes;
+    private final int nodesNumber;
+    private volatile FrozenIntGraph transposed;
+
+    /**
+     * Instantiates a new frozen int graph in which every id below {@code offsets.length - 1} is a node.
+     *
+     * @param offsets the offsets of neighbor ranges, one more than the number of nodes
+     * @param targets the sorted neighbor ranges
+     */
+    public FrozenIntGraph(int[] offsets, int[] targets) {
+        this(offsets, targets, null);
+    }
+
+    FrozenIntGraph(int[] offsets, int[] targets, BitSet nodes) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.nodes = nodes;
+        this.nodesNumber = nodes == null ? offsets.length - 1 : nodes.cardinality();
+    }
+
+    /**
+     * Returns the specified graph if it is already frozen, otherwise its CSR copy.
+     *
+     * @param graph the graph
+     * @return the frozen graph
+     */
+    public static FrozenIntGraph copyOf(IntGraph graph) {
+        if (graph instanceof FrozenIntGraph) {
+            return (FrozenIntGraph) graph;
+        }
+        if (graph instanceof MutableIntGraph) {
+            return ((MutableIntGraph) graph).freeze();
+        }
+        int bound = graph.getNodeIdBound();
+        int[] offsets = new int[bound + 1];
+        int[] targets = new int[graph.getEdgesNumber()];
+        BitSet nodes = graph.getNodesNumber() == bound ? null : new BitSet(bound);
+        int position = 0;
+        for (int i = 0; i < bound; i++) {
+            offsets[i] = position;
+            if (graph.hasNode(i)) {
+                int degree = graph.outDegree(i);
+                for (int j = 0; j < degree; j++) {
+                    targets[position++] = graph.outNeighbor(i, j);
+                }
+                Arrays.sort(targets, offsets[i], position);
+                if (nodes != null)
+                    nodes.set(i);
+            }
+        }
+        offsets[bound] = position;
+        return new FrozenIntGraph(offsets, targets, nodes);
+    }
+
+    /**
+     * Builds the graph from parallel arrays of edge ends, every id below the bound is a node.
+     * Edges are grouped by a counting sort and neighbor ranges are sorted in parallel, duplicate edges are merged.
+     *
+     * @param nodeIdBound the number of nodes
+     * @param sources the start nodes of edges
+     * @param targets the end nodes of edges
+     * @return the frozen graph
+     */
+    public static FrozenIntGraph fromEdges(int nodeIdBound, int[] sources, int[] targets) {
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("Expected as many targets as sources");
+        }
+        int[] offsets = new int[nodeIdBound + 1];
+        for (int e = 0; e < sources.length; e++) {
+            if (sources[e] < 0 || sources[e] >= nodeIdBound || targets[e] < 0 || targets[e] >= nodeIdBound) {
+                throw new IllegalArgumentException("Edge " + sources[e] + " -> " + targets[e] + " is out of bounds");
+            }
+            offsets[sources[e] + 1]++;
+        }
+        for (int i = 0; i < nodeIdBound; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] grouped = new int[sources.length];
+        int[] position = Arrays.copyOf(offsets, nodeIdBound);
+        for (int e = 0; e < sources.length; e++) {
+            grouped[position[sources[e]]++] = targets[e];
+        }
+        int[] degrees = position;
+        IntStream.range(0, nodeIdBound).parallel().forEach(v -> {
+            int from = offsets[v];
+            int to = offsets[v + 1];
+            Arrays.sort(grouped, from, to);
+            int end = from;
+            for (int e = from; e < to; e++) {
+                if (end == from || grouped[end - 1] != grouped[e])
+                    grouped[end++] = grouped[e];
+            }
+            degrees[v] = end - from;
+        });
+        int[] compactOffsets = new int[nodeIdBound + 1];
+        for (int i = 0; i < nodeIdBound; i++) {
+            compactOffsets[i + 1] = compactOffsets[i] + degrees[i];
+        }
+        if (compactOffsets[nodeIdBound] == grouped.length) {
+            return new FrozenIntGraph(offsets, grouped);
+        }
+        int[] compactTargets = new int[compactOffsets[nodeIdBound]];
+        for (int i = 0; i < nodeIdBound; i++) {
+            System.arraycopy(grouped, offsets[i], compactTargets, compactOffsets[i], degrees[i]);
+        }
+        return new FrozenIntGraph(compactOffsets, compactTargets);
+    }
+
+    /**
+     * Gets the offsets array, it must not be modified.
+     *
+     * @return the offsets
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * Gets the targets array, it must not be modified.
+     *
+     * @return the targets
+     */
+    public int[] getTargets() {
+        return targets;
+    }
+
+    /**
+     * Gets the node ids if some ids below the bound are not nodes.
+     *
+     * @return the node ids, or null if every id below the bound is a node
+     */
+    BitSet getNodeSet() {
+        return nodes;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#getNodesNumber()
+     */
+    @Override
+    public int getNodesNumber() {
+        return nodesNumber;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#getEdgesNumber()
+     */
+    @Override
+    public int getEdgesNumber() {
+        return targets.length;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#getNodeIdBound()
+     */
+    @Override
+    public int getNodeIdBound() {
+        return offsets.length - 1;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#getModificationCount()
+     */
+    @Override
+    public long getModificationCount() {
+        return 0;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#hasNode(int)
+     */
+    @Override
+    public boolean hasNode(int node) {
+        return node >= 0 && node < offsets.length - 1 && (nodes == null || nodes.get(node));
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#hasEdge(int, int)
+     */
+    @Override
+    public boolean hasEdge(int from, int to) {
+        return hasNode(from) && Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to) >= 0;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#outDegree(int)
+     */
+    @Override
+    public int outDegree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#outNeighbor(int, int)
+     */
+    @Override
+    public int outNeighbor(int node, int index) {
+        return targets[offsets[node] + index];
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#forEachOutNeighbor(int, java.util.function.IntConsumer)
+     */
+    @Override
+    public void forEachOutNeighbor(int node, IntConsumer action) {
+        for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+            action.accept(targets[e]);
+        }
+    }
+
+    /**
+     * Gets the graph with all edges reversed, it is built on first use and then reused.
+     *
+     * @return the transposed graph
+     */
+    @Override
+    public FrozenIntGraph transpose() {
+        FrozenIntGraph result = transposed;
+        if (result == null) {
+            int bound = offsets.length - 1;
+            int[] inOffsets = new int[bound + 1];
+            int[] inTargets = new int[targets.length];
+            for (int to : targets) {
+                inOffsets[to + 1]++;
+            }
+            for (int i = 0; i < bound; i++) {
+                inOffsets[i + 1] += inOffsets[i];
+            }
+            int[] position = Arrays.copyOf(inOffsets, bound);
+            for (int from = 0; from < bound; from++) {
+                for (int e = offsets[from]; e < offsets[from + 1]; e++) {
+                    inTargets[position[targets[e]]++] = from;
+                }
+            }
+            result = new FrozenIntGraph(inOffsets, inTargets, nodes);
+            result.transposed = this;
+            transposed = result;
+        }
+        return result;
+    }
+}
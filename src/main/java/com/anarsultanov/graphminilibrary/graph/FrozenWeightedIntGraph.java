@@ -0,0 +1,178 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable weighted int graph implementation in compressed sparse row format.
+ * <p>
+ * The weight of the edge at position {@code e} of the targets array is {@code weights[e]},
+ * so weights are stored as primitives next to the edges without an object per edge.
+ */
+public class FrozenWeightedIntGraph extends FrozenIntGraph implements WeightedIntGraph {
+
+    private final double[] weights;
+    private volatile FrozenWeightedIntGraph transposed;
+
+    /**
+     * Instantiates a new frozen weighted int graph in which every id below {@code offsets.length - 1} is a node.
+     *
+     * @param offsets the offsets of neighbor ranges, one more than the number of nodes
+     * @param targets the sorted neighbor ranges
+     * @param weights the weights of edges, parallel to the targets
+     * @throws IllegalArgumentException if the arrays differ in length or a weight is negative or NaN
+     */
+    public FrozenWeightedIntGraph(int[] offsets, int[] targets, double[] weights) {
+        this(offsets, targets, weights, null);
+    }
+
+    FrozenWeightedIntGraph(int[] offsets, int[] targets, double[] weights, BitSet nodes) {
+        super(offsets, targets, nodes);
+        if (weights.length != targets.length) {
+            throw new IllegalArgumentException("Expected as many weights as targets");
+        }
+        for (double weight : weights) {
+            checkWeight(weight);
+        }
+        this.weights = weights;
+    }
+
+    private static void checkWeight(double weight) {
+        if (!(weight >= 0)) {
+            throw new IllegalArgumentException("Edge weight must be a non-negative number, got " + weight);
+        }
+    }
+
+    /**
+     * Builds the graph from parallel arrays of edge ends and weights, every id below the bound is a node.
+     * Edges are grouped by a counting sort and neighbor ranges are sorted in parallel,
+     * of duplicate edges the one with the smallest weight is kept.
+     *
+     * @param nodeIdBound the number of nodes
+     * @param sources the start nodes of edges
+     * @param targets the end nodes of edges
+     * @param weights the weights of edges
+     * @return the frozen weighted graph
+     */
+    public static FrozenWeightedIntGraph fromEdges(int nodeIdBound, int[] sources, int[] targets, double[] weights) {
+        if (sources.length != targets.length || sources.length != weights.length) {
+            throw new IllegalArgumentException("Expected as many targets and weights as sources");
+        }
+        int[] offsets = new int[nodeIdBound + 1];
+        for (int e = 0; e < sources.length; e++) {
+            if (sources[e] < 0 || sources[e] >= nodeIdBound || targets[e] < 0 || targets[e] >= nodeIdBound) {
+                throw new IllegalArgumentException("Edge " + sources[e] + " -> " + targets[e] + " is out of bounds");
+            }
+            checkWeight(weights[e]);
+            offsets[sources[e] + 1]++;
+        }
+        for (int i = 0; i < nodeIdBound; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        long[] grouped = new long[sources.length];
+        int[] position = Arrays.copyOf(offsets, nodeIdBound);
+        for (int e = 0; e < sources.length; e++) {
+            grouped[position[sources[e]]++] = (long) targets[e] << 32 | e;
+        }
+        int[] degrees = position;
+        int[] groupedTargets = new int[sources.length];
+        double[] groupedWeights = new double[sources.length];
+        IntStream.range(0, nodeIdBound).parallel().forEach(v -> {
+            int from = offsets[v];
+            int to = offsets[v + 1];
+            Arrays.sort(grouped, from, to);
+            int end = from;
+            for (int i = from; i < to; i++) {
+                int target = (int) (grouped[i] >>> 32);
+                double weight = weights[(int) grouped[i]];
+                if (end > from && groupedTargets[end - 1] == target) {
+                    groupedWeights[end - 1] = Math.min(groupedWeights[end - 1], weight);
+                } else {
+                    groupedTargets[end] = target;
+                    groupedWeights[end++] = weight;
+                }
+            }
+            degrees[v] = end - from;
+        });
+        int[] compactOffsets = new int[nodeIdBound + 1];
+        for (int i = 0; i < nodeIdBound; i++) {
+            compactOffsets[i + 1] = compactOffsets[i] + degrees[i];
+        }
+        if (compactOffsets[nodeIdBound] == sources.length) {
+            return new FrozenWeightedIntGraph(offsets, groupedTargets, groupedWeights, null);
+        }
+        int[] compactTargets = new int[compactOffsets[nodeIdBound]];
+        double[] compactWeights = new double[compactOffsets[nodeIdBound]];
+        for (int i = 0; i < nodeIdBound; i++) {
+            System.arraycopy(groupedTargets, offsets[i], compactTargets, compactOffsets[i], degrees[i]);
+            System.arraycopy(groupedWeights, offsets[i], compactWeights, compactOffsets[i], degrees[i]);
+        }
+        return new FrozenWeightedIntGraph(compactOffsets, compactTargets, compactWeights, null);
+    }
+
+    /**
+     * Gets the weights array, it must not be modified.
+     *
+     * @return the weights
+     */
+    public double[] getWeights() {
+        return weights;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.WeightedIntGraph#outWeight(int, int)
+     */
+    @Override
+    public double outWeight(int node, int index) {
+        return weights[getOffsets()[node] + index];
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.WeightedIntGraph#getWeight(int, int)
+     */
+    @Override
+    public double getWeight(int from, int to) {
+        if (!hasNode(from))
+            return Double.NaN;
+        int[] offsets = getOffsets();
+        int e = Arrays.binarySearch(getTargets(), offsets[from], offsets[from + 1], to);
+        return e < 0 ? Double.NaN : weights[e];
+    }
+
+    /**
+     * Gets the weighted graph with all edges reversed, it is built on first use and then reused.
+     *
+     * @return the transposed graph
+     */
+    @Override
+    public FrozenWeightedIntGraph transpose() {
+        FrozenWeightedIntGraph result = transposed;
+        if (result == null) {
+            int[] offsets = getOffsets();
+            int[] targets = getTargets();
+            int bound = offsets.length - 1;
+            int[] inOffsets = new int[bound + 1];
+            int[] inTargets = new int[targets.length];
+            double[] inWeights = new double[targets.length];
+            for (int to : targets) {
+                inOffsets[to + 1]++;
+            }
+            for (int i = 0; i < bound; i++) {
+                inOffsets[i + 1] += inOffsets[i];
+            }
+            int[] position = Arrays.copyOf(inOffsets, bound);
+            for (int from = 0; from < bound; from++) {
+                for (int e = offsets[from]; e < offsets[from + 1]; e++) {
+                    int p = position[targets[e]]++;
+                    inTargets[p] = from;
+                    inWeights[p] = weights[e];
+                }
+            }
+            result = new FrozenWeightedIntGraph(inOffsets, inTargets, inWeights, getNodeSet());
+            result.transposed = this;
+            transposed = result;
+        }
+        return result;
+    }
+}
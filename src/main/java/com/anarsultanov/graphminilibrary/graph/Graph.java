@@ -1,7 +1,10 @@
 package com.anarsultanov.graphminilibrary.graph;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * The Graph Interface.
@@ -9,7 +12,8 @@ import java.util.Set;
 public interface Graph<T> {
 
 	/**
-	 * Gets the adjacency list map.
+	 * Gets the read-only view of the adjacency list map.
+	 * Prefer {@link #forEachNode(Consumer)} and {@link #forEachOutNeighbor(Object, Consumer)} for traversals.
 	 *
 	 * @return the adjacency list map
 	 */
@@ -29,6 +33,16 @@ public interface Graph<T> {
 	 */
 	int getEdgesNumber();
 
+	/**
+	 * Gets the modification count, which grows with every change of nodes or edges, so the graph
+	 * has not changed while it stays the same. Immutable graphs always return the same count.
+	 *
+	 * @return the modification count, or -1 if the graph does not count modifications
+	 */
+	default long getModificationCount() {
+		return -1;
+	}
+
 	/**
 	 * Adds the node.
 	 *
@@ -36,6 +50,17 @@ public interface Graph<T> {
 	 */
 	void addNode(T node);
 
+	/**
+	 * Adds the nodes.
+	 *
+	 * @param nodes the nodes
+	 */
+	default void addNodes(Collection<? extends T> nodes) {
+		for (T node : nodes) {
+			addNode(node);
+		}
+	}
+
 	/**
 	 * Removes the node.
 	 *
@@ -67,6 +92,74 @@ public interface Graph<T> {
 	 */
 	Set<T> inEdges(T node);
 
+	/**
+	 * Performs the action for each node.
+	 *
+	 * @param action the action
+	 */
+	default void forEachNode(Consumer<? super T> action) {
+		getAdjacencyListMap().keySet().forEach(action);
+	}
+
+	/**
+	 * Performs the action for each out neighbor of the node without allocating per neighbor,
+	 * nothing is done if there is no such node.
+	 *
+	 * @param node the node
+	 * @param action the action
+	 */
+	default void forEachOutNeighbor(T node, Consumer<? super T> action) {
+		Set<T> neighbors = outEdges(node);
+		if (neighbors != null) {
+			neighbors.forEach(action);
+		}
+	}
+
+	/**
+	 * Performs the action for each in neighbor of the node, nothing is done if there is no such node.
+	 * Costs O(in-degree) only if in edges are indexed.
+	 *
+	 * @param node the node
+	 * @param action the action
+	 */
+	default void forEachInNeighbor(T node, Consumer<? super T> action) {
+		Set<T> neighbors = inEdges(node);
+		if (neighbors != null) {
+			neighbors.forEach(action);
+		}
+	}
+
+	/**
+	 * Gets the number of out edges of the node.
+	 *
+	 * @param node the node
+	 * @return the out degree, 0 if there is no such node
+	 */
+	default int outDegree(T node) {
+		Set<T> neighbors = outEdges(node);
+		return neighbors == null ? 0 : neighbors.size();
+	}
+
+	/**
+	 * Gets the number of in edges of the node.
+	 *
+	 * @param node the node
+	 * @return the in degree, 0 if there is no such node
+	 */
+	default int inDegree(T node) {
+		Set<T> neighbors = inEdges(node);
+		return neighbors == null ? 0 : neighbors.size();
+	}
+
+	/**
+	 * Checks whether in edges are indexed, so that {@link #inEdges(Object)} costs O(in-degree).
+	 *
+	 * @return true, if in edges are indexed
+	 */
+	default boolean isInEdgesIndexed() {
+		return false;
+	}
+
 	/**
 	 * Adds the edge.
 	 *
@@ -75,6 +168,41 @@ public interface Graph<T> {
 	 */
 	void addEdge(T from, T to);
 
+	/**
+	 * Adds the edges from {@code from[i]} to {@code to[i]}.
+	 * Implementations apply them in bulk, which is faster than adding edges one by one.
+	 *
+	 * @param from the from nodes
+	 * @param to the to nodes
+	 * @throws IllegalArgumentException if the arrays have different lengths
+	 */
+	default void addEdges(T[] from, T[] to) {
+		if (from.length != to.length) {
+			throw new IllegalArgumentException("Expected as many from nodes as to nodes");
+		}
+		for (int i = 0; i < from.length; i++) {
+			addEdge(from[i], to[i]);
+		}
+	}
+
+	/**
+	 * Adds the edges, each entry is the from node and the to node.
+	 *
+	 * @param edges the edges
+	 */
+	default void addEdges(Stream<? extends Map.Entry<? extends T, ? extends T>> edges) {
+		edges.forEachOrdered(edge -> addEdge(edge.getKey(), edge.getValue()));
+	}
+
+	/**
+	 * Hints the final size of the graph, so that it can allocate its structures once.
+	 *
+	 * @param expectedNodes the expected nodes number
+	 * @param expectedEdges the expected edges number
+	 */
+	default void ensureCapacity(int expectedNodes, int expectedEdges) {
+	}
+
 	/**
 	 * Removes the edge.
 	 *
@@ -0,0 +1,45 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+/**
+ * The graph which maps its nodes to int ids and exposes the int view of itself.
+ */
+public interface IndexedGraph<T> extends Graph<T> {
+
+    /**
+     * Returns the specified graph if it is already indexed, otherwise its CSR snapshot,
+     * which for a {@link ConcurrentGraph} is taken consistently.
+     *
+     * @param graph the graph
+     * @param <T> the graph nodes type
+     * @return the indexed graph
+     */
+    static <T> IndexedGraph<T> of(Graph<T> graph) {
+        if (graph instanceof IndexedGraph) {
+            return (IndexedGraph<T>) graph;
+        }
+        return CsrGraph.of(graph);
+    }
+
+    /**
+     * Gets the id of the node.
+     *
+     * @param node the node
+     * @return the node id, or -1 if there is no such node
+     */
+    int indexOf(T node);
+
+    /**
+     * Gets the node by its id.
+     *
+     * @param id the node id
+     * @return the node
+     */
+    T nodeAt(int id);
+
+    /**
+     * Gets the int view of the graph.
+     *
+     * @return the int graph
+     */
+    IntGraph getIntGraph();
+}
@@ -0,0 +1,106 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.util.function.IntConsumer;
+
+/**
+ * The Graph Interface specialized for nodes identified by non-negative int ids.
+ */
+public interface IntGraph {
+
+    /**
+     * Gets the nodes number.
+     *
+     * @return the nodes number
+     */
+    int getNodesNumber();
+
+    /**
+     * Gets the edges number.
+     *
+     * @return the edges number
+     */
+    int getEdgesNumber();
+
+    /**
+     * Gets the edges number, which may exceed the int range for graphs not held on the heap.
+     *
+     * @return the edges number
+     */
+    default long getEdgesCount() {
+        return getEdgesNumber();
+    }
+
+    /**
+     * Gets the upper bound of node ids, all ids are less than it.
+     *
+     * @return the node id bound
+     */
+    int getNodeIdBound();
+
+    /**
+     * Gets the modification count, which grows with every change of nodes or edges.
+     * Immutable graphs always return the same count.
+     *
+     * @return the modification count, or -1 if the graph does not count modifications
+     */
+    default long getModificationCount() {
+        return -1;
+    }
+
+    /**
+     * Checks for node.
+     *
+     * @param node the node id
+     * @return true, if successful
+     */
+    boolean hasNode(int node);
+
+    /**
+     * Checks for edge.
+     *
+     * @param from the from node id
+     * @param to the to node id
+     * @return true, if successful
+     */
+    boolean hasEdge(int from, int to);
+
+    /**
+     * Gets the number of node's out edges.
+     *
+     * @param node the node id
+     * @return the out degree
+     */
+    int outDegree(int node);
+
+    /**
+     * Gets the node's out neighbor by its position.
+     *
+     * @param node the node id
+     * @param index the position, from 0 to out degree exclusive
+     * @return the neighbor id
+     */
+    int outNeighbor(int node, int index);
+
+    /**
+     * Performs the action for each out neighbor of the node.
+     *
+     * @param node the node id
+     * @param action the action
+     */
+    default void forEachOutNeighbor(int node, IntConsumer action) {
+        int degree = outDegree(node);
+        for (int i = 0; i < degree; i++) {
+            action.accept(outNeighbor(node, i));
+        }
+    }
+
+    /**
+     * Gets the graph with all edges reversed.
+     *
+     * @return the transposed graph
+     * @throws UnsupportedOperationException if the graph cannot be transposed without copying it to the heap
+     */
+    default IntGraph transpose() {
+        return FrozenIntGraph.copyOf(this).transpose();
+    }
+}
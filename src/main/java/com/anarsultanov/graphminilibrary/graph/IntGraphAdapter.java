@@ -0,0 +1,112 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Adapts an int graph to the generic Graph interface, node ids are the nodes themselves.
+ * <p>
+ * Mutating methods are delegated if the int graph is a {@link MutableIntGraph},
+ * otherwise they throw {@link UnsupportedOperationException}.
+ */
+public class IntGraphAdapter extends AbstractIndexedGraph<Integer> {
+
+    private final IntGraph graph;
+
+    /**
+     * Instantiates a new adapter.
+     *
+     * @param graph the int graph
+     */
+    public IntGraphAdapter(IntGraph graph) {
+        this.graph = graph;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IndexedGraph#indexOf(java.lang.Object)
+     */
+    @Override
+    public int indexOf(Integer node) {
+        return node != null && graph.hasNode(node) ? node : -1;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IndexedGraph#nodeAt(int)
+     */
+    @Override
+    public Integer nodeAt(int id) {
+        return id;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IndexedGraph#getIntGraph()
+     */
+    @Override
+    public IntGraph getIntGraph() {
+        return graph;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#inEdges(java.lang.Object)
+     */
+    @Override
+    public Set<Integer> inEdges(Integer node) {
+        if (isInEdgesIndexed())
+            return super.inEdges(node);
+        if (indexOf(node) < 0)
+            return null;
+        Set<Integer> inEdges = new HashSet<>();
+        for (int i = 0; i < graph.getNodeIdBound(); i++) {
+            if (graph.hasEdge(i, node))
+                inEdges.add(i);
+        }
+        return inEdges;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#addNode(java.lang.Object)
+     */
+    @Override
+    public void addNode(Integer node) {
+        mutable().addNode(node);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#removeNode(java.lang.Object)
+     */
+    @Override
+    public void removeNode(Integer node) {
+        mutable().removeNode(node);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#addEdge(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void addEdge(Integer from, Integer to) {
+        mutable().addEdge(from, to);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#removeEdge(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void removeEdge(Integer from, Integer to) {
+        mutable().removeEdge(from, to);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#clear()
+     */
+    @Override
+    public void clear() {
+        mutable().clear();
+    }
+
+    private MutableIntGraph mutable() {
+        if (graph instanceof MutableIntGraph) {
+            return (MutableIntGraph) graph;
+        }
+        throw new UnsupportedOperationException(graph.getClass().getSimpleName() + " is immutable");
+    }
+}
@@ -0,0 +1,137 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.util.Arrays;
+
+/**
+ * Set of int ids kept densely for positional access, with an open addressing index
+ * of positions once the set outgrows a linear scan.
+ */
+final class IntNeighborSet {
+
+    private static final int[] EMPTY = new int[0];
+    private static final int INDEX_THRESHOLD = 8;
+
+    private int[] values = EMPTY;
+    private int size;
+    private int[] index;
+
+    int size() {
+        return size;
+    }
+
+    int get(int position) {
+        return values[position];
+    }
+
+    boolean contains(int value) {
+        return positionOf(value) >= 0;
+    }
+
+    boolean add(int value) {
+        if (contains(value))
+            return false;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, size * 2));
+        }
+        values[size++] = value;
+        if (index != null) {
+            if (size * 2 > index.length) {
+                rebuildIndex();
+            } else {
+                insert(size - 1);
+            }
+        } else if (size > INDEX_THRESHOLD) {
+            rebuildIndex();
+        }
+        return true;
+    }
+
+    boolean remove(int value) {
+        int position = positionOf(value);
+        if (position < 0)
+            return false;
+        int last = size - 1;
+        if (index != null) {
+            deleteSlot(slotOf(position));
+            if (position != last) {
+                index[slotOf(last)] = position + 1;
+            }
+        }
+        values[position] = values[last];
+        size--;
+        return true;
+    }
+
+    int[] toSortedArray() {
+        int[] result = Arrays.copyOf(values, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private int positionOf(int value) {
+        if (index == null) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value)
+                    return i;
+            }
+            return -1;
+        }
+        int mask = index.length - 1;
+        for (int slot = hash(value) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            int position = index[slot] - 1;
+            if (values[position] == value)
+                return position;
+        }
+        return -1;
+    }
+
+    private int slotOf(int position) {
+        int mask = index.length - 1;
+        int slot = hash(values[position]) & mask;
+        while (index[slot] != position + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insert(int position) {
+        int mask = index.length - 1;
+        int slot = hash(values[position]) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = position + 1;
+    }
+
+    /**
+     * Backward shift deletion, keeps probe sequences intact without tombstones.
+     */
+    private void deleteSlot(int hole) {
+        int mask = index.length - 1;
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (index[slot] == 0)
+                break;
+            int ideal = hash(values[index[slot] - 1]) & mask;
+            boolean between = hole <= slot ? hole < ideal && ideal <= slot : hole < ideal || ideal <= slot;
+            if (!between) {
+                index[hole] = index[slot];
+                hole = slot;
+            }
+        }
+        index[hole] = 0;
+    }
+
+    private void rebuildIndex() {
+        index = new int[Integer.highestOneBit(size * 4 - 1) << 1];
+        for (int i = 0; i < size; i++) {
+            insert(i);
+        }
+    }
+
+    private static int hash(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
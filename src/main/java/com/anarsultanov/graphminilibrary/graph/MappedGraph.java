@@ -0,0 +1,106 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Immutable graph backed by a {@link MappedIntGraph}, node ids are the nodes themselves.
+ * <p>
+ * Nothing is deserialized when the graph is opened, so startup takes constant time and the heap
+ * only holds what the algorithms allocate. If the file of the transposed graph is mapped too,
+ * in edges are indexed, otherwise they are found by scanning all nodes and algorithms which need
+ * the transpose fail with {@link UnsupportedOperationException}. All mutating methods throw
+ * {@link UnsupportedOperationException}.
+ */
+public class MappedGraph extends IntGraphAdapter {
+
+    /**
+     * Instantiates a new graph over the mapped int graph.
+     *
+     * @param graph the mapped int graph
+     */
+    public MappedGraph(MappedIntGraph graph) {
+        super(graph);
+    }
+
+    /**
+     * Maps the graph file.
+     *
+     * @param file the file written by {@link #save(Graph, Path)}
+     * @return the graph
+     * @throws UncheckedIOException if the file cannot be mapped
+     */
+    public static MappedGraph open(Path file) {
+        try {
+            return new MappedGraph(MappedIntGraph.open(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map the graph from " + file, e);
+        }
+    }
+
+    /**
+     * Maps the graph file and the file of its transpose.
+     *
+     * @param file the file written by {@link #save(Graph, Path)}
+     * @param transposedFile the file written by {@link #save(Graph, Path, Path)}
+     * @return the graph with indexed in edges
+     * @throws UncheckedIOException if the files cannot be mapped
+     */
+    public static MappedGraph open(Path file, Path transposedFile) {
+        try {
+            return new MappedGraph(MappedIntGraph.open(file, transposedFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map the graph from " + file, e);
+        }
+    }
+
+    /**
+     * Saves the graph with non-negative integer nodes in the mapped layout.
+     *
+     * @param graph the graph
+     * @param file the file
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static void save(Graph<Integer> graph, Path file) {
+        save(graph, file, null);
+    }
+
+    /**
+     * Saves the graph with non-negative integer nodes and its transpose in the mapped layout.
+     *
+     * @param graph the graph
+     * @param file the file
+     * @param transposedFile the file for the transposed graph, or null to skip it
+     * @throws UncheckedIOException if the files cannot be written
+     */
+    public static void save(Graph<Integer> graph, Path file, Path transposedFile) {
+        IntGraph intGraph = graph instanceof IntGraphAdapter
+                ? ((IntGraphAdapter) graph).getIntGraph()
+                : MutableIntGraph.copyOf(graph);
+        try {
+            MappedIntGraph.save(intGraph, file);
+            if (transposedFile != null) {
+                MappedIntGraph.save(intGraph.transpose(), transposedFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save the graph to " + file, e);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IndexedGraph#getIntGraph()
+     */
+    @Override
+    public MappedIntGraph getIntGraph() {
+        return (MappedIntGraph) super.getIntGraph();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#isInEdgesIndexed()
+     */
+    @Override
+    public boolean isInEdgesIndexed() {
+        return getIntGraph().isTransposeMapped();
+    }
+}
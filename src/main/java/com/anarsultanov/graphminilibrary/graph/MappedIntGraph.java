@@ -0,0 +1,326 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Immutable int graph in compressed sparse row format whose arrays live in a memory-mapped file.
+ * <p>
+ * The file is little-endian: magic {@code GMLM}, version (short), flags (short), node id bound (int),
+ * number of nodes (int), number of edges (long), reserved long, followed by the bitmap of nodes as longs
+ * if ids have holes, node id bound + 1 long offsets and the sorted int targets. Opening only maps the file,
+ * pages are loaded by the OS on access, so graphs larger than the heap can be traversed. The graph is never
+ * copied to the heap, so in neighbors are only available if the file of the transpose is mapped too.
+ */
+public class MappedIntGraph implements IntGraph {
+
+    static final int MAGIC = 0x474D4C4D;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final short NODES_BITMAP = 1;
+
+    private static final int LONG_WINDOW_SHIFT = 27;
+    private static final int INT_WINDOW_SHIFT = 28;
+
+    private final int nodeIdBound;
+    private final int nodesNumber;
+    private final long edges;
+    private final LongBuffer nodes;
+    private final LongBuffer[] offsets;
+    private final IntBuffer[] targets;
+    private MappedIntGraph transposed;
+
+    private MappedIntGraph(int nodeIdBound, int nodesNumber, long edges, LongBuffer nodes,
+                           LongBuffer[] offsets, IntBuffer[] targets, MappedIntGraph transposed) {
+        this.nodeIdBound = nodeIdBound;
+        this.nodesNumber = nodesNumber;
+        this.edges = edges;
+        this.nodes = nodes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.transposed = transposed;
+    }
+
+    /**
+     * Maps the graph file.
+     *
+     * @param file the file written by {@link #save(IntGraph, Path)}
+     * @return the mapped graph
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalStateException if the file is not a mapped graph
+     */
+    public static MappedIntGraph open(Path file) throws IOException {
+        return openFile(file, null);
+    }
+
+    /**
+     * Maps the graph file together with the file of its transpose, which then backs {@link #transpose()}.
+     *
+     * @param file the file written by {@link #save(IntGraph, Path)}
+     * @param transposedFile the file of the transposed graph
+     * @return the mapped graph
+     * @throws IOException if the files cannot be mapped
+     * @throws IllegalStateException if the files are not a mapped graph and its transpose
+     */
+    public static MappedIntGraph open(Path file, Path transposedFile) throws IOException {
+        MappedIntGraph transposed = openFile(transposedFile, null);
+        MappedIntGraph graph = openFile(file, transposed);
+        if (graph.nodeIdBound != transposed.nodeIdBound || graph.nodesNumber != transposed.nodesNumber
+                || graph.edges != transposed.edges) {
+            throw new IllegalStateException(transposedFile + " is not the transpose of " + file);
+        }
+        transposed.transposed = graph;
+        return graph;
+    }
+
+    private static MappedIntGraph openFile(Path file, MappedIntGraph transposed) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IllegalStateException("Not a mapped graph file: " + file);
+            }
+            short version = header.getShort();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported mapped graph file version " + version);
+            }
+            short flags = header.getShort();
+            int nodeIdBound = header.getInt();
+            int nodesNumber = header.getInt();
+            long edges = header.getLong();
+            int bitmapWords = (flags & NODES_BITMAP) != 0 ? bitmapWords(nodeIdBound) : 0;
+            long offsetsStart = HEADER_BYTES + 8L * bitmapWords;
+            long targetsStart = offsetsStart + 8L * (nodeIdBound + 1L);
+            if (nodeIdBound < 0 || nodesNumber < 0 || nodesNumber > nodeIdBound || edges < 0
+                    || (bitmapWords == 0 && nodesNumber != nodeIdBound)
+                    || channel.size() != targetsStart + 4L * edges) {
+                throw new IllegalStateException("Corrupted mapped graph file: " + file);
+            }
+            LongBuffer nodes = bitmapWords == 0 ? null : map(channel, HEADER_BYTES, 8L * bitmapWords).asLongBuffer();
+            LongBuffer[] offsets = new LongBuffer[windows(nodeIdBound + 1L, LONG_WINDOW_SHIFT)];
+            for (int i = 0; i < offsets.length; i++) {
+                long first = (long) i << LONG_WINDOW_SHIFT;
+                long count = Math.min(1L << LONG_WINDOW_SHIFT, nodeIdBound + 1L - first);
+                offsets[i] = map(channel, offsetsStart + 8 * first, 8 * count).asLongBuffer();
+            }
+            IntBuffer[] targets = new IntBuffer[windows(edges, INT_WINDOW_SHIFT)];
+            for (int i = 0; i < targets.length; i++) {
+                long first = (long) i << INT_WINDOW_SHIFT;
+                long count = Math.min(1L << INT_WINDOW_SHIFT, edges - first);
+                targets[i] = map(channel, targetsStart + 4 * first, 4 * count).asIntBuffer();
+            }
+            return new MappedIntGraph(nodeIdBound, nodesNumber, edges, nodes, offsets, targets, transposed);
+        }
+    }
+
+    private static int bitmapWords(int nodeIdBound) {
+        return (int) ((nodeIdBound + 63L) >>> 6);
+    }
+
+    private static int windows(long elements, int shift) {
+        return (int) Math.max(1, (elements + (1L << shift) - 1) >>> shift);
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes the graph to the file in the mapped layout, streaming one node at a time.
+     *
+     * @param graph the graph
+     * @param file the file
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(IntGraph graph, Path file) throws IOException {
+        int bound = graph.getNodeIdBound();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            long edges = 0;
+            BitSet nodes = new BitSet(bound);
+            for (int v = 0; v < bound; v++) {
+                if (graph.hasNode(v)) {
+                    nodes.set(v);
+                    edges += graph.outDegree(v);
+                }
+            }
+            boolean holes = nodes.cardinality() != bound;
+            buffer.putInt(MAGIC).putShort(VERSION).putShort(holes ? NODES_BITMAP : 0).putInt(bound)
+                    .putInt(nodes.cardinality()).putLong(edges).putLong(0);
+            if (holes) {
+                long[] words = Arrays.copyOf(nodes.toLongArray(), bitmapWords(bound));
+                for (long word : words) {
+                    if (buffer.remaining() < Long.BYTES)
+                        drain(channel, buffer);
+                    buffer.putLong(word);
+                }
+            }
+            long offset = 0;
+            for (int v = 0; v <= bound; v++) {
+                if (buffer.remaining() < Long.BYTES)
+                    drain(channel, buffer);
+                buffer.putLong(offset);
+                if (v < bound && graph.hasNode(v))
+                    offset += graph.outDegree(v);
+            }
+            int[] neighbors = new int[16];
+            for (int v = 0; v < bound; v++) {
+                if (!graph.hasNode(v))
+                    continue;
+                int degree = graph.outDegree(v);
+                if (degree > neighbors.length)
+                    neighbors = new int[Math.max(degree, neighbors.length * 2)];
+                for (int i = 0; i < degree; i++) {
+                    neighbors[i] = graph.outNeighbor(v, i);
+                }
+                Arrays.sort(neighbors, 0, degree);
+                for (int i = 0; i < degree; i++) {
+                    if (buffer.remaining() < Integer.BYTES)
+                        drain(channel, buffer);
+                    buffer.putInt(neighbors[i]);
+                }
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private long offset(int node) {
+        return offsets[node >>> LONG_WINDOW_SHIFT].get(node & ((1 << LONG_WINDOW_SHIFT) - 1));
+    }
+
+    private int target(long position) {
+        return targets[(int) (position >>> INT_WINDOW_SHIFT)].get((int) (position & ((1 << INT_WINDOW_SHIFT) - 1)));
+    }
+
+    /**
+     * Checks whether the transpose is mapped from a file, otherwise {@link #transpose()} is not supported.
+     *
+     * @return true, if the transpose is mapped
+     */
+    public boolean isTransposeMapped() {
+        return transposed != null;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#getNodesNumber()
+     */
+    @Override
+    public int getNodesNumber() {
+        return nodesNumber;
+    }
+
+    /**
+     * Gets the edges number.
+     *
+     * @return the edges number
+     * @throws ArithmeticException if the number exceeds the int range, {@link #getEdgesCount()} does not
+     */
+    @Override
+    public int getEdgesNumber() {
+        return Math.toIntExact(edges);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#getEdgesCount()
+     */
+    @Override
+    public long getEdgesCount() {
+        return edges;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#getNodeIdBound()
+     */
+    @Override
+    public int getNodeIdBound() {
+        return nodeIdBound;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#getModificationCount()
+     */
+    @Override
+    public long getModificationCount() {
+        return 0;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#hasNode(int)
+     */
+    @Override
+    public boolean hasNode(int node) {
+        return node >= 0 && node < nodeIdBound && (nodes == null || (nodes.get(node >>> 6) & (1L << node)) != 0);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#hasEdge(int, int)
+     */
+    @Override
+    public boolean hasEdge(int from, int to) {
+        if (!hasNode(from))
+            return false;
+        long low = offset(from);
+        long high = offset(from + 1) - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            int target = target(middle);
+            if (target < to) {
+                low = middle + 1;
+            } else if (target > to) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#outDegree(int)
+     */
+    @Override
+    public int outDegree(int node) {
+        return (int) (offset(node + 1) - offset(node));
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#outNeighbor(int, int)
+     */
+    @Override
+    public int outNeighbor(int node, int index) {
+        return target(offset(node) + index);
+    }
+
+    /**
+     * Gets the mapped transpose.
+     *
+     * @return the transposed graph
+     * @throws UnsupportedOperationException if the file of the transpose is not mapped
+     */
+    @Override
+    public MappedIntGraph transpose() {
+        if (transposed == null) {
+            throw new UnsupportedOperationException("The transpose of the mapped graph is not mapped");
+        }
+        return transposed;
+    }
+}
@@ -0,0 +1,226 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Mutable int graph implementation backed by open addressing int sets, edges are not boxed.
+ */
+public class MutableIntGraph implements IntGraph {
+
+    private IntNeighborSet[] adjacency;
+    private int nodeIdBound;
+    private int nodesNumber;
+    private int edgesNumber;
+    private long modificationCount;
+
+    /**
+     * Instantiates a new mutable int graph.
+     */
+    public MutableIntGraph() {
+        this(16);
+    }
+
+    /**
+     * Instantiates a new mutable int graph.
+     *
+     * @param expectedNodeIdBound the expected upper bound of node ids
+     */
+    public MutableIntGraph(int expectedNodeIdBound) {
+        this.adjacency = new IntNeighborSet[Math.max(1, expectedNodeIdBound)];
+    }
+
+    /**
+     * Copies the graph with non-negative Integer nodes.
+     *
+     * @param graph the graph
+     * @return the int graph
+     */
+    public static MutableIntGraph copyOf(Graph<Integer> graph) {
+        MutableIntGraph result = new MutableIntGraph();
+        graph.getAdjacencyListMap().forEach((from, neighbors) -> {
+            result.addNode(from);
+            neighbors.forEach(to -> result.addEdge(from, to));
+        });
+        return result;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#getNodesNumber()
+     */
+    @Override
+    public int getNodesNumber() {
+        return nodesNumber;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#getEdgesNumber()
+     */
+    @Override
+    public int getEdgesNumber() {
+        return edgesNumber;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#getNodeIdBound()
+     */
+    @Override
+    public int getNodeIdBound() {
+        return nodeIdBound;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#getModificationCount()
+     */
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Adds the node.
+     *
+     * @param node the node id
+     */
+    public void addNode(int node) {
+        if (node < 0) {
+            throw new IllegalArgumentException("Node id " + node + " is negative");
+        }
+        if (node >= adjacency.length) {
+            adjacency = Arrays.copyOf(adjacency, Math.max(node + 1, adjacency.length * 2));
+        }
+        if (adjacency[node] == null) {
+            adjacency[node] = new IntNeighborSet();
+            nodeIdBound = Math.max(nodeIdBound, node + 1);
+            nodesNumber++;
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Removes the node.
+     *
+     * @param node the node id
+     */
+    public void removeNode(int node) {
+        if (hasNode(node)) {
+            edgesNumber -= adjacency[node].size();
+            adjacency[node] = null;
+            for (int i = 0; i < nodeIdBound; i++) {
+                if (adjacency[i] != null && adjacency[i].remove(node))
+                    edgesNumber--;
+            }
+            nodesNumber--;
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Adds the edge, non-existent nodes are created.
+     *
+     * @param from the from node id
+     * @param to the to node id
+     */
+    public void addEdge(int from, int to) {
+        addNode(from);
+        addNode(to);
+        if (adjacency[from].add(to)) {
+            edgesNumber++;
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Removes the edge.
+     *
+     * @param from the from node id
+     * @param to the to node id
+     */
+    public void removeEdge(int from, int to) {
+        if (hasNode(from) && adjacency[from].remove(to)) {
+            edgesNumber--;
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Removes all nodes and edges.
+     */
+    public void clear() {
+        this.adjacency = new IntNeighborSet[16];
+        this.nodeIdBound = 0;
+        this.nodesNumber = 0;
+        this.edgesNumber = 0;
+        this.modificationCount++;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#hasNode(int)
+     */
+    @Override
+    public boolean hasNode(int node) {
+        return node >= 0 && node < nodeIdBound && adjacency[node] != null;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#hasEdge(int, int)
+     */
+    @Override
+    public boolean hasEdge(int from, int to) {
+        return hasNode(from) && adjacency[from].contains(to);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#outDegree(int)
+     */
+    @Override
+    public int outDegree(int node) {
+        return hasNode(node) ? adjacency[node].size() : 0;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#outNeighbor(int, int)
+     */
+    @Override
+    public int outNeighbor(int node, int index) {
+        return adjacency[node].get(index);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IntGraph#forEachOutNeighbor(int, java.util.function.IntConsumer)
+     */
+    @Override
+    public void forEachOutNeighbor(int node, IntConsumer action) {
+        if (hasNode(node)) {
+            IntNeighborSet neighbors = adjacency[node];
+            for (int i = 0; i < neighbors.size(); i++) {
+                action.accept(neighbors.get(i));
+            }
+        }
+    }
+
+    /**
+     * Makes an immutable CSR copy of the graph.
+     *
+     * @return the frozen graph
+     */
+    public FrozenIntGraph freeze() {
+        int[] offsets = new int[nodeIdBound + 1];
+        int[] targets = new int[edgesNumber];
+        BitSet nodes = nodesNumber == nodeIdBound ? null : new BitSet(nodeIdBound);
+        int position = 0;
+        for (int i = 0; i < nodeIdBound; i++) {
+            offsets[i] = position;
+            if (adjacency[i] != null) {
+                int[] sorted = adjacency[i].toSortedArray();
+                System.arraycopy(sorted, 0, targets, position, sorted.length);
+                position += sorted.length;
+                if (nodes != null)
+                    nodes.set(i);
+            }
+        }
+        offsets[nodeIdBound] = position;
+        return new FrozenIntGraph(offsets, targets, nodes);
+    }
+}
@@ -0,0 +1,440 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Graph implementation on persistent hash array mapped tries.
+ * <p>
+ * Every change produces a new version of the graph sharing all untouched structure with the previous
+ * one, at the price of copying O(log n) trie nodes per changed set. {@link #snapshot()} captures the
+ * current version in O(1), so algorithms can run against a frozen graph while it keeps changing.
+ * In edges are always indexed. Writers are serialized, readers never block and see the latest version.
+ */
+public class PersistentGraph<T> implements Graph<T> {
+
+    private volatile Version<T> version;
+    private final boolean frozen;
+
+    /**
+     * Instantiates a new empty persistent graph.
+     */
+    public PersistentGraph() {
+        this(new Version<>(PersistentHashMap.empty(), PersistentHashMap.empty(), 0, 0), false);
+    }
+
+    private PersistentGraph(Version<T> version, boolean frozen) {
+        this.version = version;
+        this.frozen = frozen;
+    }
+
+    /**
+     * Gets the immutable graph of the current version in O(1), later changes of this graph do not affect it.
+     *
+     * @return the snapshot
+     */
+    public PersistentGraph<T> snapshot() {
+        return frozen ? this : new PersistentGraph<>(version, true);
+    }
+
+    /**
+     * Checks whether the graph is a snapshot, which cannot be changed.
+     *
+     * @return true, if the graph is a snapshot
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Graph snapshot is immutable");
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#isInEdgesIndexed()
+     */
+    @Override
+    public boolean isInEdgesIndexed() {
+        return true;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#getAdjacencyListMap()
+     */
+    @Override
+    public Map<T, Set<T>> getAdjacencyListMap() {
+        return adjacencyListMap(version.out);
+    }
+
+    private static <T> Map<T, Set<T>> adjacencyListMap(PersistentHashMap<T, PersistentHashMap<T, Boolean>> out) {
+        return new AbstractMap<T, Set<T>>() {
+            @Override
+            public Set<Entry<T, Set<T>>> entrySet() {
+                return new AbstractSet<Entry<T, Set<T>>>() {
+                    @Override
+                    public Iterator<Entry<T, Set<T>>> iterator() {
+                        Iterator<Entry<T, PersistentHashMap<T, Boolean>>> entries = out.iterator();
+                        return new Iterator<Entry<T, Set<T>>>() {
+                            @Override
+                            public boolean hasNext() {
+                                return entries.hasNext();
+                            }
+
+                            @Override
+                            public Entry<T, Set<T>> next() {
+                                Entry<T, PersistentHashMap<T, Boolean>> entry = entries.next();
+                                return new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().keySet());
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return out.size();
+                    }
+                };
+            }
+
+            @Override
+            public Set<T> get(Object key) {
+                PersistentHashMap<T, Boolean> targets = out.get(key);
+                return targets == null ? null : targets.keySet();
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return out.containsKey(key);
+            }
+
+            @Override
+            public Set<T> keySet() {
+                return out.keySet();
+            }
+
+            @Override
+            public int size() {
+                return out.size();
+            }
+        };
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#forEachNode(java.util.function.Consumer)
+     */
+    @Override
+    public void forEachNode(Consumer<? super T> action) {
+        version.out.forEachKey(action);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#forEachOutNeighbor(java.lang.Object, java.util.function.Consumer)
+     */
+    @Override
+    public void forEachOutNeighbor(T node, Consumer<? super T> action) {
+        PersistentHashMap<T, Boolean> targets = version.out.get(node);
+        if (targets != null)
+            targets.forEachKey(action);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#forEachInNeighbor(java.lang.Object, java.util.function.Consumer)
+     */
+    @Override
+    public void forEachInNeighbor(T node, Consumer<? super T> action) {
+        PersistentHashMap<T, Boolean> sources = version.in.get(node);
+        if (sources != null)
+            sources.forEachKey(action);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#getNodesNumber()
+     */
+    @Override
+    public int getNodesNumber() {
+        return version.out.size();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#getEdgesNumber()
+     */
+    @Override
+    public int getEdgesNumber() {
+        return version.edges;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#getModificationCount()
+     */
+    @Override
+    public long getModificationCount() {
+        return version.modifications;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#addNode(java.lang.Object)
+     */
+    @Override
+    public synchronized void addNode(T node) {
+        checkMutable();
+        version = version.withNode(node);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#addNodes(java.util.Collection)
+     */
+    @Override
+    public synchronized void addNodes(Collection<? extends T> nodes) {
+        checkMutable();
+        Version<T> current = version;
+        for (T node : nodes) {
+            current = current.withNode(node);
+        }
+        version = current;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#removeNode(java.lang.Object)
+     */
+    @Override
+    public synchronized void removeNode(T node) {
+        checkMutable();
+        Version<T> current = version;
+        PersistentHashMap<T, Boolean> targets = current.out.get(node);
+        if (targets == null)
+            return;
+        PersistentHashMap<T, Boolean> sources = current.in.get(node);
+        PersistentHashMap<T, PersistentHashMap<T, Boolean>> out = current.out.remove(node);
+        PersistentHashMap<T, PersistentHashMap<T, Boolean>> in = current.in.remove(node);
+        int edges = current.edges - targets.size();
+        for (Map.Entry<T, Boolean> target : targets) {
+            PersistentHashMap<T, Boolean> set = in.get(target.getKey());
+            if (set != null)
+                in = in.put(target.getKey(), set.remove(node));
+        }
+        for (Map.Entry<T, Boolean> source : sources) {
+            PersistentHashMap<T, Boolean> set = out.get(source.getKey());
+            if (set != null) {
+                out = out.put(source.getKey(), set.remove(node));
+                edges--;
+            }
+        }
+        version = current.next(out, in, edges);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#outEdges(java.lang.Object)
+     */
+    @Override
+    public Set<T> outEdges(T node) {
+        PersistentHashMap<T, Boolean> targets = version.out.get(node);
+        return targets == null ? null : targets.keySet();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#inEdges(java.lang.Object)
+     */
+    @Override
+    public Set<T> inEdges(T node) {
+        PersistentHashMap<T, Boolean> sources = version.in.get(node);
+        return sources == null ? null : sources.keySet();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#addEdge(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public synchronized void addEdge(T from, T to) {
+        checkMutable();
+        Version<T> current = version.withNode(from).withNode(to);
+        PersistentHashMap<T, Boolean> targets = current.out.get(from);
+        if (!targets.containsKey(to)) {
+            current = current.next(current.out.put(from, targets.put(to, Boolean.TRUE)),
+                    current.in.put(to, current.in.get(to).put(from, Boolean.TRUE)), current.edges + 1);
+        }
+        version = current;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#addEdges(java.lang.Object[], java.lang.Object[])
+     */
+    @Override
+    public synchronized void addEdges(T[] from, T[] to) {
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("Expected as many from nodes as to nodes");
+        }
+        checkMutable();
+        EdgeBatch batch = new EdgeBatch(version);
+        for (int i = 0; i < from.length; i++) {
+            batch.add(from[i], to[i]);
+        }
+        version = batch.toVersion();
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#addEdges(java.util.stream.Stream)
+     */
+    @Override
+    public synchronized void addEdges(Stream<? extends Map.Entry<? extends T, ? extends T>> edges) {
+        checkMutable();
+        EdgeBatch batch = new EdgeBatch(version);
+        edges.forEachOrdered(edge -> batch.add(edge.getKey(), edge.getValue()));
+        version = batch.toVersion();
+    }
+
+    /**
+     * Collects the changed neighbor sets in hash maps first and writes each into the tries once,
+     * so the tries of the nodes are copied once per changed node instead of once per edge,
+     * and publishes a single new version.
+     */
+    private final class EdgeBatch {
+        private final Version<T> current;
+        private final Map<T, PersistentHashMap<T, Boolean>> outChanges = new HashMap<>();
+        private final Map<T, PersistentHashMap<T, Boolean>> inChanges = new HashMap<>();
+        private int edges;
+        private T lastSource;
+        private PersistentHashMap<T, Boolean> targets;
+
+        EdgeBatch(Version<T> current) {
+            this.current = current;
+            this.edges = current.edges;
+        }
+
+        void add(T source, T target) {
+            if (targets == null || !Objects.equals(source, lastSource)) {
+                if (targets != null)
+                    outChanges.put(lastSource, targets);
+                lastSource = source;
+                targets = outChanges.get(source);
+                if (targets == null)
+                    targets = neighbors(current.out, source);
+            }
+            PersistentHashMap<T, Boolean> added = targets.put(target, Boolean.TRUE);
+            if (added != targets) {
+                targets = added;
+                PersistentHashMap<T, Boolean> sources = inChanges.get(target);
+                if (sources == null)
+                    sources = neighbors(current.in, target);
+                inChanges.put(target, sources.put(source, Boolean.TRUE));
+                edges++;
+            }
+            // nodes without edges in one of the directions still need an empty set there
+            if (!current.out.containsKey(target))
+                outChanges.putIfAbsent(target, PersistentHashMap.empty());
+        }
+
+        Version<T> toVersion() {
+            if (targets != null)
+                outChanges.put(lastSource, targets);
+            PersistentHashMap<T, PersistentHashMap<T, Boolean>> out = current.out;
+            PersistentHashMap<T, PersistentHashMap<T, Boolean>> in = current.in;
+            for (Map.Entry<T, PersistentHashMap<T, Boolean>> change : outChanges.entrySet()) {
+                out = out.put(change.getKey(), change.getValue());
+                if (!in.containsKey(change.getKey()) && !inChanges.containsKey(change.getKey()))
+                    in = in.put(change.getKey(), PersistentHashMap.empty());
+            }
+            for (Map.Entry<T, PersistentHashMap<T, Boolean>> change : inChanges.entrySet()) {
+                in = in.put(change.getKey(), change.getValue());
+            }
+            return current.next(out, in, edges);
+        }
+    }
+
+    private static <T> PersistentHashMap<T, Boolean> neighbors(PersistentHashMap<T, PersistentHashMap<T, Boolean>> map,
+                                                             T node) {
+        PersistentHashMap<T, Boolean> neighbors = map.get(node);
+        return neighbors == null ? PersistentHashMap.empty() : neighbors;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#removeEdge(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public synchronized void removeEdge(T from, T to) {
+        checkMutable();
+        Version<T> current = version;
+        PersistentHashMap<T, Boolean> targets = current.out.get(from);
+        if (targets != null && targets.containsKey(to)) {
+            version = current.next(current.out.put(from, targets.remove(to)),
+                    current.in.put(to, current.in.get(to).remove(from)), current.edges - 1);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#hasNode(java.lang.Object)
+     */
+    @Override
+    public boolean hasNode(T node) {
+        return version.out.containsKey(node);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#hasEdge(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public boolean hasEdge(T from, T to) {
+        PersistentHashMap<T, Boolean> targets = version.out.get(from);
+        return targets != null && targets.containsKey(to);
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.Graph#clear()
+     */
+    @Override
+    public synchronized void clear() {
+        checkMutable();
+        version = version.next(PersistentHashMap.empty(), PersistentHashMap.empty(), 0);
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        Version<T> current = version;
+        return "PersistentGraph{" +
+                "adjacencyListMap=" + adjacencyListMap(current.out) +
+                ", nodesNumber=" + current.out.size() +
+                ", edgesNumber=" + current.edges +
+                '}';
+    }
+
+    /**
+     * Immutable state of the graph: out and in neighbors of every node, the number of edges
+     * and the number of versions before it.
+     */
+    private static final class Version<T> {
+        final PersistentHashMap<T, PersistentHashMap<T, Boolean>> out;
+        final PersistentHashMap<T, PersistentHashMap<T, Boolean>> in;
+        final int edges;
+        final long modifications;
+
+        Version(PersistentHashMap<T, PersistentHashMap<T, Boolean>> out,
+                PersistentHashMap<T, PersistentHashMap<T, Boolean>> in, int edges, long modifications) {
+            this.out = out;
+            this.in = in;
+            this.edges = edges;
+            this.modifications = modifications;
+        }
+
+        Version<T> next(PersistentHashMap<T, PersistentHashMap<T, Boolean>> out,
+                        PersistentHashMap<T, PersistentHashMap<T, Boolean>> in, int edges) {
+            return new Version<>(out, in, edges, modifications + 1);
+        }
+
+        Version<T> withNode(T node) {
+            if (out.containsKey(node))
+                return this;
+            return next(out.put(node, PersistentHashMap.empty()), in.put(node, PersistentHashMap.empty()), edges);
+        }
+    }
+}
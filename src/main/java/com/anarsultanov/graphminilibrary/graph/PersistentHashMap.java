@@ -0,0 +1,538 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Immutable hash array mapped trie.
+ * <p>
+ * Each level consumes 5 bits of the hash and keeps only the children present, indexed by the bit count
+ * of a 32-bit bitmap. Updates copy the path from the root to the changed leaf, O(log32 n) nodes,
+ * and share everything else with the previous version.
+ */
+final class PersistentHashMap<K, V> implements Iterable<Map.Entry<K, V>> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentHashMap EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Gets the empty map.
+     *
+     * @param <K> the keys type
+     * @param <V> the values type
+     * @return the empty map
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(Object key) {
+        return root == null ? null : (V) root.get(hash(key), key, 0);
+    }
+
+    boolean containsKey(Object key) {
+        return root != null && root.find(hash(key), key, 0) != null;
+    }
+
+    /**
+     * Maps the key to the value.
+     *
+     * @return the new version, or this map if the key is already mapped to the same value
+     */
+    PersistentHashMap<K, V> put(K key, V value) {
+        int hash = hash(key);
+        if (root == null) {
+            return new PersistentHashMap<>(new Leaf(hash, key, value), 1);
+        }
+        boolean[] added = new boolean[1];
+        Node newRoot = root.put(hash, key, value, 0, added);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @return the new version, or this map if there is no such key
+     */
+    PersistentHashMap<K, V> remove(Object key) {
+        if (root == null) {
+            return this;
+        }
+        Node newRoot = root.remove(hash(key), key, 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Performs the action for each key, walking the trie without allocating.
+     *
+     * @param action the action
+     */
+    void forEachKey(Consumer<? super K> action) {
+        if (root != null) {
+            root.forEachKey(action);
+        }
+    }
+
+    /**
+     * Gets the read-only view of the keys.
+     *
+     * @return the keys
+     */
+    Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                Iterator<Map.Entry<K, V>> entries = PersistentHashMap.this.iterator();
+                return new Iterator<K>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public K next() {
+                        return entries.next().getKey();
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public void forEach(Consumer<? super K> action) {
+                forEachKey(action);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Gets the read-only map view.
+     *
+     * @return the map
+     */
+    Map<K, V> asMap() {
+        return new AbstractMap<K, V>() {
+            @Override
+            public Set<Entry<K, V>> entrySet() {
+                return new AbstractSet<Entry<K, V>>() {
+                    @Override
+                    public Iterator<Entry<K, V>> iterator() {
+                        return PersistentHashMap.this.iterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+
+            @Override
+            public V get(Object key) {
+                return PersistentHashMap.this.get(key);
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return PersistentHashMap.this.containsKey(key);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Iterable#iterator()
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new EntryIterator<>(root);
+    }
+
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private abstract static class Node {
+
+        abstract Object get(int hash, Object key, int shift);
+
+        /**
+         * Gets the leaf holding the key, or null.
+         */
+        abstract Node find(int hash, Object key, int shift);
+
+        abstract Node put(int hash, Object key, Object value, int shift, boolean[] added);
+
+        /**
+         * Removes the key, returns null if nothing is left.
+         */
+        abstract Node remove(int hash, Object key, int shift);
+
+        abstract void forEachKey(Consumer<?> action);
+    }
+
+    /**
+     * Node of the entries with a single hash, either a leaf or a collision list.
+     */
+    private abstract static class HashNode extends Node {
+        final int hash;
+
+        HashNode(int hash) {
+            this.hash = hash;
+        }
+
+        /**
+         * Builds the subtree containing both nodes with different hashes.
+         */
+        static Node merge(HashNode a, HashNode b, int shift) {
+            int bitA = bit(a.hash, shift);
+            int bitB = bit(b.hash, shift);
+            if (bitA == bitB) {
+                return new Branch(bitA, new Node[]{merge(a, b, shift + BITS)});
+            }
+            return new Branch(bitA | bitB, Integer.compareUnsigned(bitA, bitB) < 0 ? new Node[]{a, b} : new Node[]{b, a});
+        }
+    }
+
+    private static final class Leaf extends HashNode implements Map.Entry<Object, Object> {
+        final Object key;
+        final Object value;
+
+        Leaf(int hash, Object key, Object value) {
+            super(hash);
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        Object get(int hash, Object key, int shift) {
+            return hash == this.hash && Objects.equals(key, this.key) ? value : null;
+        }
+
+        @Override
+        Node find(int hash, Object key, int shift) {
+            return hash == this.hash && Objects.equals(key, this.key) ? this : null;
+        }
+
+        @Override
+        Node put(int hash, Object key, Object value, int shift, boolean[] added) {
+            if (hash == this.hash) {
+                if (Objects.equals(key, this.key)) {
+                    return value == this.value ? this : new Leaf(hash, key, value);
+                }
+                added[0] = true;
+                return new Collision(hash, new Leaf[]{this, new Leaf(hash, key, value)});
+            }
+            added[0] = true;
+            return merge(this, new Leaf(hash, key, value), shift);
+        }
+
+        @Override
+        Node remove(int hash, Object key, int shift) {
+            return hash == this.hash && Objects.equals(key, this.key) ? null : this;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void forEachKey(Consumer<?> action) {
+            ((Consumer<Object>) action).accept(key);
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private static final class Collision extends HashNode {
+        final Leaf[] leaves;
+
+        Collision(int hash, Leaf[] leaves) {
+            super(hash);
+            this.leaves = leaves;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (Objects.equals(key, leaves[i].key))
+                    return i;
+            }
+            return -1;
+        }
+
+        @Override
+        Object get(int hash, Object key, int shift) {
+            Node leaf = find(hash, key, shift);
+            return leaf == null ? null : ((Leaf) leaf).value;
+        }
+
+        @Override
+        Node find(int hash, Object key, int shift) {
+            int i = hash == this.hash ? indexOf(key) : -1;
+            return i < 0 ? null : leaves[i];
+        }
+
+        @Override
+        Node put(int hash, Object key, Object value, int shift, boolean[] added) {
+            if (hash != this.hash) {
+                added[0] = true;
+                return merge(this, new Leaf(hash, key, value), shift);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (leaves[i].value == value)
+                    return this;
+                Leaf[] copy = leaves.clone();
+                copy[i] = new Leaf(hash, key, value);
+                return new Collision(hash, copy);
+            }
+            added[0] = true;
+            Leaf[] copy = Arrays.copyOf(leaves, leaves.length + 1);
+            copy[leaves.length] = new Leaf(hash, key, value);
+            return new Collision(hash, copy);
+        }
+
+        @Override
+        Node remove(int hash, Object key, int shift) {
+            int i = hash == this.hash ? indexOf(key) : -1;
+            if (i < 0)
+                return this;
+            if (leaves.length == 2)
+                return leaves[1 - i];
+            Leaf[] copy = new Leaf[leaves.length - 1];
+            System.arraycopy(leaves, 0, copy, 0, i);
+            System.arraycopy(leaves, i + 1, copy, i, copy.length - i);
+            return new Collision(hash, copy);
+        }
+
+        @Override
+        void forEachKey(Consumer<?> action) {
+            for (Leaf leaf : leaves) {
+                leaf.forEachKey(action);
+            }
+        }
+    }
+
+    private static final class Branch extends Node {
+        final int bitmap;
+        final Node[] children;
+
+        Branch(int bitmap, Node[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object get(int hash, Object key, int shift) {
+            int bit = bit(hash, shift);
+            return (bitmap & bit) == 0 ? null : children[index(bit)].get(hash, key, shift + BITS);
+        }
+
+        @Override
+        Node find(int hash, Object key, int shift) {
+            int bit = bit(hash, shift);
+            return (bitmap & bit) == 0 ? null : children[index(bit)].find(hash, key, shift + BITS);
+        }
+
+        @Override
+        Node put(int hash, Object key, Object value, int shift, boolean[] added) {
+            int bit = bit(hash, shift);
+            int i = index(bit);
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                Node[] copy = new Node[children.length + 1];
+                System.arraycopy(children, 0, copy, 0, i);
+                copy[i] = new Leaf(hash, key, value);
+                System.arraycopy(children, i, copy, i + 1, children.length - i);
+                return new Branch(bitmap | bit, copy);
+            }
+            Node child = children[i].put(hash, key, value, shift + BITS, added);
+            if (child == children[i])
+                return this;
+            Node[] copy = children.clone();
+            copy[i] = child;
+            return new Branch(bitmap, copy);
+        }
+
+        @Override
+        Node remove(int hash, Object key, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0)
+                return this;
+            int i = index(bit);
+            Node child = children[i].remove(hash, key, shift + BITS);
+            if (child == children[i])
+                return this;
+            if (child == null) {
+                if (children.length == 1)
+                    return null;
+                // a single remaining leaf moves up to keep the trie as shallow as possible
+                if (children.length == 2 && children[1 - i] instanceof HashNode)
+                    return children[1 - i];
+                Node[] copy = new Node[children.length - 1];
+                System.arraycopy(children, 0, copy, 0, i);
+                System.arraycopy(children, i + 1, copy, i, copy.length - i);
+                return new Branch(bitmap & ~bit, copy);
+            }
+            if (children.length == 1 && child instanceof HashNode)
+                return child;
+            Node[] copy = children.clone();
+            copy[i] = child;
+            return new Branch(bitmap, copy);
+        }
+
+        @Override
+        void forEachKey(Consumer<?> action) {
+            for (Node child : children) {
+                child.forEachKey(action);
+            }
+        }
+    }
+
+    /**
+     * Depth-first iterator keeping the path of branches and the positions in them.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private final Node[][] stack = new Node[8][];
+        private final int[] positions = new int[8];
+        private int depth = -1;
+        private Leaf[] collision;
+        private int collisionPosition;
+        private Leaf next;
+
+        EntryIterator(Node root) {
+            if (root != null) {
+                stack[0] = new Node[]{root};
+                depth = 0;
+            }
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            if (collision != null) {
+                if (collisionPosition < collision.length) {
+                    next = collision[collisionPosition++];
+                    return;
+                }
+                collision = null;
+            }
+            while (depth >= 0) {
+                if (positions[depth] == stack[depth].length) {
+                    positions[depth] = 0;
+                    depth--;
+                    continue;
+                }
+                Node node = stack[depth][positions[depth]++];
+                if (node instanceof Leaf) {
+                    next = (Leaf) node;
+                    return;
+                }
+                if (node instanceof Collision) {
+                    collision = ((Collision) node).leaves;
+                    collisionPosition = 1;
+                    next = collision[0];
+                    return;
+                }
+                depth++;
+                stack[depth] = ((Branch) node).children;
+                positions[depth] = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+            if (next == null)
+                throw new NoSuchElementException();
+            Leaf result = next;
+            advance();
+            return (Map.Entry<K, V>) (Map.Entry<?, ?>) result;
+        }
+    }
+}
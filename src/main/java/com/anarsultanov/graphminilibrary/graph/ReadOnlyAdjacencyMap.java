@@ -0,0 +1,74 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Read-only view of an adjacency list map, the neighbor sets are read-only as well.
+ */
+final class ReadOnlyAdjacencyMap<T> extends AbstractMap<T, Set<T>> {
+
+    private final Map<T, Set<T>> map;
+
+    ReadOnlyAdjacencyMap(Map<T, Set<T>> map) {
+        this.map = map;
+    }
+
+    @Override
+    public Set<T> get(Object key) {
+        Set<T> neighbors = map.get(key);
+        return neighbors == null ? null : Collections.unmodifiableSet(neighbors);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public Set<T> keySet() {
+        return Collections.unmodifiableSet(map.keySet());
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super T, ? super Set<T>> action) {
+        map.forEach((node, neighbors) -> action.accept(node, Collections.unmodifiableSet(neighbors)));
+    }
+
+    @Override
+    public Set<Entry<T, Set<T>>> entrySet() {
+        return new AbstractSet<Entry<T, Set<T>>>() {
+            @Override
+            public Iterator<Entry<T, Set<T>>> iterator() {
+                Iterator<Entry<T, Set<T>>> entries = map.entrySet().iterator();
+                return new Iterator<Entry<T, Set<T>>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Entry<T, Set<T>> next() {
+                        Entry<T, Set<T>> entry = entries.next();
+                        return new SimpleImmutableEntry<>(entry.getKey(), Collections.unmodifiableSet(entry.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+        };
+    }
+}
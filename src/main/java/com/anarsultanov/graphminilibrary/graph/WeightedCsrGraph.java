@@ -0,0 +1,107 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable weighted graph implementation in compressed sparse row format.
+ * <p>
+ * Nodes are mapped to dense int ids as in {@link CsrGraph}, the weights of out edges are stored
+ * in a double array parallel to the targets of the {@link FrozenWeightedIntGraph}.
+ * Use {@link Builder} to collect the edges.
+ */
+public class WeightedCsrGraph<T> extends CsrGraph<T> implements WeightedGraph<T> {
+
+    private final FrozenWeightedIntGraph intGraph;
+
+    /**
+     * Instantiates a new weighted CSR graph from the node dictionary and the int graph over its positions.
+     *
+     * @param nodes the nodes, the node with id {@code i} is at position {@code i}
+     * @param intGraph the weighted int graph with node ids below {@code nodes.size()}
+     */
+    public WeightedCsrGraph(List<T> nodes, FrozenWeightedIntGraph intGraph) {
+        super(nodes, intGraph);
+        this.intGraph = intGraph;
+    }
+
+    /* (non-Javadoc)
+     * @see com.anarsultanov.graphminilibrary.graph.IndexedGraph#getIntGraph()
+     */
+    @Override
+    public FrozenWeightedIntGraph getIntGraph() {
+        return intGraph;
+    }
+
+    /**
+     * Collects nodes and weighted edges and builds the graph, node ids are assigned in the order nodes are met.
+     */
+    public static class Builder<T> {
+
+        private final Map<T, Integer> ids = new HashMap<>();
+        private final List<T> nodes = new ArrayList<>();
+        private int[] sources = new int[16];
+        private int[] targets = new int[16];
+        private double[] weights = new double[16];
+        private int edges;
+
+        /**
+         * Adds the node.
+         *
+         * @param node the node
+         * @return this builder
+         */
+        public Builder<T> addNode(T node) {
+            idOf(node);
+            return this;
+        }
+
+        /**
+         * Adds the edge, adding its nodes if needed. Of duplicate edges the one with the smallest weight is kept.
+         *
+         * @param from the from node
+         * @param to the to node
+         * @param weight the weight, a non-negative number
+         * @return this builder
+         * @throws IllegalArgumentException if the weight is negative or NaN
+         */
+        public Builder<T> addEdge(T from, T to, double weight) {
+            if (!(weight >= 0)) {
+                throw new IllegalArgumentException("Edge weight must be a non-negative number, got " + weight);
+            }
+            if (edges == sources.length) {
+                int capacity = edges * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            sources[edges] = idOf(from);
+            targets[edges] = idOf(to);
+            weights[edges++] = weight;
+            return this;
+        }
+
+        private int idOf(T node) {
+            Integer id = ids.get(node);
+            if (id == null) {
+                id = nodes.size();
+                ids.put(node, id);
+                nodes.add(node);
+            }
+            return id;
+        }
+
+        /**
+         * Builds the graph, the builder can be used further.
+         *
+         * @return the weighted CSR graph
+         */
+        public WeightedCsrGraph<T> build() {
+            return new WeightedCsrGraph<>(nodes, FrozenWeightedIntGraph.fromEdges(nodes.size(),
+                    Arrays.copyOf(sources, edges), Arrays.copyOf(targets, edges), Arrays.copyOf(weights, edges)));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+/**
+ * The indexed graph whose edges carry non-negative double weights, stored by its weighted int view.
+ */
+public interface WeightedGraph<T> extends IndexedGraph<T> {
+
+    /**
+     * Gets the weight of the edge.
+     *
+     * @param from the from node
+     * @param to the to node
+     * @return the weight, or NaN if there is no such edge
+     */
+    default double getWeight(T from, T to) {
+        int fromId = indexOf(from);
+        int toId = indexOf(to);
+        return fromId < 0 || toId < 0 ? Double.NaN : getIntGraph().getWeight(fromId, toId);
+    }
+
+    /**
+     * Gets the weighted int view of the graph.
+     *
+     * @return the int graph
+     */
+    @Override
+    WeightedIntGraph getIntGraph();
+}
@@ -0,0 +1,34 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+/**
+ * The int graph whose edges carry non-negative double weights.
+ */
+public interface WeightedIntGraph extends IntGraph {
+
+    /**
+     * Gets the weight of the node's out edge by its position.
+     *
+     * @param node the node id
+     * @param index the position, from 0 to out degree exclusive, the same as for {@link #outNeighbor(int, int)}
+     * @return the weight
+     */
+    double outWeight(int node, int index);
+
+    /**
+     * Gets the weight of the edge.
+     *
+     * @param from the from node id
+     * @param to the to node id
+     * @return the weight, or NaN if there is no such edge
+     */
+    default double getWeight(int from, int to) {
+        if (!hasNode(from))
+            return Double.NaN;
+        int degree = outDegree(from);
+        for (int i = 0; i < degree; i++) {
+            if (outNeighbor(from, i) == to)
+                return outWeight(from, i);
+        }
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,323 @@
+package com.anarsultanov.graphminilibrary.utilities;
+
+import com.anarsultanov.graphminilibrary.graph.CsrGraph;
+import com.anarsultanov.graphminilibrary.graph.FrozenIntGraph;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Versioned binary graph file.
+ * <p>
+ * The file is big-endian and consists of
+ * <ul>
+ * <li>the header: magic {@code GMLG}, version (short), node type (byte), reserved byte, number of nodes (int),
+ * number of edges (int), length of the dictionary section (long) and of the adjacency section (long);</li>
+ * <li>the dictionary section: node {@code i} is the {@code i}-th int, long, varint-length-prefixed UTF-8 string
+ * or serialized object, depending on the node type;</li>
+ * <li>the CSR offsets: number of nodes + 1 ints, out edges of node {@code i} are edges
+ * {@code offsets[i]..offsets[i + 1] - 1};</li>
+ * <li>the adjacency section: sorted targets of each node as varints, the first one as is
+ * and the rest as the difference from the previous one.</li>
+ * </ul>
+ */
+final class BinaryGraphFormat {
+
+    static final int MAGIC = 0x474D4C47;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 32;
+
+    static final byte INTEGER_NODES = 0;
+    static final byte LONG_NODES = 1;
+    static final byte STRING_NODES = 2;
+    static final byte SERIALIZED_NODES = 3;
+
+    private static final long WINDOW_BYTES = 1L << 30;
+
+    private BinaryGraphFormat() {
+    }
+
+    static <T extends Serializable> void write(Graph<T> graph, Path file) throws IOException {
+        CsrGraph<T> csrGraph = CsrGraph.of(graph);
+        FrozenIntGraph intGraph = csrGraph.getIntGraph();
+        int nodes = intGraph.getNodeIdBound();
+        byte type = nodeType(csrGraph);
+        byte[] dictionary = dictionary(csrGraph, type);
+        int[] offsets = intGraph.getOffsets();
+        int[] targets = intGraph.getTargets();
+        long adjacencyBytes = 0;
+        for (int v = 0; v < nodes; v++) {
+            int previous = 0;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                adjacencyBytes += varintBytes(targets[e] - previous);
+                previous = targets[e];
+            }
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeByte(type);
+            out.writeByte(0);
+            out.writeInt(nodes);
+            out.writeInt(targets.length);
+            out.writeLong(dictionary.length);
+            out.writeLong(adjacencyBytes);
+            out.write(dictionary);
+            for (int i = 0; i <= nodes; i++) {
+                out.writeInt(offsets[i]);
+            }
+            for (int v = 0; v < nodes; v++) {
+                int previous = 0;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    writeVarint(out, targets[e] - previous);
+                    previous = targets[e];
+                }
+            }
+        }
+    }
+
+    private static byte nodeType(CsrGraph<?> graph) {
+        boolean integers = true;
+        boolean longs = true;
+        boolean strings = true;
+        for (int i = 0; i < graph.getIntGraph().getNodeIdBound(); i++) {
+            Object node = graph.nodeAt(i);
+            integers &= node instanceof Integer;
+            longs &= node instanceof Long;
+            strings &= node instanceof String;
+        }
+        return integers ? INTEGER_NODES : longs ? LONG_NODES : strings ? STRING_NODES : SERIALIZED_NODES;
+    }
+
+    private static byte[] dictionary(CsrGraph<?> graph, byte type) throws IOException {
+        int nodes = graph.getIntGraph().getNodeIdBound();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (type == SERIALIZED_NODES) {
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                for (int i = 0; i < nodes; i++) {
+                    out.writeObject(graph.nodeAt(i));
+                }
+            }
+            return bytes.toByteArray();
+        }
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (int i = 0; i < nodes; i++) {
+                Object node = graph.nodeAt(i);
+                if (type == INTEGER_NODES) {
+                    out.writeInt((Integer) node);
+                } else if (type == LONG_NODES) {
+                    out.writeLong((Long) node);
+                } else {
+                    byte[] utf8 = ((String) node).getBytes(StandardCharsets.UTF_8);
+                    writeVarint(out, utf8.length);
+                    out.write(utf8);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> CsrGraph<T> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedInput in = new MappedInput(channel);
+            if (in.size() < HEADER_BYTES || in.getInt() != MAGIC) {
+                throw new IllegalStateException("Not a graph file: " + file);
+            }
+            short version = in.getShort();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported graph file version " + version);
+            }
+            byte type = in.get();
+            in.get();
+            int nodes = in.getInt();
+            int edges = in.getInt();
+            long dictionaryBytes = in.getLong();
+            long adjacencyBytes = in.getLong();
+            if (nodes < 0 || edges < 0 || dictionaryBytes < 0 || adjacencyBytes < 0
+                    || HEADER_BYTES + dictionaryBytes + 4L * (nodes + 1) + adjacencyBytes != in.size()) {
+                throw new IllegalStateException("Corrupted graph file: " + file);
+            }
+
+            List<T> dictionary = (List<T>) readDictionary(in, type, nodes, dictionaryBytes);
+            int[] offsets = new int[nodes + 1];
+            for (int i = 0; i <= nodes; i++) {
+                offsets[i] = in.getInt();
+            }
+            if (offsets[0] != 0 || offsets[nodes] != edges) {
+                throw new IllegalStateException("Corrupted graph file: " + file);
+            }
+            int[] targets = new int[edges];
+            long adjacencyStart = in.position();
+            for (int v = 0; v < nodes; v++) {
+                if (offsets[v + 1] < offsets[v]) {
+                    throw new IllegalStateException("Corrupted graph file: " + file);
+                }
+                int target = 0;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int delta = in.getVarint();
+                    target += delta;
+                    // targets must stay sorted and unique, which the binary search of hasEdge relies on
+                    if (delta < (e == offsets[v] ? 0 : 1) || target < 0 || target >= nodes) {
+                        throw new IllegalStateException("Corrupted graph file: " + file);
+                    }
+                    targets[e] = target;
+                }
+            }
+            if (in.position() - adjacencyStart != adjacencyBytes) {
+                throw new IllegalStateException("Corrupted graph file: " + file);
+            }
+            return new CsrGraph<>(dictionary, new FrozenIntGraph(offsets, targets));
+        }
+    }
+
+    private static List<?> readDictionary(MappedInput in, byte type, int nodes, long bytes) throws IOException {
+        switch (type) {
+            case INTEGER_NODES: {
+                Integer[] dictionary = new Integer[nodes];
+                for (int i = 0; i < nodes; i++) {
+                    dictionary[i] = in.getInt();
+                }
+                return Arrays.asList(dictionary);
+            }
+            case LONG_NODES: {
+                Long[] dictionary = new Long[nodes];
+                for (int i = 0; i < nodes; i++) {
+                    dictionary[i] = in.getLong();
+                }
+                return Arrays.asList(dictionary);
+            }
+            case STRING_NODES: {
+                String[] dictionary = new String[nodes];
+                byte[] buffer = new byte[64];
+                for (int i = 0; i < nodes; i++) {
+                    int length = in.getVarint();
+                    if (length > buffer.length) {
+                        buffer = new byte[Math.max(length, buffer.length * 2)];
+                    }
+                    in.get(buffer, length);
+                    dictionary[i] = new String(buffer, 0, length, StandardCharsets.UTF_8);
+                }
+                return Arrays.asList(dictionary);
+            }
+            case SERIALIZED_NODES: {
+                if (bytes > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("The dictionary of serialized nodes exceeds 2 GB");
+                }
+                byte[] serialized = new byte[(int) bytes];
+                in.get(serialized, serialized.length);
+                List<Object> dictionary = new ArrayList<>(nodes);
+                try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+                    for (int i = 0; i < nodes; i++) {
+                        dictionary.add(objects.readObject());
+                    }
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("Unknown node class", e);
+                }
+                return dictionary;
+            }
+            default:
+                throw new IllegalStateException("Unknown node type " + type);
+        }
+    }
+
+    private static int varintBytes(int value) {
+        return value == 0 ? 1 : (31 - Integer.numberOfLeadingZeros(value)) / 7 + 1;
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Sequential big-endian reader over a file mapped in windows of at most 1 GB.
+     */
+    private static class MappedInput {
+        private final MappedByteBuffer[] windows;
+        private final long size;
+        private int window;
+
+        MappedInput(FileChannel channel) throws IOException {
+            this.size = channel.size();
+            this.windows = new MappedByteBuffer[(int) Math.max(1, (size + WINDOW_BYTES - 1) / WINDOW_BYTES)];
+            for (int i = 0; i < windows.length; i++) {
+                long start = i * WINDOW_BYTES;
+                windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_BYTES, size - start));
+            }
+        }
+
+        long size() {
+            return size;
+        }
+
+        long position() {
+            return window * WINDOW_BYTES + windows[window].position();
+        }
+
+        byte get() {
+            MappedByteBuffer buffer = windows[window];
+            if (!buffer.hasRemaining()) {
+                if (window + 1 == windows.length) {
+                    throw new IllegalStateException("Unexpected end of the graph file");
+                }
+                buffer = windows[++window];
+            }
+            return buffer.get();
+        }
+
+        void get(byte[] destination, int length) {
+            for (int i = 0; i < length; i++) {
+                destination[i] = get();
+            }
+        }
+
+        short getShort() {
+            return (short) ((get() & 0xFF) << 8 | get() & 0xFF);
+        }
+
+        int getInt() {
+            MappedByteBuffer buffer = windows[window];
+            if (buffer.remaining() >= Integer.BYTES) {
+                return buffer.getInt();
+            }
+            return (get() & 0xFF) << 24 | (get() & 0xFF) << 16 | (get() & 0xFF) << 8 | get() & 0xFF;
+        }
+
+        long getLong() {
+            return (long) getInt() << 32 | getInt() & 0xFFFFFFFFL;
+        }
+
+        int getVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = get();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed varint in the graph file");
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.anarsultanov.graphminilibrary.utilities;
+
+import com.anarsultanov.graphminilibrary.graph.CsrGraph;
+import com.anarsultanov.graphminilibrary.graph.FrozenIntGraph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Loads graphs from text edge lists, one edge per line as two whitespace-separated node ids.
+ * Lines starting with {@code #} or {@code %} are comments, columns after the second are ignored.
+ * <p>
+ * The file is split into ranges of whole lines which are memory-mapped and parsed in parallel,
+ * so only the parsed edges are kept on heap. Numeric ids are parsed straight from the bytes and
+ * mapped to dense ids by sorting; string ids are interned per range from their bytes, so a String
+ * is created once per distinct id in a range rather than once per token.
+ */
+public class EdgeListLoader {
+
+    private static final int RANGE_BYTES = 1 << 26;
+
+    /**
+     * Load graph with integer node ids from the edge list file.
+     *
+     * @param filename the filename
+     * @return the result
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalStateException if a line is malformed
+     */
+    public static Result<Integer> loadIntegers(String filename) {
+        return load(Paths.get(filename), true, RANGE_BYTES);
+    }
+
+    /**
+     * Load graph with string node ids from the edge list file.
+     *
+     * @param filename the filename
+     * @return the result
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalStateException if a line is malformed
+     */
+    public static Result<String> loadStrings(String filename) {
+        return load(Paths.get(filename), false, RANGE_BYTES);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Result<T> load(Path file, boolean numeric, int rangeBytes) {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] boundaries = boundaries(channel, rangeBytes);
+            Range[] ranges = new Range[boundaries.length - 1];
+            IntStream.range(0, ranges.length).parallel().forEach(i ->
+                    ranges[i] = parse(channel, boundaries[i], boundaries[i + 1], numeric));
+
+            int[] offsets = new int[ranges.length + 1];
+            for (int i = 0; i < ranges.length; i++) {
+                offsets[i + 1] = Math.addExact(offsets[i], ranges[i].size);
+            }
+            int[] sources = new int[offsets[ranges.length]];
+            int[] targets = new int[sources.length];
+            List<T> nodes = (List<T>) (numeric
+                    ? denseIntegerIds(ranges, offsets, sources, targets)
+                    : mergeStringIds(ranges, offsets, sources, targets));
+            CsrGraph<T> graph = new CsrGraph<>(nodes, FrozenIntGraph.fromEdges(nodes.size(), sources, targets));
+            return new Result<>(graph, sources.length, channel.size(), System.nanoTime() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load the edge list from " + file, e);
+        }
+    }
+
+    /**
+     * Splits the file at the line breaks following every multiple of the range size.
+     */
+    private static long[] boundaries(FileChannel channel, int rangeBytes) throws IOException {
+        long size = channel.size();
+        long[] boundaries = new long[(int) ((size + rangeBytes - 1) / rangeBytes) + 2];
+        int count = 1;
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        for (long nominal = rangeBytes; nominal < size; nominal += rangeBytes) {
+            long position = Math.max(nominal, boundaries[count - 1]);
+            long boundary = size;
+            while (boundary == size && position < size) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        boundary = position + i + 1;
+                        break;
+                    }
+                }
+                position += Math.max(read, 0);
+            }
+            if (boundary > boundaries[count - 1] && boundary < size)
+                boundaries[count++] = boundary;
+        }
+        boundaries[count++] = size;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    private static Range parse(FileChannel channel, long from, long to, boolean numeric) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Range range = new Range(numeric ? null : new TokenTable(), (int) Math.min(1 << 20, (to - from) / 8 + 16));
+        int limit = buffer.limit();
+        int p = 0;
+        while (p < limit) {
+            p = skipSpaces(buffer, p, limit);
+            if (p == limit)
+                break;
+            byte b = buffer.get(p);
+            if (b == '\n' || b == '#' || b == '%') {
+                p = nextLine(buffer, p, limit);
+                continue;
+            }
+            int firstEnd = tokenEnd(buffer, p, limit);
+            int second = skipSpaces(buffer, firstEnd, limit);
+            int secondEnd = tokenEnd(buffer, second, limit);
+            if (second == secondEnd) {
+                throw new IllegalStateException("Expected two node ids at byte " + (from + p));
+            }
+            if (numeric) {
+                range.add(parseInt(buffer, p, firstEnd, from), parseInt(buffer, second, secondEnd, from));
+            } else {
+                range.add(range.tokens.intern(buffer, p, firstEnd), range.tokens.intern(buffer, second, secondEnd));
+            }
+            p = nextLine(buffer, secondEnd, limit);
+        }
+        return range;
+    }
+
+    private static int skipSpaces(ByteBuffer buffer, int p, int limit) {
+        while (p < limit) {
+            byte b = buffer.get(p);
+            if (b != ' ' && b != '\t' && b != '\r')
+                break;
+            p++;
+        }
+        return p;
+    }
+
+    private static int tokenEnd(ByteBuffer buffer, int p, int limit) {
+        while (p < limit) {
+            byte b = buffer.get(p);
+            if (b == ' ' || b == '\t' || b == '\r' || b == '\n')
+                break;
+            p++;
+        }
+        return p;
+    }
+
+    private static int nextLine(ByteBuffer buffer, int p, int limit) {
+        while (p < limit) {
+            if (buffer.get(p++) == '\n')
+                break;
+        }
+        return p;
+    }
+
+    private static int parseInt(ByteBuffer buffer, int from, int to, long base) {
+        boolean negative = buffer.get(from) == '-';
+        int p = negative ? from + 1 : from;
+        if (p == to || to - p > 10) {
+            throw new IllegalStateException("Invalid node id at byte " + (base + from));
+        }
+        long value = 0;
+        for (; p < to; p++) {
+            int digit = buffer.get(p) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalStateException("Invalid node id at byte " + (base + from));
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value != (int) value) {
+            throw new IllegalStateException("Node id out of the int range at byte " + (base + from));
+        }
+        return (int) value;
+    }
+
+    /**
+     * Replaces parsed ids with their positions among the sorted distinct ids.
+     */
+    private static List<Integer> denseIntegerIds(Range[] ranges, int[] offsets, int[] sources, int[] targets) {
+        IntStream.range(0, ranges.length).parallel().forEach(i -> {
+            System.arraycopy(ranges[i].sources, 0, sources, offsets[i], ranges[i].size);
+            System.arraycopy(ranges[i].targets, 0, targets, offsets[i], ranges[i].size);
+            ranges[i] = null;
+        });
+        int[] ids = new int[sources.length * 2];
+        System.arraycopy(sources, 0, ids, 0, sources.length);
+        System.arraycopy(targets, 0, ids, sources.length, targets.length);
+        Arrays.parallelSort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (distinct == 0 || ids[distinct - 1] != ids[i])
+                ids[distinct++] = ids[i];
+        }
+        int[] dictionary = Arrays.copyOf(ids, distinct);
+        IntStream.range(0, sources.length).parallel().forEach(e -> {
+            sources[e] = Arrays.binarySearch(dictionary, sources[e]);
+            targets[e] = Arrays.binarySearch(dictionary, targets[e]);
+        });
+        Integer[] nodes = new Integer[distinct];
+        for (int i = 0; i < distinct; i++) {
+            nodes[i] = dictionary[i];
+        }
+        return Arrays.asList(nodes);
+    }
+
+    /**
+     * Assigns global ids to the tokens of each range in order and translates the range ids.
+     */
+    private static List<String> mergeStringIds(Range[] ranges, int[] offsets, int[] sources, int[] targets) {
+        Map<String, Integer> ids = new HashMap<>();
+        String[] nodes = new String[16];
+        int[][] translations = new int[ranges.length][];
+        for (int i = 0; i < ranges.length; i++) {
+            TokenTable tokens = ranges[i].tokens;
+            int[] translation = new int[tokens.size];
+            for (int local = 0; local < tokens.size; local++) {
+                String node = new String(tokens.keys[local], StandardCharsets.UTF_8);
+                Integer id = ids.putIfAbsent(node, ids.size());
+                if (id == null) {
+                    id = ids.size() - 1;
+                    if (id == nodes.length)
+                        nodes = Arrays.copyOf(nodes, id * 2);
+                    nodes[id] = node;
+                }
+                translation[local] = id;
+            }
+            translations[i] = translation;
+        }
+        IntStream.range(0, ranges.length).parallel().forEach(i -> {
+            int[] translation = translations[i];
+            Range range = ranges[i];
+            for (int e = 0; e < range.size; e++) {
+                sources[offsets[i] + e] = translation[range.sources[e]];
+                targets[offsets[i] + e] = translation[range.targets[e]];
+            }
+            ranges[i] = null;
+        });
+        return Arrays.asList(Arrays.copyOf(nodes, ids.size()));
+    }
+
+    /**
+     * Edges parsed from one range of lines.
+     */
+    private static class Range {
+        private final TokenTable tokens;
+        private int[] sources;
+        private int[] targets;
+        private int size;
+
+        Range(TokenTable tokens, int capacity) {
+            this.tokens = tokens;
+            this.sources = new int[capacity];
+            this.targets = new int[capacity];
+        }
+
+        void add(int from, int to) {
+            if (size == sources.length) {
+                int capacity = Math.max(16, size + (size >> 1));
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+            }
+            sources[size] = from;
+            targets[size++] = to;
+        }
+    }
+
+    /**
+     * Open-addressing table from token bytes to local ids, looked up without copying the bytes.
+     */
+    private static class TokenTable {
+        private int[] slots = new int[1024];
+        private byte[][] keys = new byte[512][];
+        private int[] hashes = new int[512];
+        private int size;
+
+        int intern(ByteBuffer buffer, int from, int to) {
+            int hash = 0x811C9DC5;
+            for (int p = from; p < to; p++) {
+                hash = (hash ^ buffer.get(p)) * 0x01000193;
+            }
+            int mask = slots.length - 1;
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                int id = slots[slot] - 1;
+                if (id < 0) {
+                    byte[] key = new byte[to - from];
+                    for (int p = from; p < to; p++) {
+                        key[p - from] = buffer.get(p);
+                    }
+                    return insert(slot, key, hash);
+                }
+                if (hashes[id] == hash && matches(keys[id], buffer, from, to))
+                    return id;
+            }
+        }
+
+        private int insert(int slot, byte[] key, int hash) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                hashes = Arrays.copyOf(hashes, size * 2);
+            }
+            keys[size] = key;
+            hashes[size] = hash;
+            slots[slot] = ++size;
+            if (size * 2 > slots.length) {
+                int[] grown = new int[slots.length * 2];
+                int mask = grown.length - 1;
+                for (int id = 0; id < size; id++) {
+                    int s = hashes[id] & mask;
+                    while (grown[s] != 0) {
+                        s = (s + 1) & mask;
+                    }
+                    grown[s] = id + 1;
+                }
+                slots = grown;
+            }
+            return size - 1;
+        }
+
+        private static boolean matches(byte[] key, ByteBuffer buffer, int from, int to) {
+            if (key.length != to - from)
+                return false;
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buffer.get(from + i))
+                    return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The result of loading.
+     */
+    public static class Result<T> {
+        private final CsrGraph<T> graph;
+        private final long edgesRead;
+        private final long bytesRead;
+        private final long nanos;
+
+        private Result(CsrGraph<T> graph, long edgesRead, long bytesRead, long nanos) {
+            this.graph = graph;
+            this.edgesRead = edgesRead;
+            this.bytesRead = bytesRead;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Get the loaded graph
+         * @return the loaded graph
+         */
+        public CsrGraph<T> getGraph() {
+            return graph;
+        }
+
+        /**
+         * Get the number of edge lines read, including duplicate edges
+         * @return the number of edge lines
+         */
+        public long getEdgesRead() {
+            return edgesRead;
+        }
+
+        /**
+         * Get the size of the file
+         * @return the number of bytes read
+         */
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        /**
+         * Get the time spent loading
+         * @return the time in nanoseconds
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Get the throughput of loading
+         * @return the edge lines read per second
+         */
+        public double getEdgesPerSecond() {
+            return edgesRead * 1e9 / Math.max(1, nanos);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.anarsultanov.graphminilibrary.utilities;
 
+import com.anarsultanov.graphminilibrary.graph.CsrGraph;
 import com.anarsultanov.graphminilibrary.graph.Graph;
 
 import java.io.EOFException;
@@ -9,34 +10,75 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
 
 /**
  * Saves and loads the graph.
+ * <p>
+ * The object stream format writes every edge as two serialized nodes. The binary format stores the
+ * node dictionary once and varint-encoded sorted adjacency lists, and is loaded from a memory-mapped file
+ * directly into a {@link CsrGraph}.
  */
 public class GraphLoader {
 
+    private static final int BATCH_EDGES = 4096;
+
     /**
      * Load graph from file.
+     * <p>
+     * Edges are added in batches while the file is read, so if reading fails, the edges read before
+     * the failure are still in the graph. If adding the last edges fails too, that failure is suppressed
+     * by the reading failure.
      *
      * @param graph    the graph
      * @param filename the filename
      * @param <T> the graph nodes type
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalStateException if the file is not a saved graph
      */
+    @SuppressWarnings("unchecked")
     public static <T> void loadGraph(Graph<T> graph, String filename) {
+        T[] from = (T[]) new Object[BATCH_EDGES];
+        T[] to = (T[]) new Object[BATCH_EDGES];
+        int count = 0;
+        RuntimeException failure = null;
         try (ObjectInputStream objectInputStream = new ObjectInputStream(new FileInputStream(filename))) {
             while (true) {
                 T t1 = (T) objectInputStream.readObject();
                 if (t1 != null) {
                     T t2 = (T) objectInputStream.readObject();
                     if (t2 == null) {
-                        throw new IllegalStateException();
+                        throw new IllegalStateException("Edge without the end node in " + filename);
+                    }
+                    from[count] = t1;
+                    to[count] = t2;
+                    if (++count == BATCH_EDGES) {
+                        count = 0;
+                        graph.addEdges(from, to);
                     }
-                    graph.addEdge(t1, t2);
                 }
             }
         } catch (EOFException ignored) {
-        } catch (IOException | ClassNotFoundException e) {
-            e.printStackTrace();
+        } catch (IOException e) {
+            failure = new UncheckedIOException("Failed to load the graph from " + filename, e);
+        } catch (ClassNotFoundException e) {
+            failure = new IllegalStateException("Unknown node class in " + filename, e);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        if (count > 0) {
+            try {
+                graph.addEdges(Arrays.copyOf(from, count), Arrays.copyOf(to, count));
+            } catch (RuntimeException e) {
+                if (failure == null)
+                    throw e;
+                failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
         }
     }
 
@@ -45,6 +87,7 @@ public class GraphLoader {
      *
      * @param graph    the graph
      * @param filename the filename
+     * @throws UncheckedIOException if the file cannot be written
      */
     public static void saveGraph(Graph<? extends Serializable> graph, String filename) {
         try (ObjectOutputStream objectOutputStream
@@ -57,7 +100,41 @@ public class GraphLoader {
             }
             objectOutputStream.flush();
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new UncheckedIOException("Failed to save the graph to " + filename, e);
+        }
+    }
+
+    /**
+     * Load graph from file in the binary format.
+     *
+     * @param filename the filename
+     * @param <T> the graph nodes type
+     * @return the immutable graph
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalStateException if the file is not a graph in a supported version of the format
+     */
+    public static <T> CsrGraph<T> loadBinaryGraph(String filename) {
+        try {
+            return BinaryGraphFormat.read(Paths.get(filename));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load the graph from " + filename, e);
+        }
+    }
+
+    /**
+     * Save graph to file in the binary format, including nodes without edges.
+     * Integer, Long and String nodes are stored as such, other nodes are serialized.
+     *
+     * @param graph    the graph
+     * @param filename the filename
+     * @param <T> the graph nodes type
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static <T extends Serializable> void saveBinaryGraph(Graph<T> graph, String filename) {
+        try {
+            BinaryGraphFormat.write(graph, Paths.get(filename));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save the graph to " + filename, e);
         }
     }
 }
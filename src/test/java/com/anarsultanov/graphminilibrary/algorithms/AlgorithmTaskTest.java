@@ -0,0 +1,87 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.graph.BasicGraph;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class AlgorithmTaskTest {
+
+    private Graph<Integer> graph;
+
+    @Before
+    public void setUp() {
+        graph = new BasicGraph<>();
+        GraphLoader.loadGraph(graph, "data/test_graph");
+    }
+
+    @Test
+    public void testExecutor() throws ExecutionException, InterruptedException {
+        List<Runnable> submitted = new ArrayList<>();
+        CompletableFuture<Set<Integer>> future = DominatingSet.compute(graph, false, submitted::add, null);
+        assertFalse(future.isDone());
+        assertEquals(1, submitted.size());
+        submitted.get(0).run();
+        assertEquals(Set.of(1, 4, 7, 12), future.get());
+        assertEquals(1, StronglyConnectedComponents.compute(graph, 1, Runnable::run, null).get().size());
+    }
+
+    @Test
+    public void testCancelBeforeStart() {
+        List<Runnable> submitted = new ArrayList<>();
+        CompletableFuture<List<List<Integer>>> future = ShortestPaths.compute(graph, submitted::add, null);
+        assertTrue(future.cancel(true));
+        submitted.get(0).run();
+        assertTrue(future.isCancelled());
+    }
+
+    @Test(timeout = 10000)
+    public void testTimeout() throws InterruptedException {
+        CompletableFuture<?> future = EdgeBetweenness.compute(graph, runnable -> { }, Duration.ofMillis(10));
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testCheckpoint() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        CompletableFuture<Object> future = AlgorithmTask.submit(AlgorithmTask.DEFAULT_EXECUTOR, null, task -> {
+            started.countDown();
+            try {
+                while (true) {
+                    task.checkpoint();
+                }
+            } catch (CancellationException e) {
+                thrown.set(e);
+                stopped.countDown();
+                throw e;
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        future.cancel(true);
+        assertTrue(stopped.await(5, TimeUnit.SECONDS));
+        assertTrue(thrown.get() instanceof CancellationException);
+        AlgorithmTask.UNCANCELLABLE.checkpoint();
+    }
+}
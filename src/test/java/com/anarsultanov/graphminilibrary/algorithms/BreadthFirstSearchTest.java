@@ -0,0 +1,144 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.generators.RmatGenerator;
+import com.anarsultanov.graphminilibrary.graph.FrozenIntGraph;
+import com.anarsultanov.graphminilibrary.graph.IntGraph;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class BreadthFirstSearchTest {
+
+    private FrozenIntGraph graph;
+    private int source;
+    private int[] expected;
+
+    @Before
+    public void setUp() {
+        graph = new RmatGenerator(14, 16, 42).toIntGraph();
+        for (int v = 0; v < graph.getNodeIdBound(); v++) {
+            if (graph.outDegree(v) > graph.outDegree(source))
+                source = v;
+        }
+        expected = new int[graph.getNodeIdBound()];
+        Arrays.fill(expected, -1);
+        int[] queue = new int[graph.getNodesNumber()];
+        int tail = 0;
+        expected[source] = 0;
+        queue[tail++] = source;
+        for (int head = 0; head < tail; head++) {
+            int v = queue[head];
+            for (int i = 0; i < graph.outDegree(v); i++) {
+                int w = graph.outNeighbor(v, i);
+                if (expected[w] < 0) {
+                    expected[w] = expected[v] + 1;
+                    queue[tail++] = w;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTopDown() {
+        check(new BreadthFirstSearch(graph, false, null, AlgorithmTask.UNCANCELLABLE));
+    }
+
+    @Test
+    public void testDirectionOptimizing() {
+        check(new BreadthFirstSearch(graph, true, null, AlgorithmTask.UNCANCELLABLE));
+    }
+
+    @Test
+    public void testParallel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            check(new BreadthFirstSearch(graph, true, pool, AlgorithmTask.UNCANCELLABLE));
+            check(new BreadthFirstSearch(graph, false, pool, AlgorithmTask.UNCANCELLABLE));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testStep() {
+        BreadthFirstSearch search = new BreadthFirstSearch(graph, true, null, AlgorithmTask.UNCANCELLABLE);
+        search.start(source);
+        for (int level = 1; search.step() > 0; level++) {
+            for (int i = search.getFrontierStart(); i < search.getFrontierEnd(); i++) {
+                assertEquals(level, expected[search.getOrder()[i]]);
+            }
+        }
+        assertEquals(0, search.step());
+    }
+
+    @Test
+    public void testEdgesBeyondIntRange() {
+        IntGraph large = new IntGraph() {
+            @Override
+            public int getNodesNumber() {
+                return graph.getNodesNumber();
+            }
+
+            @Override
+            public int getEdgesNumber() {
+                throw new ArithmeticException("integer overflow");
+            }
+
+            @Override
+            public long getEdgesCount() {
+                return 1L << 32;
+            }
+
+            @Override
+            public int getNodeIdBound() {
+                return graph.getNodeIdBound();
+            }
+
+            @Override
+            public boolean hasNode(int node) {
+                return graph.hasNode(node);
+            }
+
+            @Override
+            public boolean hasEdge(int from, int to) {
+                return graph.hasEdge(from, to);
+            }
+
+            @Override
+            public int outDegree(int node) {
+                return graph.outDegree(node);
+            }
+
+            @Override
+            public int outNeighbor(int node, int index) {
+                return graph.outNeighbor(node, index);
+            }
+
+            @Override
+            public IntGraph transpose() {
+                return graph.transpose();
+            }
+        };
+        BreadthFirstSearch search = new BreadthFirstSearch(large, true, null, AlgorithmTask.UNCANCELLABLE);
+        search.search(source);
+        assertArrayEquals(expected, search.getDistances());
+    }
+
+    private void check(BreadthFirstSearch search) {
+        int[] order = search.search(source);
+        assertArrayEquals(expected, search.getDistances());
+        assertEquals(Arrays.stream(expected).filter(d -> d >= 0).count(), order.length);
+        int[] parents = search.getParents();
+        assertEquals(-1, parents[source]);
+        for (int i = 1; i < order.length; i++) {
+            int v = order[i];
+            assertTrue(graph.hasEdge(parents[v], v));
+            assertEquals(expected[v] - 1, expected[parents[v]]);
+            assertTrue(expected[order[i - 1]] <= expected[v]);
+        }
+    }
+}
@@ -30,6 +30,16 @@ public class CommunitySeparationTest {
         assertEquals(12, result.getResultingGraph().getNodesNumber());
     }
 
+    @Test
+    public void testIncremental() throws ExecutionException, InterruptedException {
+        for (int connections = 1; connections <= 6; connections++) {
+            CommunitySeparation.Result<Integer> incremental = CommunitySeparation.compute(graph, connections, true).get();
+            CommunitySeparation.Result<Integer> full = CommunitySeparation.compute(graph, connections, false).get();
+            assertEquals(full.getRemovedEdges(), incremental.getRemovedEdges());
+            assertEquals(full.getResultingGraph(), incremental.getResultingGraph());
+        }
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testTooManyEdges() {
         CommunitySeparation.compute(graph, 100);
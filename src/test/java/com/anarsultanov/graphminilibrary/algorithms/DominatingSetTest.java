@@ -6,9 +6,12 @@ import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.HashSet;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class DominatingSetTest {
@@ -29,4 +32,30 @@ public class DominatingSetTest {
         assertTrue(set.contains(7));
         assertTrue(set.contains(12));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDominates() throws ExecutionException, InterruptedException {
+        Graph<Integer> random = new BasicGraph<>();
+        Random rnd = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            random.addEdge(rnd.nextInt(5_000), rnd.nextInt(5_000));
+        }
+        for (boolean parallel : new boolean[]{false, true}) {
+            Set<Integer> set = DominatingSet.compute(random, parallel).get();
+            Set<Integer> dominated = new HashSet<>(set);
+            set.forEach(v -> dominated.addAll(random.outEdges(v)));
+            assertEquals(random.getNodesNumber(), dominated.size());
+        }
+    }
+
+    @Test
+    public void testStar() throws ExecutionException, InterruptedException {
+        Graph<Integer> star = new BasicGraph<>();
+        for (int i = 1; i <= 10; i++) {
+            star.addEdge(0, i);
+            star.addEdge(i, 0);
+        }
+        assertEquals(Set.of(0), DominatingSet.compute(star).get());
+        assertEquals(Set.of(0), DominatingSet.compute(star, true).get());
+    }
+}
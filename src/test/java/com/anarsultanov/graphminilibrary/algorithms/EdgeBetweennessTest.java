@@ -0,0 +1,46 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.graph.BasicGraph;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+
+public class EdgeBetweennessTest {
+
+    private Graph<Integer> graph;
+
+    @Before
+    public void setUp() {
+        graph = new BasicGraph<>();
+        GraphLoader.loadGraph(graph, "data/test_graph");
+    }
+
+    @Test
+    public void testCompute() throws ExecutionException, InterruptedException {
+        Map<Entry<Integer, Integer>, Double> betweenness = EdgeBetweenness.compute(graph).get();
+        assertEquals(38, betweenness.size());
+        // 6 nodes on each side of the bridge, every ordered pair crosses it in one direction
+        assertEquals(36.0, betweenness.get(new SimpleImmutableEntry<>(6, 7)), 1e-9);
+        assertEquals(36.0, betweenness.get(new SimpleImmutableEntry<>(7, 6)), 1e-9);
+    }
+
+    @Test
+    public void testMultipleShortestPaths() throws ExecutionException, InterruptedException {
+        Graph<String> square = new BasicGraph<>();
+        square.addEdge("a", "b");
+        square.addEdge("a", "c");
+        square.addEdge("b", "d");
+        square.addEdge("c", "d");
+        Map<Entry<String, String>, Double> betweenness = EdgeBetweenness.compute(square).get();
+        assertEquals(1.5, betweenness.get(new SimpleImmutableEntry<>("a", "b")), 1e-9);
+        assertEquals(1.5, betweenness.get(new SimpleImmutableEntry<>("c", "d")), 1e-9);
+    }
+}
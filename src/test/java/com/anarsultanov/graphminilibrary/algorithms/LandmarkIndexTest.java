@@ -0,0 +1,121 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.generators.RmatGenerator;
+import com.anarsultanov.graphminilibrary.graph.BasicGraph;
+import com.anarsultanov.graphminilibrary.graph.CsrGraph;
+import com.anarsultanov.graphminilibrary.graph.FrozenIntGraph;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class LandmarkIndexTest {
+
+    private Graph<Integer> graph;
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        graph = new BasicGraph<>();
+        GraphLoader.loadGraph(graph, "data/test_graph");
+        graph.addNode(13);
+        file = Files.createTempFile("landmarks", ".bin");
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testQueries() throws ExecutionException, InterruptedException {
+        LandmarkIndex<Integer> index = LandmarkIndex.build(graph, 3).get();
+        assertEquals(3, index.getLandmarks().size());
+        assertEquals(3, index.getDistance(1, 7));
+        assertEquals(List.of(1, 5, 6, 7), index.getPath(1, 7));
+        assertEquals(List.of(1, 5, 6, 7), ShortestPathFromTo.compute(index, 1, 7).get());
+        assertEquals(0, index.getDistance(4, 4));
+        assertEquals(List.of(4), index.getPath(4, 4));
+        assertEquals(-1, index.getDistance(1, 13));
+        assertTrue(index.getPath(1, 13).isEmpty());
+    }
+
+    @Test
+    public void testLargeGraph() throws ExecutionException, InterruptedException {
+        FrozenIntGraph intGraph = new RmatGenerator(12, 8, 42).toIntGraph();
+        List<Integer> ids = IntStream.range(0, intGraph.getNodeIdBound()).boxed().collect(Collectors.toList());
+        CsrGraph<Integer> large = new CsrGraph<>(ids, intGraph);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        LandmarkIndex<Integer> index;
+        try {
+            index = LandmarkIndex.build(large, 8, pool, null).get();
+        } finally {
+            pool.shutdown();
+        }
+        Random random = new Random(42);
+        for (int query = 0; query < 10; query++) {
+            int source = random.nextInt(ids.size());
+            BreadthFirstSearch search = new BreadthFirstSearch(intGraph, false, null, AlgorithmTask.UNCANCELLABLE);
+            search.search(source);
+            int[] expected = search.getDistances();
+            for (int i = 0; i < 50; i++) {
+                int target = random.nextInt(ids.size());
+                int lower = index.getLowerBound(source, target);
+                assertEquals(expected[target], index.getDistance(source, target));
+                if (expected[target] < 0) {
+                    assertTrue(index.getPath(source, target).isEmpty());
+                    continue;
+                }
+                assertTrue(lower >= 0 && lower <= expected[target]);
+                assertTrue(index.getUpperBound(source, target) >= expected[target]);
+                List<Integer> path = index.getPath(source, target);
+                assertEquals(expected[target] + 1, path.size());
+                for (int j = 1; j < path.size(); j++) {
+                    assertTrue(large.hasEdge(path.get(j - 1), path.get(j)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSaveAndLoad() throws ExecutionException, InterruptedException {
+        CsrGraph<Integer> csr = new CsrGraph<>(graph);
+        LandmarkIndex<Integer> index = LandmarkIndex.build(csr, 2).get();
+        index.save(file);
+        LandmarkIndex<Integer> loaded = LandmarkIndex.load(file, csr);
+        assertEquals(index.getLandmarks(), loaded.getLandmarks());
+        for (Integer from : graph.getAdjacencyListMap().keySet()) {
+            for (Integer to : graph.getAdjacencyListMap().keySet()) {
+                assertEquals(index.getLowerBound(from, to), loaded.getLowerBound(from, to));
+                assertEquals(index.getUpperBound(from, to), loaded.getUpperBound(from, to));
+                assertEquals(index.getDistance(from, to), loaded.getDistance(from, to));
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLoadWithAnotherGraph() throws ExecutionException, InterruptedException {
+        CsrGraph<Integer> csr = new CsrGraph<>(graph);
+        LandmarkIndex.build(csr, 2).get().save(file);
+        graph.addEdge(13, 1);
+        LandmarkIndex.load(file, new CsrGraph<>(graph));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingNode() throws ExecutionException, InterruptedException {
+        LandmarkIndex.build(graph, 2).get().getDistance(1, 14);
+    }
+}
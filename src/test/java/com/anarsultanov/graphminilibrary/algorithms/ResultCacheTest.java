@@ -0,0 +1,123 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.graph.BasicGraph;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+public class ResultCacheTest {
+
+    private Graph<Integer> graph;
+    private ResultCache cache;
+
+    @Before
+    public void setUp() {
+        graph = new BasicGraph<>();
+        GraphLoader.loadGraph(graph, "data/test_graph");
+        cache = new ResultCache(2);
+    }
+
+    @Test
+    public void testHit() throws ExecutionException, InterruptedException {
+        StronglyConnectedComponents.Result<Integer> components =
+                StronglyConnectedComponents.computeComponents(graph, 1, cache).get();
+        assertSame(components, StronglyConnectedComponents.computeComponents(graph, 1, cache).get());
+        assertNotSame(components, StronglyConnectedComponents.computeComponents(graph, 2, cache).get());
+        Set<Integer> set = DominatingSet.compute(graph, false, cache).get();
+        assertSame(set, DominatingSet.compute(graph, false, cache).get());
+        assertEquals(DominatingSet.compute(graph).get(), set);
+        assertEquals(2, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testMutation() throws ExecutionException, InterruptedException {
+        Graph<Integer> egonet = Egonet.compute(graph, 1, cache).get();
+        assertEquals(3, egonet.getNodesNumber());
+        graph.addEdge(1, 100);
+        Graph<Integer> changed = Egonet.compute(graph, 1, cache).get();
+        assertEquals(4, changed.getNodesNumber());
+        assertSame(changed, Egonet.compute(graph, 1, cache).get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testEviction() throws ExecutionException, InterruptedException {
+        Egonet.compute(graph, 1, cache).get();
+        Egonet.compute(graph, 2, cache).get();
+        Egonet.compute(graph, 1, cache).get();
+        Egonet.compute(graph, 3, cache).get();
+        Egonet.compute(graph, 1, cache).get();
+        assertEquals(2, cache.getHitCount());
+        Egonet.compute(graph, 2, cache).get();
+        assertEquals(2, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+        assertEquals(2, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCallersHaveOwnDeadlines() throws ExecutionException, InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Executor executor = runnable -> new Thread(() -> {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            runnable.run();
+        }).start();
+        CompletableFuture<Graph<Integer>> first = Egonet.compute(graph, 1, executor, Duration.ofMillis(1), cache);
+        CompletableFuture<Graph<Integer>> second = Egonet.compute(graph, 1, executor, null, cache);
+        CompletableFuture<Graph<Integer>> third = Egonet.compute(graph, 1, executor, null, cache);
+        try {
+            first.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        third.cancel(true);
+        started.countDown();
+        assertEquals(3, second.get().getNodesNumber());
+        assertSame(second.get(), Egonet.compute(graph, 1, cache).get());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testFailureIsNotCached() {
+        try {
+            Egonet.compute(graph, 25, cache);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testResultIsImmutable() throws ExecutionException, InterruptedException {
+        Egonet.compute(graph, 1, cache).get().addEdge(2, 5);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testComponentsAreImmutable() throws ExecutionException, InterruptedException {
+        List<Graph<Integer>> components = StronglyConnectedComponents.compute(graph, 1, cache).get();
+        assertSame(components, StronglyConnectedComponents.compute(graph, 1, cache).get());
+        components.get(0).addNode(100);
+    }
+}
@@ -1,7 +1,10 @@
 package com.anarsultanov.graphminilibrary.algorithms;
 
 import com.anarsultanov.graphminilibrary.graph.BasicGraph;
+import com.anarsultanov.graphminilibrary.graph.CsrGraph;
 import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.IntGraphAdapter;
+import com.anarsultanov.graphminilibrary.graph.MutableIntGraph;
 import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
 import org.junit.Before;
 import org.junit.Test;
@@ -9,6 +12,7 @@ import org.junit.Test;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class ShortestPathFromToTest {
@@ -27,6 +31,32 @@ public class ShortestPathFromToTest {
         assertTrue(list.containsAll(List.of(1, 5, 6, 7)));
     }
 
+    @Test
+    public void testBidirectional() throws ExecutionException, InterruptedException {
+        Graph<Integer> indexed = new BasicGraph<>(true);
+        GraphLoader.loadGraph(indexed, "data/test_graph");
+        indexed.addNode(13);
+        assertEquals(List.of(1, 5, 6, 7), ShortestPathFromTo.compute(indexed, 1, 7).get());
+        List<Integer> path = ShortestPathFromTo.compute(new CsrGraph<>(indexed), 12, 1).get();
+        assertEquals(6, path.size());
+        assertEquals(List.of(12, 1), List.of(path.get(0), path.get(5)));
+        for (int i = 1; i < path.size(); i++) {
+            assertTrue(indexed.hasEdge(path.get(i - 1), path.get(i)));
+        }
+        assertEquals(List.of(4), ShortestPathFromTo.compute(indexed, 4, 4).get());
+        assertTrue(ShortestPathFromTo.compute(indexed, 1, 13).get().isEmpty());
+    }
+
+    @Test
+    public void testIndexed() throws ExecutionException, InterruptedException {
+        MutableIntGraph intGraph = MutableIntGraph.copyOf(graph);
+        intGraph.addNode(13);
+        Graph<Integer> indexed = new IntGraphAdapter(intGraph);
+        assertEquals(List.of(1, 5, 6, 7), ShortestPathFromTo.compute(indexed, 1, 7).get());
+        assertEquals(List.of(4), ShortestPathFromTo.compute(indexed, 4, 4).get());
+        assertTrue(ShortestPathFromTo.compute(indexed, 1, 13).get().isEmpty());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testMissingFromNode() {
         ShortestPathFromTo.compute(graph, 0, 4);
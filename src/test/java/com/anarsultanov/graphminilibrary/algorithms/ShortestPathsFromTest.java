@@ -27,6 +27,30 @@ public class ShortestPathsFromTest {
         assertEquals(11, lists.size());
     }
 
+    @Test
+    public void testComputeTree() throws ExecutionException, InterruptedException {
+        ShortestPathTree<Integer> tree = ShortestPathsFrom.computeTree(graph, 1).get();
+        assertEquals(12, tree.getReachableNodesNumber());
+        assertEquals(3, tree.getDistance(7));
+        assertEquals(List.of(1, 5, 6, 7), tree.getPath(7));
+        assertEquals(6, tree.getParent(7).intValue());
+        assertNull(tree.getParent(1));
+        assertEquals(-1, tree.getDistance(25));
+        assertTrue(tree.getPath(25).isEmpty());
+    }
+
+    @Test
+    public void testUnreachable() throws ExecutionException, InterruptedException {
+        Graph<String> disconnected = new BasicGraph<>();
+        disconnected.addEdge("a", "b");
+        disconnected.addEdge("c", "d");
+        ShortestPathTree<String> tree = ShortestPathsFrom.computeTree(disconnected, "c").get();
+        assertEquals("c", tree.getParent("d"));
+        assertFalse(tree.isReachable("b"));
+        assertNull(tree.getParent("a"));
+        assertNull(tree.getParent("b"));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testMissingNode() {
         ShortestPathsFrom.compute(graph, 15);
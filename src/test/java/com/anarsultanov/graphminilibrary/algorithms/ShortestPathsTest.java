@@ -2,10 +2,13 @@ package com.anarsultanov.graphminilibrary.algorithms;
 
 import com.anarsultanov.graphminilibrary.graph.BasicGraph;
 import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.IndexedGraph;
 import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 
@@ -26,4 +29,33 @@ public class ShortestPathsTest {
         List<List<Integer>> lists = ShortestPaths.compute(graph).get();
         assertEquals(132, lists.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testComputeDistances() throws ExecutionException, InterruptedException {
+        DistanceMatrix<Integer> matrix = ShortestPaths.computeDistances(graph, true).get();
+        assertEquals(1, matrix.getCellBytes());
+        assertFalse(matrix.isMapped());
+        assertEquals(3, matrix.getDistance(1, 7));
+        assertEquals(0, matrix.getDistance(7, 7));
+        assertEquals(List.of(1, 5, 6, 7), matrix.getPath(1, 7));
+    }
+
+    @Test
+    public void testWideCells() throws Exception {
+        Graph<Integer> chain = new BasicGraph<>();
+        for (int i = 0; i < 300; i++) {
+            chain.addEdge(i, i + 1);
+        }
+        Path directory = Files.createTempDirectory("distances");
+        try (DistanceMatrix<Integer> matrix = ShortestPaths.doComputeDistances(
+                IndexedGraph.of(chain), true, directory, 0, AlgorithmTask.UNCANCELLABLE)) {
+            assertTrue(matrix.isMapped());
+            assertEquals(2, matrix.getCellBytes());
+            assertEquals(300, matrix.getDistance(0, 300));
+            assertEquals(-1, matrix.getDistance(300, 0));
+            assertEquals(301, matrix.getPath(0, 300).size());
+            assertTrue(matrix.getPath(300, 0).isEmpty());
+        }
+        Files.delete(directory);
+    }
+}
@@ -6,7 +6,10 @@ import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.concurrent.ExecutionException;
 
 import static org.junit.Assert.*;
@@ -26,4 +29,59 @@ public class StronglyConnectedComponentsTest {
         List<Graph<Integer>> graphs = StronglyConnectedComponents.compute(graph).get();
         assertEquals(1, graphs.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testComputeComponents() throws ExecutionException, InterruptedException {
+        graph.removeEdge(7, 6);
+        graph.addEdge(12, 13);
+        StronglyConnectedComponents.Result<Integer> result = StronglyConnectedComponents.computeComponents(graph).get();
+        assertEquals(3, result.getComponentsNumber());
+        assertEquals(result.getComponentId(1), result.getComponentId(6));
+        assertNotEquals(result.getComponentId(6), result.getComponentId(7));
+        Graph<Integer> component = result.getComponent(result.getComponentId(7));
+        assertEquals(6, component.getNodesNumber());
+        assertEquals(18, component.getEdgesNumber());
+    }
+
+    @Test
+    public void testLongChain() throws ExecutionException, InterruptedException {
+        Graph<Integer> chain = new BasicGraph<>();
+        for (int i = 0; i < 200_000; i++) {
+            chain.addEdge(i, i + 1);
+        }
+        chain.addEdge(200_000, 0);
+        assertEquals(1, StronglyConnectedComponents.computeComponents(chain).get().getComponentsNumber());
+    }
+
+    @Test
+    public void testParallelLongChain() throws ExecutionException, InterruptedException {
+        Graph<Integer> chain = new BasicGraph<>();
+        for (int i = 0; i < 5_000; i++) {
+            chain.addEdge(2 * i, 2 * i + 1);
+            chain.addEdge(2 * i + 1, 2 * i);
+            chain.addEdge(2 * i + 1, 2 * i + 2);
+        }
+        assertEquals(5_001, StronglyConnectedComponents.computeComponents(chain, 4).get().getComponentsNumber());
+    }
+
+    @Test
+    public void testParallel() throws ExecutionException, InterruptedException {
+        Graph<Integer> random = new BasicGraph<>();
+        Random rnd = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            random.addEdge(rnd.nextInt(10_000), rnd.nextInt(10_000));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            random.addEdge(10_000 + i, 10_001 + i);
+        }
+        StronglyConnectedComponents.Result<Integer> sequential = StronglyConnectedComponents.computeComponents(random).get();
+        StronglyConnectedComponents.Result<Integer> parallel = StronglyConnectedComponents.computeComponents(random, 4).get();
+        assertEquals(sequential.getComponentsNumber(), parallel.getComponentsNumber());
+        Map<Integer, Integer> mapping = new HashMap<>();
+        for (Integer node : random.getAdjacencyListMap().keySet()) {
+            Integer previous = mapping.putIfAbsent(sequential.getComponentId(node), parallel.getComponentId(node));
+            assertTrue(previous == null || previous == parallel.getComponentId(node));
+        }
+        assertEquals(sequential.getComponentsNumber(), mapping.size());
+    }
+}
@@ -0,0 +1,103 @@
+package com.anarsultanov.graphminilibrary.algorithms;
+
+import com.anarsultanov.graphminilibrary.generators.ErdosRenyiGenerator;
+import com.anarsultanov.graphminilibrary.graph.FrozenIntGraph;
+import com.anarsultanov.graphminilibrary.graph.FrozenWeightedIntGraph;
+import com.anarsultanov.graphminilibrary.graph.WeightedCsrGraph;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class WeightedShortestPathsFromTest {
+
+    private WeightedCsrGraph<String> graph;
+
+    @Before
+    public void setUp() {
+        graph = new WeightedCsrGraph.Builder<String>()
+                .addEdge("a", "b", 4)
+                .addEdge("a", "c", 1)
+                .addEdge("c", "b", 2)
+                .addEdge("b", "d", 1)
+                .addEdge("c", "d", 5)
+                .addEdge("d", "e", 0)
+                .addEdge("e", "d", 0)
+                .addNode("f")
+                .build();
+    }
+
+    @Test
+    public void testCompute() throws ExecutionException, InterruptedException {
+        check(WeightedShortestPathsFrom.compute(graph, "a").get());
+    }
+
+    @Test
+    public void testComputeParallel() throws ExecutionException, InterruptedException {
+        check(WeightedShortestPathsFrom.computeParallel(graph, "a").get());
+        check(WeightedShortestPathsFrom.computeParallel(graph, "a", 0.5).get());
+        check(WeightedShortestPathsFrom.computeParallel(graph, "a", 100).get());
+    }
+
+    private void check(WeightedShortestPathTree<String> tree) {
+        assertEquals(5, tree.getReachableNodesNumber());
+        assertEquals(3, tree.getDistance("b"), 0);
+        assertEquals(4, tree.getDistance("e"), 0);
+        assertEquals(List.of("a", "c", "b", "d", "e"), tree.getPath("e"));
+        assertEquals("c", tree.getParent("b"));
+        assertNull(tree.getParent("a"));
+        assertFalse(tree.isReachable("f"));
+        assertEquals(Double.POSITIVE_INFINITY, tree.getDistance("f"), 0);
+        assertTrue(tree.getPath("f").isEmpty());
+    }
+
+    @Test
+    public void testLargeGraph() throws ExecutionException, InterruptedException {
+        int nodes = 50000;
+        FrozenIntGraph unweighted = new ErdosRenyiGenerator(nodes, 8L * nodes, 7).toIntGraph();
+        Random random = new Random(7);
+        double[] weights = new double[unweighted.getEdgesNumber()];
+        for (int e = 0; e < weights.length; e++) {
+            weights[e] = random.nextInt(100);
+        }
+        FrozenWeightedIntGraph intGraph = new FrozenWeightedIntGraph(unweighted.getOffsets(), unweighted.getTargets(), weights);
+        List<Integer> ids = IntStream.range(0, nodes).boxed().collect(Collectors.toList());
+        WeightedCsrGraph<Integer> large = new WeightedCsrGraph<>(ids, intGraph);
+
+        WeightedShortestPathTree<Integer> expected = WeightedShortestPathsFrom.compute(large, 0).get();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (double delta : new double[]{0, 10, 1000}) {
+                WeightedShortestPathTree<Integer> actual =
+                        WeightedShortestPathsFrom.computeParallel(large, 0, delta, pool, null).get();
+                assertEquals(expected.getReachableNodesNumber(), actual.getReachableNodesNumber());
+                for (int v = 0; v < nodes; v++) {
+                    assertEquals(expected.getDistance(v), actual.getDistance(v), 0);
+                    Integer parent = actual.getParent(v);
+                    if (parent != null) {
+                        assertEquals(actual.getDistance(v), actual.getDistance(parent) + large.getWeight(parent, v), 0);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingNode() {
+        WeightedShortestPathsFrom.compute(graph, "x");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeDelta() {
+        WeightedShortestPathsFrom.computeParallel(graph, "a", -1);
+    }
+}
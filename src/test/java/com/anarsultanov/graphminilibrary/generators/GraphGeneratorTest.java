@@ -0,0 +1,119 @@
+package com.anarsultanov.graphminilibrary.generators;
+
+import com.anarsultanov.graphminilibrary.graph.BasicGraph;
+import com.anarsultanov.graphminilibrary.graph.FrozenIntGraph;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.utilities.EdgeListLoader;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GraphGeneratorTest {
+
+    private static final Path FILE = Paths.get("graph_generator_test.txt");
+
+    @Test
+    public void testDeterministic() {
+        for (GraphGenerator generator : generators(7)) {
+            List<Long> first = edges(generator, false);
+            assertEquals(generator.getEdgesNumber(), first.size());
+            assertEquals(first, edges(generator, false));
+            assertEquals(first, edges(generator, true));
+            for (long edge : first) {
+                assertTrue((int) (edge >>> 32) < generator.getNodesNumber());
+                assertTrue((int) edge < generator.getNodesNumber());
+            }
+        }
+        assertNotEquals(edges(new RmatGenerator(8, 4, 1), false), edges(new RmatGenerator(8, 4, 2), false));
+    }
+
+    @Test
+    public void testToIntGraph() {
+        for (GraphGenerator generator : generators(3)) {
+            Graph<Integer> expected = new BasicGraph<>();
+            generator.addTo(expected);
+            FrozenIntGraph graph = generator.toIntGraph();
+            assertEquals(expected.getNodesNumber(), graph.getNodesNumber());
+            assertEquals(expected.getEdgesNumber(), graph.getEdgesNumber());
+            for (Integer from : expected.getAdjacencyListMap().keySet()) {
+                for (Integer to : expected.getAdjacencyListMap().get(from)) {
+                    assertTrue(graph.hasEdge(from, to));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGrid() {
+        GridGenerator generator = new GridGenerator(30, 40);
+        assertEquals(2 * (30 * 39 + 29 * 40), generator.getEdgesNumber());
+        FrozenIntGraph graph = generator.toIntGraph();
+        assertEquals(generator.getEdgesNumber(), graph.getEdgesNumber());
+        assertEquals(2, graph.outDegree(0));
+        assertEquals(4, graph.outDegree(41));
+        assertTrue(graph.hasEdge(41, 81) && graph.hasEdge(81, 41));
+        assertFalse(graph.hasEdge(39, 40));
+    }
+
+    @Test
+    public void testErdosRenyiWithoutLoops() {
+        new ErdosRenyiGenerator(2, 1000, 5).forEachEdge((from, to) -> assertNotEquals(from, to));
+    }
+
+    @Test
+    public void testBarabasiAlbertDegrees() {
+        BarabasiAlbertGenerator generator = new BarabasiAlbertGenerator(20000, 2, 9);
+        int[] inDegrees = new int[generator.getNodesNumber()];
+        generator.forEachEdge((from, to) -> {
+            assertTrue(to <= from);
+            inDegrees[to]++;
+        });
+        // preferential attachment makes early nodes hubs
+        assertTrue(inDegrees[0] + inDegrees[1] > 100);
+    }
+
+    @Test
+    public void testWriteEdgeList() {
+        GridGenerator generator = new GridGenerator(200, 400);
+        Graph<Integer> expected = new BasicGraph<>();
+        generator.addTo(expected);
+        generator.writeEdgeList(FILE);
+        EdgeListLoader.Result<Integer> result = EdgeListLoader.loadIntegers(FILE.toString());
+        assertEquals(generator.getEdgesNumber(), result.getEdgesRead());
+        assertEquals(expected.getAdjacencyListMap(), result.getGraph().getAdjacencyListMap());
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        new File(FILE.toString()).delete();
+    }
+
+    private static GraphGenerator[] generators(long seed) {
+        return new GraphGenerator[]{
+                new RmatGenerator(10, 16, seed),
+                new ErdosRenyiGenerator(5000, 100000, seed),
+                new BarabasiAlbertGenerator(30000, 3, seed),
+                new GridGenerator(100, 300)
+        };
+    }
+
+    private static List<Long> edges(GraphGenerator generator, boolean parallel) {
+        List<Long> edges = Collections.synchronizedList(new ArrayList<>());
+        EdgeConsumer consumer = (from, to) -> edges.add((long) from << 32 | to);
+        if (parallel) {
+            generator.forEachEdgeParallel(consumer);
+        } else {
+            generator.forEachEdge(consumer);
+        }
+        edges.sort(null);
+        return edges;
+    }
+}
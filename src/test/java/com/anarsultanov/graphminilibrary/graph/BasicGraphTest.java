@@ -4,7 +4,10 @@ import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -25,6 +28,48 @@ public class BasicGraphTest {
         assertEquals(12, graph.getAdjacencyListMap().size());
     }
 
+    @Test
+    public void modificationCount() {
+        long count = graph.getModificationCount();
+        graph.addNode(1);
+        graph.addEdge(1, 2);
+        graph.removeEdge(1, 100);
+        assertEquals(count, graph.getModificationCount());
+        graph.addEdge(1, 100);
+        assertTrue(graph.getModificationCount() > count);
+        count = graph.getModificationCount();
+        graph.removeNode(100);
+        assertTrue(graph.getModificationCount() > count);
+        assertEquals(0, new CsrGraph<>(graph).getModificationCount());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void adjacencyListMapIsReadOnly() {
+        graph.getAdjacencyListMap().get(2).add(5);
+    }
+
+    @Test
+    public void forEachNeighbor() {
+        BasicGraph<Integer> indexed = new BasicGraph<>(true);
+        GraphLoader.loadGraph(indexed, "data/test_graph");
+        for (Graph<Integer> g : List.of(graph, indexed)) {
+            Set<Integer> nodes = new HashSet<>();
+            g.forEachNode(nodes::add);
+            assertEquals(g.getAdjacencyListMap().keySet(), nodes);
+            for (Integer node : nodes) {
+                Set<Integer> out = new HashSet<>();
+                Set<Integer> in = new HashSet<>();
+                g.forEachOutNeighbor(node, out::add);
+                g.forEachInNeighbor(node, in::add);
+                assertEquals(g.outEdges(node), out);
+                assertEquals(g.inEdges(node), in);
+                assertEquals(out.size(), g.outDegree(node));
+                assertEquals(in.size(), g.inDegree(node));
+            }
+            assertEquals(0, g.outDegree(100));
+        }
+    }
+
     @Test
     public void getNodesNumber() {
         assertEquals(12, graph.getNodesNumber());
@@ -47,6 +92,27 @@ public class BasicGraphTest {
         assertFalse(graph.hasNode(1));
     }
 
+    @Test
+    public void removeNodeUpdatesEdgesNumber() {
+        graph.removeNode(7);
+        assertEquals(28, graph.getEdgesNumber());
+        assertFalse(graph.hasEdge(6, 7));
+    }
+
+    @Test
+    public void indexedInEdges() {
+        BasicGraph<Integer> indexed = new BasicGraph<>(true);
+        GraphLoader.loadGraph(indexed, "data/test_graph");
+        assertTrue(indexed.isInEdgesIndexed());
+        assertEquals(graph.inEdges(7), indexed.inEdges(7));
+        indexed.removeEdge(6, 7);
+        assertFalse(indexed.inEdges(7).contains(6));
+        indexed.removeNode(7);
+        assertEquals(28, indexed.getEdgesNumber());
+        assertFalse(indexed.inEdges(6).contains(7));
+        assertEquals(graph.inEdges(8).size() - 1, indexed.inEdges(8).size());
+    }
+
     @Test
     public void outEdges() {
         assertTrue(graph.outEdges(2).containsAll(List.of(1, 3, 4)));
@@ -79,6 +145,30 @@ public class BasicGraphTest {
         assertTrue(graph.hasEdge(5, 6));
     }
 
+    @Test
+    public void addEdgesInBulk() {
+        for (boolean indexInEdges : new boolean[]{false, true}) {
+            Graph<Integer> bulk = new BasicGraph<>(20, 40, indexInEdges);
+            bulk.addNodes(List.of(1, 20));
+            bulk.ensureCapacity(1000, 2000);
+            bulk.addNodes(List.of(20));
+            bulk.addEdges(new Integer[]{1, 1, 2, 2, 2, 5}, new Integer[]{2, 2, 1, 3, 2, 1});
+            bulk.addEdges(graph.getAdjacencyListMap().entrySet().stream()
+                    .flatMap(e -> e.getValue().stream().map(to -> Map.entry(e.getKey(), to))));
+            Graph<Integer> expected = new BasicGraph<>(indexInEdges);
+            GraphLoader.loadGraph(expected, "data/test_graph");
+            expected.addNode(20);
+            expected.addEdge(2, 2);
+            assertEquals(expected, bulk);
+            assertEquals(expected.inEdges(2), bulk.inEdges(2));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addEdgesOfDifferentLengths() {
+        graph.addEdges(new Integer[]{1}, new Integer[0]);
+    }
+
     @Test
     public void clear() {
         graph.clear();
@@ -0,0 +1,135 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import com.anarsultanov.graphminilibrary.algorithms.StronglyConnectedComponents;
+import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentGraphTest {
+
+    private Graph<Integer> graph;
+    private Graph<Integer> expected;
+
+    @Before
+    public void setUp() {
+        graph = new ConcurrentGraph<>();
+        GraphLoader.loadGraph(graph, "data/test_graph");
+        expected = new BasicGraph<>();
+        GraphLoader.loadGraph(expected, "data/test_graph");
+    }
+
+    @Test
+    public void matchesBasicGraph() {
+        assertEquals(expected.getAdjacencyListMap(), graph.getAdjacencyListMap());
+        assertEquals(12, graph.getNodesNumber());
+        assertEquals(38, graph.getEdgesNumber());
+        assertEquals(expected.inEdges(7), graph.inEdges(7));
+        assertTrue(graph.isInEdgesIndexed());
+    }
+
+    @Test
+    public void removeNodeUpdatesEdgesNumber() {
+        graph.removeNode(7);
+        expected.removeNode(7);
+        assertEquals(28, graph.getEdgesNumber());
+        assertFalse(graph.hasEdge(6, 7));
+        assertFalse(graph.inEdges(6).contains(7));
+        assertEquals(expected.getAdjacencyListMap(), graph.getAdjacencyListMap());
+    }
+
+    @Test
+    public void addAndRemoveEdge() {
+        graph.addEdge(25, 31);
+        assertTrue(graph.hasEdge(25, 31));
+        assertTrue(graph.inEdges(31).contains(25));
+        graph.removeEdge(5, 6);
+        assertFalse(graph.hasEdge(5, 6));
+        assertFalse(graph.inEdges(6).contains(5));
+        assertEquals(38, graph.getEdgesNumber());
+    }
+
+    @Test
+    public void clear() {
+        graph.clear();
+        assertEquals(0, graph.getEdgesNumber());
+        assertEquals(0, graph.getNodesNumber());
+        assertTrue(graph.getAdjacencyListMap().isEmpty());
+    }
+
+    @Test
+    public void algorithmsUseSnapshot() throws Exception {
+        assertEquals(StronglyConnectedComponents.compute(expected).get().size(),
+                StronglyConnectedComponents.compute(graph).get().size());
+    }
+
+    @Test
+    public void concurrentWriters() throws InterruptedException {
+        ConcurrentGraph<Integer> concurrent = new ConcurrentGraph<>(4);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Random random = new Random(t);
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    int from = random.nextInt(200);
+                    int to = random.nextInt(200);
+                    switch (random.nextInt(10)) {
+                        case 0:
+                            concurrent.removeNode(from);
+                            break;
+                        case 1:
+                        case 2:
+                            concurrent.removeEdge(from, to);
+                            break;
+                        default:
+                            concurrent.addEdge(from, to);
+                    }
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            try {
+                for (int i = 0; i < 50; i++) {
+                    CsrGraph<Integer> snapshot = concurrent.snapshot();
+                    for (Integer from : snapshot.getAdjacencyListMap().keySet()) {
+                        snapshot.outEdges(from).size();
+                    }
+                }
+            } catch (RuntimeException e) {
+                failed.set(true);
+            }
+        }));
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse(failed.get());
+
+        int edges = 0;
+        for (Map.Entry<Integer, Set<Integer>> entry : concurrent.getAdjacencyListMap().entrySet()) {
+            for (Integer to : entry.getValue()) {
+                assertTrue(concurrent.hasNode(to));
+                assertTrue(concurrent.inEdges(to).contains(entry.getKey()));
+                edges++;
+            }
+        }
+        int inEdges = 0;
+        for (Integer node : concurrent.getAdjacencyListMap().keySet()) {
+            inEdges += concurrent.inEdges(node).size();
+        }
+        assertEquals(edges, concurrent.getEdgesNumber());
+        assertEquals(edges, inEdges);
+        assertEquals(concurrent.getAdjacencyListMap().size(), concurrent.getNodesNumber());
+    }
+}
@@ -0,0 +1,103 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import com.anarsultanov.graphminilibrary.algorithms.ShortestPathFromTo;
+import com.anarsultanov.graphminilibrary.algorithms.StronglyConnectedComponents;
+import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CsrGraphTest {
+
+    private Graph<Integer> basicGraph;
+    private Graph<Integer> graph;
+
+    @Before
+    public void setUp() {
+        basicGraph = new BasicGraph<>();
+        GraphLoader.loadGraph(basicGraph, "data/test_graph");
+        graph = new CsrGraph<>(basicGraph);
+    }
+
+    @Test
+    public void getAdjacencyListMap() {
+        assertEquals(12, graph.getAdjacencyListMap().size());
+        assertEquals(basicGraph.getAdjacencyListMap(), graph.getAdjacencyListMap());
+    }
+
+    @Test
+    public void forEachNeighbor() {
+        for (Integer node : basicGraph.getAdjacencyListMap().keySet()) {
+            Set<Integer> out = new HashSet<>();
+            Set<Integer> in = new HashSet<>();
+            graph.forEachOutNeighbor(node, out::add);
+            graph.forEachInNeighbor(node, in::add);
+            assertEquals(basicGraph.outEdges(node), out);
+            assertEquals(basicGraph.inEdges(node), in);
+            assertEquals(basicGraph.inDegree(node), graph.inDegree(node));
+        }
+    }
+
+    @Test
+    public void getNodesNumber() {
+        assertEquals(12, graph.getNodesNumber());
+    }
+
+    @Test
+    public void getEdgesNumber() {
+        assertEquals(38, graph.getEdgesNumber());
+    }
+
+    @Test
+    public void outEdges() {
+        assertEquals(3, graph.outEdges(2).size());
+        assertTrue(graph.outEdges(2).containsAll(List.of(1, 3, 4)));
+        assertNull(graph.outEdges(25));
+    }
+
+    @Test
+    public void inEdges() {
+        assertEquals(3, graph.inEdges(2).size());
+        assertTrue(graph.inEdges(2).containsAll(List.of(1, 3, 4)));
+    }
+
+    @Test
+    public void hasNode() {
+        assertTrue(graph.hasNode(1));
+        assertFalse(graph.hasNode(25));
+    }
+
+    @Test
+    public void hasEdge() {
+        assertTrue(graph.hasEdge(5, 6));
+        assertFalse(graph.hasEdge(1, 7));
+    }
+
+    @Test
+    public void of() {
+        CsrGraph<Integer> csrGraph = CsrGraph.of(graph);
+        assertSame(graph, csrGraph);
+        assertEquals(csrGraph.nodeAt(csrGraph.indexOf(7)).intValue(), 7);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addEdge() {
+        graph.addEdge(25, 31);
+    }
+
+    @Test
+    public void algorithms() throws ExecutionException, InterruptedException {
+        assertEquals(List.of(1, 5, 6, 7), ShortestPathFromTo.compute(graph, 1, 7).get());
+        assertEquals(1, StronglyConnectedComponents.compute(graph).get().size());
+    }
+}
@@ -0,0 +1,69 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import com.anarsultanov.graphminilibrary.algorithms.Egonet;
+import com.anarsultanov.graphminilibrary.algorithms.ShortestPathsFrom;
+import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FrozenIntGraphTest {
+
+    private Graph<Integer> basicGraph;
+    private FrozenIntGraph graph;
+
+    @Before
+    public void setUp() {
+        basicGraph = new BasicGraph<>();
+        GraphLoader.loadGraph(basicGraph, "data/test_graph");
+        graph = MutableIntGraph.copyOf(basicGraph).freeze();
+    }
+
+    @Test
+    public void outNeighbors() {
+        assertEquals(5, graph.outDegree(7));
+        int[] neighbors = new int[graph.outDegree(7)];
+        for (int i = 0; i < neighbors.length; i++) {
+            neighbors[i] = graph.outNeighbor(7, i);
+        }
+        assertArrayEquals(new int[]{6, 8, 9, 10, 11}, neighbors);
+    }
+
+    @Test
+    public void transpose() {
+        FrozenIntGraph transposed = graph.transpose();
+        assertEquals(graph.getEdgesNumber(), transposed.getEdgesNumber());
+        assertTrue(transposed.hasEdge(6, 3));
+        assertTrue(transposed.hasEdge(12, 10));
+        assertEquals(graph, transposed.transpose());
+    }
+
+    @Test
+    public void adapter() throws ExecutionException, InterruptedException {
+        Graph<Integer> adapter = new IntGraphAdapter(graph);
+        assertEquals(basicGraph.getAdjacencyListMap(), adapter.getAdjacencyListMap());
+        assertEquals(basicGraph.inEdges(7), adapter.inEdges(7));
+        assertEquals(11, ShortestPathsFrom.compute(adapter, 1).get().size());
+        assertEquals(3, Egonet.compute(adapter, 1).get().getNodesNumber());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable() {
+        new IntGraphAdapter(graph).addEdge(1, 3);
+    }
+
+    @Test
+    public void fromEdges() {
+        FrozenIntGraph built = FrozenIntGraph.fromEdges(4, new int[]{2, 0, 2, 0, 3}, new int[]{1, 3, 1, 1, 3});
+        assertEquals(4, built.getNodesNumber());
+        assertEquals(4, built.getEdgesNumber());
+        assertArrayEquals(new int[]{0, 2, 2, 3, 4}, built.getOffsets());
+        assertArrayEquals(new int[]{1, 3, 1, 3}, built.getTargets());
+    }
+}
@@ -0,0 +1,89 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import com.anarsultanov.graphminilibrary.algorithms.ShortestPathFromTo;
+import com.anarsultanov.graphminilibrary.algorithms.StronglyConnectedComponents;
+import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MappedGraphTest {
+
+    private Graph<Integer> basicGraph;
+    private Path file;
+    private Path transposedFile;
+
+    @Before
+    public void setUp() throws IOException {
+        basicGraph = new BasicGraph<>();
+        GraphLoader.loadGraph(basicGraph, "data/test_graph");
+        file = Files.createTempFile("mapped_graph", ".bin");
+        transposedFile = Files.createTempFile("mapped_graph_transposed", ".bin");
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(transposedFile);
+    }
+
+    @Test
+    public void saveAndOpen() throws ExecutionException, InterruptedException {
+        MappedGraph.save(basicGraph, file);
+        MappedGraph graph = MappedGraph.open(file);
+        assertEquals(basicGraph.getAdjacencyListMap(), graph.getAdjacencyListMap());
+        assertEquals(basicGraph.getEdgesNumber(), graph.getIntGraph().getEdgesCount());
+        assertTrue(graph.hasEdge(7, 6));
+        assertFalse(graph.hasEdge(6, 1));
+        assertFalse(graph.isInEdgesIndexed());
+        assertEquals(basicGraph.inEdges(7), graph.inEdges(7));
+        assertEquals(List.of(1, 5, 6, 7), ShortestPathFromTo.compute(graph, 1, 7).get());
+        assertEquals(1, StronglyConnectedComponents.compute(graph).get().size());
+    }
+
+    @Test
+    public void transposed() throws ExecutionException, InterruptedException {
+        MappedGraph.save(basicGraph, file, transposedFile);
+        MappedGraph graph = MappedGraph.open(file, transposedFile);
+        assertTrue(graph.isInEdgesIndexed());
+        for (Integer node : basicGraph.getAdjacencyListMap().keySet()) {
+            assertEquals(basicGraph.inEdges(node), graph.inEdges(node));
+        }
+        List<Integer> path = ShortestPathFromTo.compute(graph, 12, 1).get();
+        assertEquals(Integer.valueOf(12), path.get(0));
+        assertEquals(Integer.valueOf(1), path.get(path.size() - 1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void transposeNotMapped() {
+        MappedGraph.save(basicGraph, file);
+        MappedGraph.open(file).getIntGraph().transpose();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable() {
+        MappedGraph.save(basicGraph, file);
+        MappedGraph.open(file).addEdge(1, 3);
+    }
+
+    @Test
+    public void corrupted() throws IOException {
+        Files.write(file, new byte[40]);
+        try {
+            MappedGraph.open(file);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+}
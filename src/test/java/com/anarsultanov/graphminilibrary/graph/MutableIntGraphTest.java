@@ -0,0 +1,79 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MutableIntGraphTest {
+
+    private MutableIntGraph graph;
+
+    @Before
+    public void setUp() {
+        Graph<Integer> basicGraph = new BasicGraph<>();
+        GraphLoader.loadGraph(basicGraph, "data/test_graph");
+        graph = MutableIntGraph.copyOf(basicGraph);
+    }
+
+    @Test
+    public void getNodesNumber() {
+        assertEquals(12, graph.getNodesNumber());
+        assertEquals(13, graph.getNodeIdBound());
+    }
+
+    @Test
+    public void getEdgesNumber() {
+        assertEquals(38, graph.getEdgesNumber());
+    }
+
+    @Test
+    public void removeNode() {
+        graph.removeNode(7);
+        assertFalse(graph.hasNode(7));
+        assertFalse(graph.hasEdge(6, 7));
+        assertEquals(28, graph.getEdgesNumber());
+    }
+
+    @Test
+    public void highDegreeNode() {
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            graph.addEdge(100, i * 7);
+            expected.add(i * 7);
+        }
+        for (int i = 0; i < 1000; i += 3) {
+            graph.removeEdge(100, i * 7);
+            expected.remove(i * 7);
+        }
+        assertEquals(expected.size(), graph.outDegree(100));
+        Set<Integer> actual = new HashSet<>();
+        graph.forEachOutNeighbor(100, actual::add);
+        assertEquals(expected, actual);
+        for (int i = 0; i < 7000; i++) {
+            assertEquals(expected.contains(i), graph.hasEdge(100, i));
+        }
+    }
+
+    @Test
+    public void freeze() {
+        graph.removeNode(3);
+        FrozenIntGraph frozen = graph.freeze();
+        assertEquals(graph.getNodesNumber(), frozen.getNodesNumber());
+        assertEquals(graph.getEdgesNumber(), frozen.getEdgesNumber());
+        assertFalse(frozen.hasNode(3));
+        assertTrue(frozen.hasEdge(5, 6));
+        assertEquals(new IntGraphAdapter(graph), new IntGraphAdapter(MutableIntGraph.copyOf(new IntGraphAdapter(frozen))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeNode() {
+        graph.addNode(-1);
+    }
+}
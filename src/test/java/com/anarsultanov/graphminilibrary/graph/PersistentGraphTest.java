@@ -0,0 +1,142 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import com.anarsultanov.graphminilibrary.algorithms.StronglyConnectedComponents;
+import com.anarsultanov.graphminilibrary.utilities.GraphLoader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PersistentGraphTest {
+
+    private PersistentGraph<Integer> graph;
+    private Graph<Integer> expected;
+
+    @Before
+    public void setUp() {
+        graph = new PersistentGraph<>();
+        GraphLoader.loadGraph(graph, "data/test_graph");
+        expected = new BasicGraph<>();
+        GraphLoader.loadGraph(expected, "data/test_graph");
+    }
+
+    @Test
+    public void matchesBasicGraph() {
+        assertEquals(expected.getAdjacencyListMap(), graph.getAdjacencyListMap());
+        assertEquals(12, graph.getNodesNumber());
+        assertEquals(38, graph.getEdgesNumber());
+        assertEquals(expected.inEdges(7), graph.inEdges(7));
+        graph.removeNode(7);
+        expected.removeNode(7);
+        assertEquals(28, graph.getEdgesNumber());
+        assertFalse(graph.inEdges(6).contains(7));
+        assertEquals(expected.getAdjacencyListMap(), graph.getAdjacencyListMap());
+    }
+
+    @Test
+    public void addEdgesInBulk() {
+        PersistentGraph<Integer> bulk = new PersistentGraph<>();
+        bulk.addEdges(new Integer[]{1, 9, 9}, new Integer[]{1, 10, 10});
+        bulk.addNodes(List.of(11, 1));
+        bulk.addEdges(expected.getAdjacencyListMap().entrySet().stream()
+                .flatMap(e -> e.getValue().stream().map(to -> Map.entry(e.getKey(), to))));
+        expected.addEdge(1, 1);
+        expected.addEdge(9, 10);
+        expected.addNode(11);
+        assertEquals(expected.getAdjacencyListMap(), bulk.getAdjacencyListMap());
+        assertEquals(expected.getEdgesNumber(), bulk.getEdgesNumber());
+        assertEquals(expected.getNodesNumber(), bulk.getNodesNumber());
+        for (Integer node : expected.getAdjacencyListMap().keySet()) {
+            assertEquals(expected.inEdges(node), bulk.inEdges(node));
+        }
+    }
+
+    @Test
+    public void modificationCount() {
+        PersistentGraph<Integer> snapshot = graph.snapshot();
+        long count = graph.getModificationCount();
+        graph.addNode(1);
+        assertEquals(count, graph.getModificationCount());
+        graph.removeEdge(5, 6);
+        assertTrue(graph.getModificationCount() > count);
+        assertEquals(count, snapshot.getModificationCount());
+    }
+
+    @Test
+    public void snapshotIsIsolated() {
+        PersistentGraph<Integer> snapshot = graph.snapshot();
+        graph.removeEdge(5, 6);
+        graph.addEdge(25, 31);
+        graph.removeNode(1);
+        assertTrue(snapshot.isFrozen());
+        assertTrue(snapshot.hasEdge(5, 6));
+        assertFalse(snapshot.hasNode(25));
+        assertTrue(snapshot.hasNode(1));
+        assertEquals(expected.getAdjacencyListMap(), snapshot.getAdjacencyListMap());
+        assertEquals(38, snapshot.getEdgesNumber());
+        try {
+            snapshot.addEdge(1, 2);
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+
+    @Test
+    public void algorithmsRunOnSnapshot() throws Exception {
+        int components = StronglyConnectedComponents.compute(expected).get().size();
+        assertEquals(components, StronglyConnectedComponents.compute(graph).get().size());
+    }
+
+    @Test
+    public void trieMatchesHashMap() {
+        Random random = new Random(3);
+        Map<Object, Integer> reference = new HashMap<>();
+        PersistentHashMap<Object, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 100000; i++) {
+            // keys with colliding hash codes exercise the collision nodes
+            Object key = random.nextBoolean() ? random.nextInt(5000) : new Colliding(random.nextInt(50));
+            if (random.nextInt(3) == 0) {
+                reference.remove(key);
+                map = map.remove(key);
+            } else {
+                reference.put(key, i);
+                map = map.put(key, i);
+            }
+        }
+        assertEquals(reference.size(), map.size());
+        assertEquals(reference, map.asMap());
+        assertNull(map.get(-1));
+        for (Object key : reference.keySet()) {
+            map = map.remove(key);
+        }
+        assertTrue(map.isEmpty());
+        assertFalse(map.iterator().hasNext());
+    }
+
+    private static final class Colliding {
+        private final int id;
+
+        Colliding(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Colliding && ((Colliding) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id % 3;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.anarsultanov.graphminilibrary.graph;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WeightedCsrGraphTest {
+
+    private WeightedCsrGraph<String> graph;
+
+    @Before
+    public void setUp() {
+        graph = new WeightedCsrGraph.Builder<String>()
+                .addEdge("a", "b", 2.5)
+                .addEdge("a", "c", 1)
+                .addEdge("c", "b", 0.5)
+                .addEdge("a", "b", 1.5)
+                .addNode("d")
+                .build();
+    }
+
+    @Test
+    public void weights() {
+        assertEquals(4, graph.getNodesNumber());
+        assertEquals(3, graph.getEdgesNumber());
+        assertEquals(1.5, graph.getWeight("a", "b"), 0);
+        assertEquals(0.5, graph.getWeight("c", "b"), 0);
+        assertTrue(Double.isNaN(graph.getWeight("b", "a")));
+        assertTrue(Double.isNaN(graph.getWeight("a", "e")));
+        assertTrue(graph.hasNode("d"));
+        FrozenWeightedIntGraph intGraph = graph.getIntGraph();
+        int a = graph.indexOf("a");
+        for (int i = 0; i < intGraph.outDegree(a); i++) {
+            assertEquals(intGraph.getWeight(a, intGraph.outNeighbor(a, i)), intGraph.outWeight(a, i), 0);
+        }
+    }
+
+    @Test
+    public void transpose() {
+        FrozenWeightedIntGraph intGraph = graph.getIntGraph();
+        FrozenWeightedIntGraph transposed = intGraph.transpose();
+        assertEquals(1.5, transposed.getWeight(graph.indexOf("b"), graph.indexOf("a")), 0);
+        assertEquals(0.5, transposed.getWeight(graph.indexOf("b"), graph.indexOf("c")), 0);
+        assertSame(intGraph, transposed.transpose());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeWeight() {
+        new WeightedCsrGraph.Builder<String>().addEdge("a", "b", -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mismatchedWeights() {
+        new FrozenWeightedIntGraph(new int[]{0, 1, 1}, new int[]{1}, new double[0]);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable() {
+        graph.addEdge("b", "a");
+    }
+}
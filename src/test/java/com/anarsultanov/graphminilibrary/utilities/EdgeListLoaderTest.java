@@ -0,0 +1,88 @@
+package com.anarsultanov.graphminilibrary.utilities;
+
+import com.anarsultanov.graphminilibrary.graph.BasicGraph;
+import com.anarsultanov.graphminilibrary.graph.Graph;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class EdgeListLoaderTest {
+
+    private static final Path FILE = Paths.get("edge_list_loader_test.txt");
+
+    private Graph<Integer> graph;
+
+    @Before
+    public void setUp() {
+        graph = new BasicGraph<>();
+        GraphLoader.loadGraph(graph, "data/test_graph");
+    }
+
+    @Test
+    public void testLoadIntegers() throws IOException {
+        StringBuilder text = new StringBuilder("# FromNodeId\tToNodeId\n");
+        for (Integer from : graph.getAdjacencyListMap().keySet()) {
+            for (Integer to : graph.getAdjacencyListMap().get(from)) {
+                text.append(from).append('\t').append(to).append(" 1.5\r\n");
+            }
+        }
+        text.append("\n% duplicate\n1 2");
+        Files.write(FILE, text.toString().getBytes(StandardCharsets.UTF_8));
+        for (int rangeBytes : new int[]{1, 7, 1 << 20}) {
+            EdgeListLoader.Result<Integer> result = EdgeListLoader.load(FILE, true, rangeBytes);
+            assertEquals(graph.getEdgesNumber() + 1, result.getEdgesRead());
+            assertEquals(graph.getAdjacencyListMap(), result.getGraph().getAdjacencyListMap());
+            assertTrue(result.getEdgesPerSecond() > 0);
+        }
+    }
+
+    @Test
+    public void testLoadStrings() throws IOException {
+        Random random = new Random(11);
+        Graph<String> expected = new BasicGraph<>();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            String from = "n" + random.nextInt(300);
+            String to = "\u00fc" + random.nextInt(300);
+            expected.addEdge(from, to);
+            text.append(from).append(' ').append(to).append('\n');
+        }
+        Files.write(FILE, text.toString().getBytes(StandardCharsets.UTF_8));
+        EdgeListLoader.Result<String> result = EdgeListLoader.load(FILE, false, 1000);
+        assertEquals(2000, result.getEdgesRead());
+        assertEquals(expected.getAdjacencyListMap(), result.getGraph().getAdjacencyListMap());
+    }
+
+    @Test
+    public void testMalformed() throws IOException {
+        Files.write(FILE, "1 2\n3\n".getBytes(StandardCharsets.UTF_8));
+        try {
+            EdgeListLoader.loadIntegers(FILE.toString());
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        Files.write(FILE, "1 x\n".getBytes(StandardCharsets.UTF_8));
+        try {
+            EdgeListLoader.loadIntegers(FILE.toString());
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        Files.write(FILE, new byte[0]);
+        assertEquals(0, EdgeListLoader.loadStrings(FILE.toString()).getGraph().getNodesNumber());
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        new File(FILE.toString()).delete();
+    }
+}
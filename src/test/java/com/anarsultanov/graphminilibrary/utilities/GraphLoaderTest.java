@@ -1,12 +1,23 @@
 package com.anarsultanov.graphminilibrary.utilities;
 
 import com.anarsultanov.graphminilibrary.graph.BasicGraph;
+import com.anarsultanov.graphminilibrary.graph.CsrGraph;
 import com.anarsultanov.graphminilibrary.graph.Graph;
+import com.anarsultanov.graphminilibrary.graph.PersistentGraph;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -31,10 +42,128 @@ public class GraphLoaderTest {
         assertEquals(graph, loaded);
     }
 
+    @Test
+    public void testGraphLoaderBatches() {
+        for (int i = 0; i < 10_000; i++) {
+            graph.addEdge(i, i + 5);
+        }
+        GraphLoader.saveGraph(graph, "graph_loader_test.txt");
+        Graph<Integer> loaded = new BasicGraph<>();
+        GraphLoader.loadGraph(loaded, "graph_loader_test.txt");
+        assertEquals(graph, loaded);
+    }
+
+    @Test
+    public void testPartialLoad() throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream("graph_loader_test.txt"))) {
+            out.writeObject(1);
+            out.writeObject(2);
+            out.writeObject(3);
+            out.writeObject(null);
+        }
+        Graph<Integer> loaded = new BasicGraph<>();
+        try {
+            GraphLoader.loadGraph(loaded, "graph_loader_test.txt");
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        assertTrue(loaded.hasEdge(1, 2));
+        assertEquals(1, loaded.getEdgesNumber());
+
+        try {
+            GraphLoader.loadGraph(new PersistentGraph<Integer>().snapshot(), "graph_loader_test.txt");
+            fail();
+        } catch (IllegalStateException expected) {
+            assertEquals(1, expected.getSuppressed().length);
+            assertTrue(expected.getSuppressed()[0] instanceof UnsupportedOperationException);
+        }
+        try {
+            GraphLoader.loadGraph(new PersistentGraph<Integer>().snapshot(), "missing_graph_file");
+            fail();
+        } catch (UncheckedIOException expected) {
+            assertEquals(0, expected.getSuppressed().length);
+        }
+    }
+
+    @Test
+    public void testBinaryGraphLoader() {
+        graph.addNode(5);
+        GraphLoader.saveBinaryGraph(graph, "graph_loader_test.bin");
+        CsrGraph<Integer> loaded = GraphLoader.loadBinaryGraph("graph_loader_test.bin");
+        assertEquals(5, loaded.getNodesNumber());
+        assertEquals(graph.getAdjacencyListMap(), loaded.getAdjacencyListMap());
+
+        Graph<Integer> large = new BasicGraph<>();
+        GraphLoader.loadGraph(large, "data/test_graph");
+        large.addEdge(100000, -3);
+        GraphLoader.saveBinaryGraph(large, "graph_loader_test.bin");
+        assertEquals(large.getAdjacencyListMap(),
+                GraphLoader.<Integer>loadBinaryGraph("graph_loader_test.bin").getAdjacencyListMap());
+    }
+
+    @Test
+    public void testBinaryNodeTypes() {
+        Graph<String> strings = new BasicGraph<>();
+        strings.addEdge("a", "\u00e9t\u00e9");
+        strings.addEdge("\u00e9t\u00e9", "");
+        GraphLoader.saveBinaryGraph(strings, "graph_loader_test.bin");
+        assertEquals(strings.getAdjacencyListMap(),
+                GraphLoader.<String>loadBinaryGraph("graph_loader_test.bin").getAdjacencyListMap());
+
+        Graph<Long> longs = new BasicGraph<>();
+        longs.addEdge(Long.MAX_VALUE, Long.MIN_VALUE);
+        GraphLoader.saveBinaryGraph(longs, "graph_loader_test.bin");
+        assertEquals(longs.getAdjacencyListMap(),
+                GraphLoader.<Long>loadBinaryGraph("graph_loader_test.bin").getAdjacencyListMap());
+
+        Graph<ArrayList<Integer>> lists = new BasicGraph<>();
+        lists.addEdge(new ArrayList<>(List.of(1)), new ArrayList<>(List.of(1, 2)));
+        GraphLoader.saveBinaryGraph(lists, "graph_loader_test.bin");
+        assertEquals(lists.getAdjacencyListMap(),
+                GraphLoader.<ArrayList<Integer>>loadBinaryGraph("graph_loader_test.bin").getAdjacencyListMap());
+    }
+
+    @Test
+    public void testDuplicateTarget() throws IOException {
+        GraphLoader.saveBinaryGraph(graph, "graph_loader_test.bin");
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(Paths.get("graph_loader_test.bin")));
+        int nodes = file.getInt(8);
+        int offsetsStart = 32 + (int) file.getLong(16);
+        int adjacencyStart = offsetsStart + 4 * (nodes + 1);
+        int v = 0;
+        while (file.getInt(offsetsStart + 4 * (v + 1)) - file.getInt(offsetsStart + 4 * v) < 2) {
+            v++;
+        }
+        // the targets are below 128, so every delta takes one byte
+        file.put(adjacencyStart + file.getInt(offsetsStart + 4 * v) + 1, (byte) 0);
+        Files.write(Paths.get("graph_loader_test.bin"), file.array());
+        try {
+            GraphLoader.loadBinaryGraph("graph_loader_test.bin");
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testErrors() throws IOException {
+        try {
+            GraphLoader.loadGraph(new BasicGraph<>(), "missing_graph_file");
+            fail();
+        } catch (UncheckedIOException expected) {
+        }
+        Files.write(Paths.get("graph_loader_test.bin"), new byte[40]);
+        try {
+            GraphLoader.loadBinaryGraph("graph_loader_test.bin");
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
     @AfterClass
     public static void cleanup() {
 		File file = new File("graph_loader_test.txt");
 		file.delete();
+		new File("graph_loader_test.bin").delete();
     }
 
 }
\ No newline at end of file